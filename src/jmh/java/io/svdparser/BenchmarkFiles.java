@@ -0,0 +1,70 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+
+import org.w3c.dom.Document;
+import org.xml.sax.SAXException;
+
+/**
+ * Input files shared by the benchmarks. Small and medium inputs come from the
+ * test resources, large inputs are generated with {@link SvdGenerator}.
+ */
+class BenchmarkFiles {
+	static final File SMALL = new File("src/test/resources/02_register_no_description.svd");
+	static final File MEDIUM = new File("src/test/resources/00_sample.svd");
+
+	static File get(String size) throws IOException, XMLStreamException {
+		switch (size) {
+		case "small":
+			return SMALL;
+		case "medium":
+			return MEDIUM;
+		case "large":
+			return createSynthetic(200);
+		case "huge":
+			return createSynthetic(2000);
+		default:
+			throw new IllegalArgumentException("Unknown input size " + size);
+		}
+	}
+
+	static Document parse(File f) throws IOException, SAXException, ParserConfigurationException {
+		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+		dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+		Document doc = dbf.newDocumentBuilder().parse(f);
+		doc.getDocumentElement().normalize();
+		return doc;
+	}
+
+	/**
+	 * Write a temporary synthetic SVD file with eight levels of nested clusters.
+	 */
+	static File createNested() throws IOException, XMLStreamException {
+		File out = File.createTempFile("svd-bench-nested-", ".svd");
+		out.deleteOnExit();
+		new SvdGenerator(0).setPeripheralCount(20).setRegistersPerPeripheral(16).setClusterDepth(8).setDim(0.2, 4)
+				.setDerivedRatio(0).write(out);
+		return out;
+	}
+
+	/**
+	 * Write a temporary synthetic SVD file with the given number of peripherals.
+	 */
+	static File createSynthetic(int peripherals) throws IOException, XMLStreamException {
+		File out = File.createTempFile("svd-bench-", ".svd");
+		out.deleteOnExit();
+		new SvdGenerator(0).setPeripheralCount(peripherals).setRegistersPerPeripheral(64).setClusterDepth(2)
+				.setDerivedRatio(0.2).write(out);
+		return out;
+	}
+}
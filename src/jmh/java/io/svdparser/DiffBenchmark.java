@@ -0,0 +1,55 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Structural comparison of two revisions of a device differing in a single
+ * register description. Fingerprints are computed on the first invocation and
+ * cached, so the measured time is the one of the comparison itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiffBenchmark {
+	private SvdDevice mOldDevice;
+	private SvdDevice mNewDevice;
+
+	@Setup
+	public void setup() throws Exception {
+		File f = BenchmarkFiles.get("large");
+		String content = Files.readString(f.toPath(), StandardCharsets.UTF_8);
+		File changed = File.createTempFile("svd-bench-", ".svd");
+		changed.deleteOnExit();
+		Files.writeString(changed.toPath(), content.replaceFirst("Synthetic register 3<", "Changed register 3<"),
+				StandardCharsets.UTF_8);
+		mOldDevice = SvdDevice.fromFile(f);
+		mNewDevice = SvdDevice.fromFile(changed);
+	}
+
+	@Benchmark
+	public int compare() {
+		return SvdDeviceDiff.compare(mOldDevice, mNewDevice, c -> {
+		});
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Expansion of register and cluster arrays of different dim sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DimBenchmark {
+	@Param({ "16", "256", "4096" })
+	public int dim;
+
+	private Element mRegister;
+	private Element mCluster;
+
+	@Setup
+	public void setup() throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		mRegister = createRegister(doc, dim);
+		mCluster = doc.createElement("cluster");
+		append(doc, mCluster, "dim", String.valueOf(dim));
+		append(doc, mCluster, "dimIncrement", "0x10");
+		append(doc, mCluster, "name", "CH%s");
+		append(doc, mCluster, "addressOffset", "0x0");
+		mCluster.appendChild(createRegister(doc, 4));
+	}
+
+	private static Element createRegister(Document doc, int dim) {
+		Element register = doc.createElement("register");
+		append(doc, register, "dim", String.valueOf(dim));
+		append(doc, register, "dimIncrement", "4");
+		append(doc, register, "name", "REG%s");
+		append(doc, register, "addressOffset", "0x0");
+		Element fields = doc.createElement("fields");
+		Element field = doc.createElement("field");
+		append(doc, field, "name", "VALUE");
+		append(doc, field, "bitRange", "[31:0]");
+		fields.appendChild(field);
+		register.appendChild(fields);
+		return register;
+	}
+
+	private static void append(Document doc, Element parent, String name, String text) {
+		Element child = doc.createElement(name);
+		child.setTextContent(text);
+		parent.appendChild(child);
+	}
+
+	@Benchmark
+	public List<SvdRegister> registerArray() {
+		return SvdRegister.fromElement(mRegister, 32, null);
+	}
+
+	@Benchmark
+	public List<SvdCluster> clusterArray() {
+		return SvdCluster.treeFromElement(mCluster, 32, null);
+	}
+}
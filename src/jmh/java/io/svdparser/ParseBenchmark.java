@@ -0,0 +1,63 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End to end parse of SVD files of different sizes. A {@code huge} input is
+ * also available with {@code -p size=huge}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+	@Param({ "small", "medium", "large" })
+	public String size;
+
+	private File mFile;
+	private SvdParser mPooledParser;
+	private SvdParser mFilteredParser;
+
+	@Setup
+	public void setup() throws Exception {
+		mFile = BenchmarkFiles.get(size);
+		mPooledParser = new SvdParser(SvdParseOptions.DEFAULT.withStringPool(true));
+		// One of the eight peripheral groups of the generated files
+		mFilteredParser = new SvdParser(
+				SvdParseOptions.DEFAULT.withPeripheralFilter(SvdPeripheralFilter.groupNames("GROUP0")));
+	}
+
+	@Benchmark
+	public SvdDevice fromFile() throws Exception {
+		return SvdDevice.fromFile(mFile);
+	}
+
+	@Benchmark
+	public SvdDevice stringPool() throws Exception {
+		return mPooledParser.parse(mFile);
+	}
+
+	@Benchmark
+	public SvdDevice peripheralFilter() throws Exception {
+		return mFilteredParser.parse(mFile);
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Cost of the individual parse phases, measured on pre-built DOM elements so
+ * that XML tokenization is excluded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhaseBenchmark {
+	private Document mDocument;
+	private Element mPeripheral;
+	private Element mRegisters;
+	private Element mCluster;
+	private Element mField;
+	private Document mNested;
+
+	@Setup
+	public void setup() throws Exception {
+		mDocument = BenchmarkFiles.parse(BenchmarkFiles.MEDIUM);
+		Element peripherals = Utils.getSingleFirstOrderChildElementByTagName(mDocument.getDocumentElement(),
+				"peripherals");
+		mPeripheral = Utils.getFirstOrderChildElementsByTagName(peripherals, "peripheral").get(0);
+		mRegisters = Utils.getSingleFirstOrderChildElementByTagName(mPeripheral, "registers");
+		Element register = Utils.getFirstOrderChildElementsByTagName(mRegisters, "register").get(0);
+		Element fields = Utils.getSingleFirstOrderChildElementByTagName(register, "fields");
+		mField = Utils.getFirstOrderChildElementsByTagName(fields, "field").get(0);
+
+		Document nested = BenchmarkFiles.parse(new File("src/test/resources/17_cluster_nested.svd"));
+		Element nestedPeripherals = Utils.getSingleFirstOrderChildElementByTagName(nested.getDocumentElement(),
+				"peripherals");
+		Element nestedPeripheral = Utils.getFirstOrderChildElementsByTagName(nestedPeripherals, "peripheral").get(0);
+		Element nestedRegisters = Utils.getSingleFirstOrderChildElementByTagName(nestedPeripheral, "registers");
+		mCluster = Utils.getFirstOrderChildElementsByTagName(nestedRegisters, "cluster").get(0);
+
+		mNested = BenchmarkFiles.parse(BenchmarkFiles.createNested());
+	}
+
+	@Benchmark
+	public SvdDevice device() {
+		return SvdDevice.fromElement(mDocument.getDocumentElement());
+	}
+
+	@Benchmark
+	public List<SvdPeripheral> peripheral() {
+		return SvdPeripheral.fromElement(mPeripheral, 32, null, null);
+	}
+
+	@Benchmark
+	public List<SvdRegister> registers() {
+		return SvdRegisters.fromElement(mRegisters, 32, null);
+	}
+
+	@Benchmark
+	public List<SvdCluster> cluster() {
+		return SvdCluster.treeFromElement(mCluster, 32, null);
+	}
+
+	@Benchmark
+	public SvdDevice nestedClusters() {
+		return SvdDevice.fromElement(mNested.getDocumentElement());
+	}
+
+	@Benchmark
+	public SvdField field() {
+		return SvdField.fromElement(mField, null);
+	}
+}
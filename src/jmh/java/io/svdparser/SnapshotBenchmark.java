@@ -0,0 +1,76 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding and comparison of memory images covering every register of a large
+ * device.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+	private SvdDevice mDevice;
+	private ByteBuffer mOldImage;
+	private ByteBuffer mNewImage;
+	private long mBaseAddress;
+	private SvdSnapshot mOldSnapshot;
+	private SvdSnapshot mNewSnapshot;
+
+	@Setup
+	public void setup() throws Exception {
+		mDevice = SvdDevice.fromFile(BenchmarkFiles.get("large"));
+		long min = Long.MAX_VALUE;
+		long max = 0;
+		for (SvdPeripheral p : mDevice.getPeripherals()) {
+			min = Math.min(min, p.getBaseAddr());
+			for (SvdRegister r : p.getRegisters())
+				max = Math.max(max, p.getBaseAddr() + r.getOffset() + 8);
+		}
+		mBaseAddress = min;
+		mOldImage = ByteBuffer.allocateDirect((int) (max - min));
+		mNewImage = ByteBuffer.allocateDirect((int) (max - min));
+		for (int i = 0; i < mNewImage.capacity(); i += 4096)
+			mNewImage.put(i, (byte) 1);
+		mOldSnapshot = SvdSnapshot.fromBuffer(mDevice, mOldImage, mBaseAddress);
+		mNewSnapshot = SvdSnapshot.fromBuffer(mDevice, mNewImage, mBaseAddress);
+	}
+
+	@Benchmark
+	public SvdSnapshot index() {
+		return SvdSnapshot.fromBuffer(mDevice, mOldImage, mBaseAddress);
+	}
+
+	@Benchmark
+	public long decodeAll() {
+		long sum = 0;
+		for (int i = 0; i < mNewSnapshot.getRegisterCount(); i++)
+			sum += mNewSnapshot.getValue(i);
+		return sum;
+	}
+
+	@Benchmark
+	public int diff() {
+		return SvdSnapshotDiff.compare(mOldSnapshot, mNewSnapshot, (p, r, f, o, n) -> {
+		});
+	}
+}
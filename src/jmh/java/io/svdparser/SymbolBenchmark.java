@@ -0,0 +1,74 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Export of every register of a large device as sorted symbols, compared with
+ * building one object per register.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SymbolBenchmark {
+	private SvdDevice mDevice;
+	private SvdSymbolTable mTable;
+
+	private record Symbol(long address, int size, String name) {
+	}
+
+	@Setup
+	public void setup() throws Exception {
+		mDevice = SvdDevice.fromFile(BenchmarkFiles.get("large"));
+		mTable = SvdSymbolTable.fromDevice(mDevice);
+	}
+
+	@Benchmark
+	public List<Symbol> objects() {
+		List<Symbol> symbols = new ArrayList<>();
+		for (SvdPeripheral p : mDevice.getPeripherals())
+			for (SvdRegister r : p.getRegisters())
+				symbols.add(new Symbol(p.getBaseAddr() + r.getOffset(), (r.getSize() != null) ? r.getSize() : 0,
+						p.getName() + "." + r.getName()));
+		symbols.sort(Comparator.comparingLong(Symbol::address));
+		return symbols;
+	}
+
+	@Benchmark
+	public SvdSymbolTable table() {
+		return SvdSymbolTable.fromDevice(mDevice);
+	}
+
+	@Benchmark
+	public long chunks() {
+		long sum = 0;
+		Iterator<SvdSymbolChunk> it = mTable.chunks(4096);
+		while (it.hasNext()) {
+			SvdSymbolChunk chunk = it.next();
+			for (int i = 0; i < chunk.getLength(); i++)
+				sum += chunk.getAddresses()[i] + chunk.getNameIndexes()[i];
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,367 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The read and write side effects of a register compiled into bit masks, as
+ * returned by {@link SvdRegister#getAccessMasks()}.
+ *
+ * <p>
+ * Every bit of the register is classified once from the
+ * {@code <modifiedWriteValues>}, {@code <readAction>} and {@code <access>}
+ * values of its field, or of the register for bits outside of any field. A
+ * read-modify-write then takes a few bitwise operations: bits that are not
+ * being modified keep their read value, except for bits where writing the read
+ * value back would have an effect, such as write-one-to-clear status flags,
+ * which get the value that leaves them unchanged.
+ * </p>
+ *
+ * <p>
+ * Write constraints are compiled as well, so {@link #isLegalWrite(long)} only
+ * inspects the constrained fields.
+ * </p>
+ */
+public class SvdAccessMasks {
+	private final long mRegisterMask;
+	private final long mWritableMask;
+	private final long mOneToClearMask;
+	private final long mOneToSetMask;
+	private final long mOneToToggleMask;
+	private final long mZeroToClearMask;
+	private final long mZeroToSetMask;
+	private final long mZeroToToggleMask;
+	private final long mWriteClearMask;
+	private final long mWriteSetMask;
+	private final long mReadClearMask;
+	private final long mReadSetMask;
+	private final long mReadSideEffectMask;
+	private final long mWriteAsReadMask;
+	private final SvdWriteConstraint mRegisterConstraint;
+	private final SvdField[] mConstrainedFields;
+
+	/**
+	 * Compile the masks of a register.
+	 *
+	 * @param register The register.
+	 * @return A SvdAccessMasks object.
+	 */
+	static SvdAccessMasks fromRegister(SvdRegister register) {
+		Integer size = register.getSize();
+		long registerMask = (size == null || size <= 0 || size >= 64) ? -1L : (1L << size) - 1;
+		long[] masks = new long[SvdModifiedWriteValues.values().length];
+		long[] reads = new long[SvdReadAction.values().length];
+		long writable = isWritable(register.getAccess()) ? registerMask : 0;
+		long writeAsRead = 0;
+		if (register.getModifiedWriteValues() != null)
+			masks[register.getModifiedWriteValues().ordinal()] = registerMask;
+		if (register.getReadAction() != null)
+			reads[register.getReadAction().ordinal()] = registerMask;
+		if (register.getWriteConstraint() != null && register.getWriteConstraint().isWriteAsRead())
+			writeAsRead = registerMask;
+
+		// Fields override the register values on their own bits
+		List<SvdField> constrained = new ArrayList<>();
+		for (SvdField f : register.getFields()) {
+			long fieldMask = f.getMask() & registerMask;
+			if (fieldMask == 0)
+				continue;
+			for (int i = 0; i < masks.length; i++)
+				masks[i] &= ~fieldMask;
+			for (int i = 0; i < reads.length; i++)
+				reads[i] &= ~fieldMask;
+			if (f.getModifiedWriteValues() != null)
+				masks[f.getModifiedWriteValues().ordinal()] |= fieldMask;
+			if (f.getReadAction() != null)
+				reads[f.getReadAction().ordinal()] |= fieldMask;
+			writable = isWritable(f.getAccess()) ? writable | fieldMask : writable & ~fieldMask;
+			SvdWriteConstraint constraint = f.getWriteConstraint();
+			if (constraint != null) {
+				if (constraint.isWriteAsRead())
+					writeAsRead |= fieldMask;
+				else
+					writeAsRead &= ~fieldMask;
+				if (constraint.getRangeMinimum() != null || constraint.isUseEnumeratedValues())
+					constrained.add(f);
+			}
+		}
+
+		// Writes have no effect on read-only bits
+		for (int i = 0; i < masks.length; i++)
+			masks[i] &= writable;
+
+		long readSideEffect = 0;
+		for (long mask : reads)
+			readSideEffect |= mask;
+		SvdWriteConstraint registerConstraint = register.getWriteConstraint();
+		if (registerConstraint != null && registerConstraint.getRangeMinimum() == null)
+			registerConstraint = null;
+		return new SvdAccessMasks(registerMask, writable, masks, reads, readSideEffect, writeAsRead,
+				registerConstraint, constrained.toArray(new SvdField[0]));
+	}
+
+	private static boolean isWritable(SvdAccess access) {
+		return access != SvdAccess.READ_ONLY;
+	}
+
+	private SvdAccessMasks(long registerMask, long writable, long[] masks, long[] reads, long readSideEffect,
+			long writeAsRead, SvdWriteConstraint registerConstraint, SvdField[] constrainedFields) {
+		mRegisterMask = registerMask;
+		mWritableMask = writable;
+		mOneToClearMask = masks[SvdModifiedWriteValues.ONE_TO_CLEAR.ordinal()];
+		mOneToSetMask = masks[SvdModifiedWriteValues.ONE_TO_SET.ordinal()];
+		mOneToToggleMask = masks[SvdModifiedWriteValues.ONE_TO_TOGGLE.ordinal()];
+		mZeroToClearMask = masks[SvdModifiedWriteValues.ZERO_TO_CLEAR.ordinal()];
+		mZeroToSetMask = masks[SvdModifiedWriteValues.ZERO_TO_SET.ordinal()];
+		mZeroToToggleMask = masks[SvdModifiedWriteValues.ZERO_TO_TOGGLE.ordinal()];
+		mWriteClearMask = masks[SvdModifiedWriteValues.CLEAR.ordinal()];
+		mWriteSetMask = masks[SvdModifiedWriteValues.SET.ordinal()];
+		mReadClearMask = reads[SvdReadAction.CLEAR.ordinal()];
+		mReadSetMask = reads[SvdReadAction.SET.ordinal()];
+		mReadSideEffectMask = readSideEffect;
+		mWriteAsReadMask = writeAsRead;
+		mRegisterConstraint = registerConstraint;
+		mConstrainedFields = constrainedFields;
+	}
+
+	/**
+	 * Get the bits covered by the register size.
+	 *
+	 * @return The register mask.
+	 */
+	public long getRegisterMask() {
+		return mRegisterMask;
+	}
+
+	/**
+	 * Get the bits that are not read-only.
+	 *
+	 * @return The writable mask.
+	 */
+	public long getWritableMask() {
+		return mWritableMask;
+	}
+
+	/**
+	 * Get the bits that are cleared by writing 1 (w1c).
+	 *
+	 * @return The oneToClear mask.
+	 */
+	public long getOneToClearMask() {
+		return mOneToClearMask;
+	}
+
+	/**
+	 * Get the bits that are set by writing 1 (w1s).
+	 *
+	 * @return The oneToSet mask.
+	 */
+	public long getOneToSetMask() {
+		return mOneToSetMask;
+	}
+
+	/**
+	 * Get the bits that are inverted by writing 1 (w1t).
+	 *
+	 * @return The oneToToggle mask.
+	 */
+	public long getOneToToggleMask() {
+		return mOneToToggleMask;
+	}
+
+	/**
+	 * Get the bits that are cleared by writing 0 (w0c).
+	 *
+	 * @return The zeroToClear mask.
+	 */
+	public long getZeroToClearMask() {
+		return mZeroToClearMask;
+	}
+
+	/**
+	 * Get the bits that are set by writing 0 (w0s).
+	 *
+	 * @return The zeroToSet mask.
+	 */
+	public long getZeroToSetMask() {
+		return mZeroToSetMask;
+	}
+
+	/**
+	 * Get the bits that are inverted by writing 0 (w0t).
+	 *
+	 * @return The zeroToToggle mask.
+	 */
+	public long getZeroToToggleMask() {
+		return mZeroToToggleMask;
+	}
+
+	/**
+	 * Get the bits that are cleared by any write.
+	 *
+	 * @return The clear mask.
+	 */
+	public long getWriteClearMask() {
+		return mWriteClearMask;
+	}
+
+	/**
+	 * Get the bits that are set by any write.
+	 *
+	 * @return The set mask.
+	 */
+	public long getWriteSetMask() {
+		return mWriteSetMask;
+	}
+
+	/**
+	 * Get the bits that are cleared by a read.
+	 *
+	 * @return The read clear mask.
+	 */
+	public long getReadClearMask() {
+		return mReadClearMask;
+	}
+
+	/**
+	 * Get the bits that are set by a read.
+	 *
+	 * @return The read set mask.
+	 */
+	public long getReadSetMask() {
+		return mReadSetMask;
+	}
+
+	/**
+	 * Get the bits with any {@code <readAction>}, including modifications and
+	 * side effects outside of the register.
+	 *
+	 * @return The read side effect mask.
+	 */
+	public long getReadSideEffectMask() {
+		return mReadSideEffectMask;
+	}
+
+	/**
+	 * Get the bits that must be written with their read value.
+	 *
+	 * @return The writeAsRead mask.
+	 */
+	public long getWriteAsReadMask() {
+		return mWriteAsReadMask;
+	}
+
+	/**
+	 * Get the bits where writing the read value back is not neutral: the
+	 * oneTo* and zeroTo* bits.
+	 *
+	 * @return The mask of bits with a neutral write value.
+	 */
+	public long getWriteEffectMask() {
+		return mOneToClearMask | mOneToSetMask | mOneToToggleMask | mZeroToClearMask | mZeroToSetMask
+				| mZeroToToggleMask;
+	}
+
+	/**
+	 * Get the value that leaves every oneTo* and zeroTo* bit unchanged when
+	 * written: 0 for oneTo* bits and 1 for zeroTo* bits.
+	 *
+	 * @return The neutral write value.
+	 */
+	public long getNeutralValue() {
+		return mZeroToClearMask | mZeroToSetMask | mZeroToToggleMask;
+	}
+
+	/**
+	 * Check whether reading the register has side effects.
+	 *
+	 * @return True if any bit has a {@code <readAction>}.
+	 */
+	public boolean hasReadSideEffects() {
+		return mReadSideEffectMask != 0;
+	}
+
+	/**
+	 * Check whether the register must be read to modify some of its bits
+	 * without disturbing the rest. No read is needed when every other writable
+	 * bit has a neutral write value.
+	 *
+	 * @param mask The bits to modify.
+	 * @return True if the current value is needed.
+	 */
+	public boolean isReadRequired(long mask) {
+		return (mWritableMask & mRegisterMask & ~mask & ~getWriteEffectMask()) != 0;
+	}
+
+	/**
+	 * Compute the value to write to modify some bits of the register without
+	 * disturbing the rest. Bits outside of the mask keep their current value,
+	 * except oneTo* and zeroTo* bits which are written with their neutral value.
+	 * Bits inside the mask are written as given, so writing 1 to a oneToClear
+	 * bit clears it.
+	 *
+	 * @param current The current register value, or any value if
+	 *                {@link #isReadRequired(long)} is false.
+	 * @param mask    The bits to modify.
+	 * @param value   The new value of the bits in the mask.
+	 * @return The register value to write.
+	 */
+	public long readModifyWrite(long current, long mask, long value) {
+		long effects = getWriteEffectMask();
+		long kept = current & ~mask & ~effects;
+		long neutral = getNeutralValue() & ~mask;
+		return (kept | neutral | (value & mask)) & mRegisterMask;
+	}
+
+	/**
+	 * Check a register value against the write constraints of the register and
+	 * its fields.
+	 *
+	 * @param value The register value to write.
+	 * @return False if the value or any field of it is outside of its
+	 *         constraint.
+	 */
+	public boolean isLegalWrite(long value) {
+		if (mRegisterConstraint != null && !mRegisterConstraint.isInRange(value & mRegisterMask))
+			return false;
+		for (SvdField f : mConstrainedFields)
+			if (!f.isLegalValue(f.extractValue(value)))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Account the memory retained by this object.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.REGISTERS))
+			return;
+		e.addArray(SvdMemoryCategory.REGISTERS, mConstrainedFields.length, SvdMemoryEstimator.REFERENCE);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("SvdAccessMasks{writable=0x" + Long.toHexString(mWritableMask));
+		append(sb, "oneToClear", mOneToClearMask);
+		append(sb, "oneToSet", mOneToSetMask);
+		append(sb, "oneToToggle", mOneToToggleMask);
+		append(sb, "zeroToClear", mZeroToClearMask);
+		append(sb, "zeroToSet", mZeroToSetMask);
+		append(sb, "zeroToToggle", mZeroToToggleMask);
+		append(sb, "clear", mWriteClearMask);
+		append(sb, "set", mWriteSetMask);
+		append(sb, "readSideEffect", mReadSideEffectMask);
+		append(sb, "writeAsRead", mWriteAsReadMask);
+		sb.append("}");
+		return sb.toString();
+	}
+
+	private static void append(StringBuilder sb, String name, long mask) {
+		if (mask != 0)
+			sb.append(", " + name + "=0x" + Long.toHexString(mask));
+	}
+}
@@ -17,9 +17,10 @@ import org.w3c.dom.Element;
  *      SVD Address Block documentation</a> for more information.
  */
 public class SvdAddressBlock {
-	private Long mOffset;
-	private Long mSize;
-	private String mUsage;
+	private final Long mOffset;
+	private final Long mSize;
+	private final String mUsage;
+	private SvdFingerprint mFingerprint;
 
 	/**
 	 * Construct an address block from a DOM element.
@@ -34,15 +35,15 @@ public class SvdAddressBlock {
 			throw new SvdParserException("Cannot build an SvdAddressBlock from a " + el.getNodeName() + " node!");
 
 		// Offset
-		Element offsetElement = Utils.getSingleFirstOrderChildElementByTagName(el, "offset");
+		Element offsetElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "offset");
 		Long offset = Long.decode(offsetElement.getTextContent());
 
 		// Size
-		Element sizeElement = Utils.getSingleFirstOrderChildElementByTagName(el, "size");
+		Element sizeElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "size");
 		Long size = Long.decode(sizeElement.getTextContent());
 
 		// Usage
-		Element usageElement = Utils.getSingleFirstOrderChildElementByTagName(el, "usage");
+		Element usageElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "usage");
 		String usage = usageElement.getTextContent();
 
 		return new SvdAddressBlock(offset, size, usage);
@@ -89,4 +90,46 @@ public class SvdAddressBlock {
 	public Long getSize() {
 		return mSize;
 	}
+
+	/**
+	 * Account the memory retained by this object and everything it references.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.PERIPHERALS))
+			return;
+		e.addBoxed(mOffset, SvdMemoryCategory.PERIPHERALS);
+		e.addBoxed(mSize, SvdMemoryCategory.PERIPHERALS);
+		e.addString(mUsage);
+		e.add(mFingerprint, SvdMemoryCategory.PERIPHERALS);
+	}
+
+	/**
+	 * Get the structural fingerprint of the address block. It is computed on first
+	 * use and cached.
+	 *
+	 * @return A SvdFingerprint object.
+	 */
+	public SvdFingerprint getFingerprint() {
+		SvdFingerprint fingerprint = mFingerprint;
+		if (fingerprint == null) {
+			fingerprint = new SvdFingerprint.Hasher("addressBlock").putLong(mOffset).putLong(mSize).putString(mUsage)
+					.finish();
+			mFingerprint = fingerprint;
+		}
+		return fingerprint;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdAddressBlock))
+			return false;
+		return getFingerprint().equals(((SvdAddressBlock) obj).getFingerprint());
+	}
+
+	@Override
+	public int hashCode() {
+		return getFingerprint().hashCode();
+	}
 }
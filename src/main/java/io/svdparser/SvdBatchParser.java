@@ -0,0 +1,200 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A parser for large sets of SVD files.
+ *
+ * <p>
+ * Files are parsed concurrently on an {@link Executor}. The number of files in
+ * flight is limited by a memory budget expressed in input bytes: a file is only
+ * submitted when the sum of the lengths of the files being parsed, including
+ * itself, fits in the budget. A file larger than the whole budget is parsed
+ * alone. Keep in mind that the DOM of a file needs roughly an order of magnitude
+ * more heap than the file length.
+ * </p>
+ *
+ * <p>
+ * Results are delivered to a consumer as soon as each file finishes. Calls to
+ * the consumer are serialized, so it does not need to be thread-safe. Any
+ * throwable raised while parsing a file, including errors such as
+ * {@link StackOverflowError}, is reported as a failed result. On Java 21 or
+ * later, a virtual thread per task executor may be provided.
+ * </p>
+ */
+public class SvdBatchParser {
+	private final Executor mExecutor;
+	private final int mBudgetKiB;
+	private final SvdParser mParser;
+
+	/**
+	 * Create a batch parser running on the common fork-join pool.
+	 *
+	 * @param memoryBudget Maximum number of input bytes in flight.
+	 */
+	public SvdBatchParser(long memoryBudget) {
+		this(ForkJoinPool.commonPool(), memoryBudget);
+	}
+
+	/**
+	 * Create a batch parser.
+	 *
+	 * @param executor     Executor running the parse tasks.
+	 * @param memoryBudget Maximum number of input bytes in flight.
+	 */
+	public SvdBatchParser(Executor executor, long memoryBudget) {
+		this(executor, memoryBudget, SvdParser.getDefault());
+	}
+
+	/**
+	 * Create a batch parser using the given parse settings for every file. With
+	 * lenient settings, files with format errors still produce a device holding
+	 * their diagnostics.
+	 *
+	 * @param executor     Executor running the parse tasks.
+	 * @param memoryBudget Maximum number of input bytes in flight.
+	 * @param options      Parse settings.
+	 */
+	public SvdBatchParser(Executor executor, long memoryBudget, SvdParseOptions options) {
+		this(executor, memoryBudget, new SvdParser(options));
+	}
+
+	/**
+	 * Create a batch parser sharing a parser, and therefore its string pool and
+	 * device cache, with other users.
+	 *
+	 * @param executor     Executor running the parse tasks.
+	 * @param memoryBudget Maximum number of input bytes in flight.
+	 * @param parser       Parser of every file.
+	 */
+	public SvdBatchParser(Executor executor, long memoryBudget, SvdParser parser) {
+		mExecutor = executor;
+		mBudgetKiB = (int) Math.max(1, Math.min(Integer.MAX_VALUE, memoryBudget / 1024));
+		mParser = parser;
+	}
+
+	/**
+	 * Parse a stream of files. This method returns once every file has been
+	 * parsed and delivered.
+	 *
+	 * <p>
+	 * If the consumer throws, no more files are submitted and the exception is
+	 * rethrown once the files in flight have been delivered. Later consumer
+	 * exceptions are added to it as suppressed exceptions.
+	 * </p>
+	 *
+	 * @param files    The files to parse.
+	 * @param consumer Receiver of the per-file results.
+	 * @return The run summary.
+	 * @throws InterruptedException if interrupted while waiting for the budget or
+	 *                              for the pending parses.
+	 */
+	public SvdBatchSummary parse(Stream<File> files, Consumer<SvdBatchResult> consumer) throws InterruptedException {
+		Semaphore budget = new Semaphore(mBudgetKiB);
+		Collector collector = new Collector(consumer);
+
+		Iterator<File> iterator = files.iterator();
+		while (iterator.hasNext()) {
+			File f = iterator.next();
+			long length = f.length();
+			int cost = (int) Math.max(1, Math.min(mBudgetKiB, (length + 1023) / 1024));
+			budget.acquire(cost);
+			// Failures are recorded before the permits are released
+			if (collector.isFailed()) {
+				budget.release(cost);
+				break;
+			}
+			try {
+				mExecutor.execute(() -> {
+					try {
+						collector.deliver(parse(f), length);
+					} catch (Throwable t) {
+						// Executors may drop exceptions silently, keep it for the caller
+						collector.fail(t);
+					} finally {
+						budget.release(cost);
+					}
+				});
+			} catch (RuntimeException e) {
+				budget.release(cost);
+				throw e;
+			}
+		}
+
+		// Every task releases its permits once delivered, so the whole budget is
+		// only available again when all of them have finished
+		budget.acquire(mBudgetKiB);
+		collector.rethrow();
+		return collector.summarize();
+	}
+
+	private SvdBatchResult parse(File f) {
+		long start = System.nanoTime();
+		try {
+			SvdDevice device = mParser.parse(f);
+			return new SvdBatchResult(f, device, null, System.nanoTime() - start);
+		} catch (Throwable t) {
+			return new SvdBatchResult(f, null, t, System.nanoTime() - start);
+		}
+	}
+
+	private static class Collector {
+		private final Consumer<SvdBatchResult> mConsumer;
+		private final long mStartNanos = System.nanoTime();
+		private long[] mLatencies = new long[64];
+		private int mCount;
+		private int mFailures;
+		private long mBytes;
+		private Throwable mError;
+
+		Collector(Consumer<SvdBatchResult> consumer) {
+			mConsumer = consumer;
+		}
+
+		synchronized void deliver(SvdBatchResult result, long length) {
+			if (mCount == mLatencies.length)
+				mLatencies = Arrays.copyOf(mLatencies, mCount * 2);
+			mLatencies[mCount++] = result.getNanos();
+			if (!result.isSuccess())
+				mFailures++;
+			mBytes += length;
+			mConsumer.accept(result);
+		}
+
+		synchronized void fail(Throwable t) {
+			if (mError == null)
+				mError = t;
+			else if (mError != t)
+				mError.addSuppressed(t);
+		}
+
+		synchronized boolean isFailed() {
+			return mError != null;
+		}
+
+		synchronized void rethrow() {
+			if (mError instanceof RuntimeException)
+				throw (RuntimeException) mError;
+			if (mError instanceof Error)
+				throw (Error) mError;
+			if (mError != null)
+				throw new IllegalStateException("Batch result delivery failed", mError);
+		}
+
+		synchronized SvdBatchSummary summarize() {
+			return new SvdBatchSummary(mCount, mFailures, mBytes, System.nanoTime() - mStartNanos,
+					Arrays.copyOf(mLatencies, mCount));
+		}
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.File;
+
+/**
+ * The outcome of parsing one file with {@link SvdBatchParser}. Either the
+ * device or the error is set.
+ */
+public class SvdBatchResult {
+	private final File mFile;
+	private final SvdDevice mDevice;
+	private final Throwable mError;
+	private final long mNanos;
+
+	SvdBatchResult(File file, SvdDevice device, Throwable error, long nanos) {
+		mFile = file;
+		mDevice = device;
+		mError = error;
+		mNanos = nanos;
+	}
+
+	/**
+	 * Get the parsed file.
+	 *
+	 * @return The file.
+	 */
+	public File getFile() {
+		return mFile;
+	}
+
+	/**
+	 * Check whether the file was parsed successfully.
+	 *
+	 * @return True if a device is available, false otherwise.
+	 */
+	public boolean isSuccess() {
+		return mError == null;
+	}
+
+	/**
+	 * Get the parsed device.
+	 *
+	 * @return The SvdDevice object, or null if the parse failed.
+	 */
+	public SvdDevice getDevice() {
+		return mDevice;
+	}
+
+	/**
+	 * Get the parse error.
+	 *
+	 * @return The exception or error that aborted the parse, or null on success.
+	 */
+	public Throwable getError() {
+		return mError;
+	}
+
+	/**
+	 * Get the parse latency.
+	 *
+	 * @return The time spent parsing the file, in nanoseconds.
+	 */
+	public long getNanos() {
+		return mNanos;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SvdBatchResult{file=\"" + mFile + "\", nanos=" + mNanos);
+		if (mError != null)
+			sb.append(", error=\"" + mError + "\"");
+		sb.append("}");
+		return sb.toString();
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.Arrays;
+
+/**
+ * Throughput and latency figures of a {@link SvdBatchParser} run.
+ */
+public class SvdBatchSummary {
+	private final int mFileCount;
+	private final int mFailureCount;
+	private final long mBytes;
+	private final long mElapsedNanos;
+	private final long[] mSortedLatencies;
+
+	SvdBatchSummary(int fileCount, int failureCount, long bytes, long elapsedNanos, long[] latencies) {
+		mFileCount = fileCount;
+		mFailureCount = failureCount;
+		mBytes = bytes;
+		mElapsedNanos = elapsedNanos;
+		mSortedLatencies = latencies.clone();
+		Arrays.sort(mSortedLatencies);
+	}
+
+	/**
+	 * Get the number of processed files.
+	 *
+	 * @return The file count, including failures.
+	 */
+	public int getFileCount() {
+		return mFileCount;
+	}
+
+	/**
+	 * Get the number of files that could not be parsed.
+	 *
+	 * @return The failure count.
+	 */
+	public int getFailureCount() {
+		return mFailureCount;
+	}
+
+	/**
+	 * Get the total size of the processed files.
+	 *
+	 * @return The number of bytes.
+	 */
+	public long getBytes() {
+		return mBytes;
+	}
+
+	/**
+	 * Get the wall time of the whole run.
+	 *
+	 * @return The elapsed time, in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return mElapsedNanos;
+	}
+
+	/**
+	 * Get the number of files processed per second.
+	 *
+	 * @return The file throughput.
+	 */
+	public double getFilesPerSecond() {
+		return (mElapsedNanos == 0) ? 0 : mFileCount * 1e9 / mElapsedNanos;
+	}
+
+	/**
+	 * Get the number of bytes processed per second.
+	 *
+	 * @return The byte throughput.
+	 */
+	public double getBytesPerSecond() {
+		return (mElapsedNanos == 0) ? 0 : mBytes * 1e9 / mElapsedNanos;
+	}
+
+	/**
+	 * Get a per-file latency percentile, using the nearest-rank method.
+	 *
+	 * @param percentile The percentile, between 0 and 100.
+	 * @return The latency, in nanoseconds, or 0 if no file was processed.
+	 */
+	public long getLatencyPercentile(double percentile) {
+		if (mSortedLatencies.length == 0)
+			return 0;
+		int rank = (int) Math.ceil(percentile / 100 * mSortedLatencies.length);
+		return mSortedLatencies[Math.max(0, Math.min(mSortedLatencies.length - 1, rank - 1))];
+	}
+
+	@Override
+	public String toString() {
+		return "SvdBatchSummary{files=" + mFileCount + ", failures=" + mFailureCount + ", bytes=" + mBytes
+				+ ", elapsedNanos=" + mElapsedNanos + ", filesPerSecond=" + String.format("%.1f", getFilesPerSecond())
+				+ ", p50=" + getLatencyPercentile(50) + ", p90=" + getLatencyPercentile(90) + ", p99="
+				+ getLatencyPercentile(99) + ", max=" + getLatencyPercentile(100) + "}";
+	}
+}
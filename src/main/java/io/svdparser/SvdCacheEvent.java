@@ -0,0 +1,43 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for every lookup in the device cache of a
+ * {@link SvdParser}. It tells hits from misses and, when storing a missed
+ * device made the cache evict its least recently used one, which file was
+ * evicted. Disabled by default, enable {@code io.svdparser.Cache} in the
+ * recording settings.
+ */
+@Name("io.svdparser.Cache")
+@Label("SVD Cache Lookup")
+@Category("SVD Parser")
+@Description("Lookup of a parsed SVD file in the device cache and the eviction it caused")
+@Enabled(false)
+@StackTrace(false)
+final class SvdCacheEvent extends Event {
+	@Label("Path")
+	String path;
+
+	@Label("Hit")
+	boolean hit;
+
+	@Label("Evicted")
+	boolean evicted;
+
+	@Label("Evicted Path")
+	String evictedPath;
+
+	@Label("Cached Devices")
+	int cacheSize;
+}
@@ -0,0 +1,161 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * A single difference between two versions of a device, as reported by
+ * {@link SvdDeviceDiff}.
+ *
+ * <p>
+ * A change refers to the affected elements of both versions. Elements that do
+ * not exist in one of the versions are null, for example the new register of a
+ * {@link SvdChangeType#REGISTER_REMOVED} change or every register of a
+ * peripheral level change.
+ * </p>
+ */
+public class SvdChange {
+	private final SvdChangeType mType;
+	private final SvdPeripheral mOldPeripheral;
+	private final SvdPeripheral mNewPeripheral;
+	private final SvdRegister mOldRegister;
+	private final SvdRegister mNewRegister;
+	private final SvdField mOldField;
+	private final SvdField mNewField;
+
+	SvdChange(SvdChangeType type, SvdPeripheral oldPeripheral, SvdPeripheral newPeripheral, SvdRegister oldRegister,
+			SvdRegister newRegister, SvdField oldField, SvdField newField) {
+		mType = type;
+		mOldPeripheral = oldPeripheral;
+		mNewPeripheral = newPeripheral;
+		mOldRegister = oldRegister;
+		mNewRegister = newRegister;
+		mOldField = oldField;
+		mNewField = newField;
+	}
+
+	/**
+	 * Get the kind of change.
+	 *
+	 * @return The change type.
+	 */
+	public SvdChangeType getType() {
+		return mType;
+	}
+
+	/**
+	 * Get the affected peripheral in the old device.
+	 *
+	 * @return The SvdPeripheral object, or null.
+	 */
+	public SvdPeripheral getOldPeripheral() {
+		return mOldPeripheral;
+	}
+
+	/**
+	 * Get the affected peripheral in the new device.
+	 *
+	 * @return The SvdPeripheral object, or null.
+	 */
+	public SvdPeripheral getNewPeripheral() {
+		return mNewPeripheral;
+	}
+
+	/**
+	 * Get the affected register in the old device.
+	 *
+	 * @return The SvdRegister object, or null.
+	 */
+	public SvdRegister getOldRegister() {
+		return mOldRegister;
+	}
+
+	/**
+	 * Get the affected register in the new device.
+	 *
+	 * @return The SvdRegister object, or null.
+	 */
+	public SvdRegister getNewRegister() {
+		return mNewRegister;
+	}
+
+	/**
+	 * Get the affected field in the old device.
+	 *
+	 * @return The SvdField object, or null.
+	 */
+	public SvdField getOldField() {
+		return mOldField;
+	}
+
+	/**
+	 * Get the affected field in the new device.
+	 *
+	 * @return The SvdField object, or null.
+	 */
+	public SvdField getNewField() {
+		return mNewField;
+	}
+
+	/**
+	 * Get the dotted path of the affected element, such as "TIMER0.CR.EN". Names
+	 * of the new device are used, except for removed elements.
+	 *
+	 * @return The element path, or an empty string for device level changes.
+	 */
+	public String getPath() {
+		StringBuilder sb = new StringBuilder();
+		SvdPeripheral p = (mNewPeripheral != null) ? mNewPeripheral : mOldPeripheral;
+		if (p != null)
+			sb.append(p.getName());
+		SvdRegister r = (mNewRegister != null) ? mNewRegister : mOldRegister;
+		if (r != null)
+			sb.append('.').append(r.getName());
+		SvdField f = (mNewField != null) ? mNewField : mOldField;
+		if (f != null)
+			sb.append('.').append(f.getName());
+		return sb.toString();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SvdChange{type=" + mType + ", path=\"" + getPath() + "\"");
+		switch (mType) {
+		case PERIPHERAL_RENAMED:
+			sb.append(", oldName=\"" + mOldPeripheral.getName() + "\"");
+			break;
+		case PERIPHERAL_MOVED:
+			sb.append(", oldBaseAddr=0x" + Long.toHexString(mOldPeripheral.getBaseAddr()) + ", newBaseAddr=0x"
+					+ Long.toHexString(mNewPeripheral.getBaseAddr()));
+			break;
+		case REGISTER_RENAMED:
+			sb.append(", oldName=\"" + mOldRegister.getName() + "\"");
+			break;
+		case REGISTER_MOVED:
+			sb.append(", oldOffset=0x" + Integer.toHexString(mOldRegister.getOffset()) + ", newOffset=0x"
+					+ Integer.toHexString(mNewRegister.getOffset()));
+			break;
+		case REGISTER_RESIZED:
+			sb.append(", oldSize=" + mOldRegister.getSize() + ", newSize=" + mNewRegister.getSize());
+			break;
+		case REGISTER_ACCESS_CHANGED:
+			sb.append(", oldAccess=" + mOldRegister.getAccess() + ", newAccess=" + mNewRegister.getAccess());
+			break;
+		case FIELD_RENAMED:
+			sb.append(", oldName=\"" + mOldField.getName() + "\"");
+			break;
+		case FIELD_BIT_RANGE_CHANGED:
+			sb.append(", oldBitRange=" + mOldField.getBitRange() + ", newBitRange=" + mNewField.getBitRange());
+			break;
+		case FIELD_ACCESS_CHANGED:
+			sb.append(", oldAccess=" + mOldField.getAccess() + ", newAccess=" + mNewField.getAccess());
+			break;
+		default:
+			break;
+		}
+		sb.append("}");
+		return sb.toString();
+	}
+}
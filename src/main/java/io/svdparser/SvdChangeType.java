@@ -0,0 +1,73 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * Enumeration of the kinds of change reported by {@link SvdDeviceDiff}.
+ */
+public enum SvdChangeType {
+	/** Device level properties or the CPU description changed. */
+	DEVICE_MODIFIED,
+
+	/** A peripheral only exists in the new device. */
+	PERIPHERAL_ADDED,
+
+	/** A peripheral only exists in the old device. */
+	PERIPHERAL_REMOVED,
+
+	/** A peripheral at the same base address has a different name. */
+	PERIPHERAL_RENAMED,
+
+	/** A peripheral has a different base address. */
+	PERIPHERAL_MOVED,
+
+	/**
+	 * The version, description, group name, address blocks or interrupts of a
+	 * peripheral changed.
+	 */
+	PERIPHERAL_MODIFIED,
+
+	/** A register only exists in the new peripheral. */
+	REGISTER_ADDED,
+
+	/** A register only exists in the old peripheral. */
+	REGISTER_REMOVED,
+
+	/** A register at the same offset has a different name. */
+	REGISTER_RENAMED,
+
+	/** A register has a different offset. */
+	REGISTER_MOVED,
+
+	/** A register has a different size. */
+	REGISTER_RESIZED,
+
+	/** A register has a different access. */
+	REGISTER_ACCESS_CHANGED,
+
+	/** The description, reset value or read and write side effects of a register changed. */
+	REGISTER_MODIFIED,
+
+	/** A field only exists in the new register. */
+	FIELD_ADDED,
+
+	/** A field only exists in the old register. */
+	FIELD_REMOVED,
+
+	/** A field with the same bit range has a different name. */
+	FIELD_RENAMED,
+
+	/** A field has a different bit range. */
+	FIELD_BIT_RANGE_CHANGED,
+
+	/** A field has a different access. */
+	FIELD_ACCESS_CHANGED,
+
+	/** The enumerated values of a field changed. */
+	FIELD_ENUM_CHANGED,
+
+	/** The description or the read and write side effects of a field changed. */
+	FIELD_MODIFIED;
+}
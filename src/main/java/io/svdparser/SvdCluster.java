@@ -12,19 +12,147 @@ import org.w3c.dom.Element;
 /**
  * This class represents a cluster element within a peripheral's registers
  * block. A cluster groups a sequence of neighboring registers and defines a
- * base {@code addressOffset} relative to the peripheral base address. All
- * registers inside the cluster specify their own {@code addressOffset} relative
- * to the cluster base.
+ * base {@code addressOffset} relative to its parent, either the peripheral or
+ * an enclosing cluster. All registers inside the cluster specify their own
+ * {@code addressOffset} relative to the cluster base.
  *
  * <p>
- * Clusters are flattened into a plain list of {@link SvdRegister} objects. Each
- * register's effective offset is adjusted by the cluster's
- * {@code addressOffset} and its name is prefixed with the cluster name (e.g. a
- * register {@code CONFIG} inside cluster {@code CH} becomes {@code CH_CONFIG}).
- * Nested clusters accumulate offsets and prefixes recursively.
+ * Clusters form a tree that is reachable through
+ * {@link SvdPeripheral#getClusters()}. The registers of the tree are also
+ * available as a flat list through {@link SvdPeripheral#getRegisters()}, where
+ * each register name is prefixed with the names of its enclosing clusters (e.g.
+ * a register {@code CONFIG} inside cluster {@code CH} is named
+ * {@code CH_CONFIG}) and its offset is relative to the peripheral. Prefixed
+ * names are only built when requested.
  * </p>
  */
 public class SvdCluster {
+	private final SvdCluster mParent;
+	private final String mName;
+	private final String mDescription;
+	private final int mOffset;
+	private final int mAbsoluteOffset;
+	private final SvdDim mDim;
+	private final int mDimIndex;
+	private final List<SvdCluster> mClusters;
+	private final List<SvdRegister> mRegisters;
+	private String mPrefix;
+	private SvdFingerprint mFingerprint;
+
+	/**
+	 * A parsed {@code <cluster>} element that is not placed in the tree yet. Its
+	 * registers have no parent and its children are templates as well, so the
+	 * tree is built once from the top with every node getting its final parent.
+	 */
+	static class Template {
+		final String name;
+		final String description;
+		final int offset;
+		final SvdDim dim;
+		final List<Template> clusters;
+		final List<SvdRegister> registers;
+
+		static Template fromElement(Element el, Integer defaultSize, SvdAccess defaultAccess, Long defaultResetValue,
+				Long defaultResetMask, SvdParseContext ctx) throws SvdParserException {
+			// XML node name check
+			if (!el.getNodeName().equals("cluster"))
+				throw new SvdParserException("Cannot build an SvdCluster from a " + el.getNodeName() + " node!");
+
+			ctx.enter(SvdParsePhase.CLUSTER);
+
+			// Parse name, description and address offset
+			String name = ctx.getText(Utils.getRequiredFirstOrderChildElementByTagName(el, "name"));
+			Element descriptionElement = Utils.getSingleFirstOrderChildElementByTagName(el, "description");
+			String description = (descriptionElement != null) ? ctx.getText(descriptionElement) : null;
+			int clusterOffset = Integer
+					.decode(Utils.getRequiredFirstOrderChildElementByTagName(el, "addressOffset").getTextContent());
+
+			// Parse dim elements
+			SvdDim dimInfo = SvdDim.fromElement(el, name);
+
+			// Parse size/access/reset overrides from the cluster
+			Element sizeElement = Utils.getSingleFirstOrderChildElementByTagName(el, "size");
+			if (sizeElement != null)
+				defaultSize = Integer.decode(sizeElement.getTextContent());
+			Element accessElement = Utils.getSingleFirstOrderChildElementByTagName(el, "access");
+			defaultAccess = ctx.parseAccess(accessElement, defaultAccess);
+			defaultResetValue = ctx.parseReset(Utils.getSingleFirstOrderChildElementByTagName(el, "resetValue"),
+					defaultResetValue);
+			defaultResetMask = ctx.parseReset(Utils.getSingleFirstOrderChildElementByTagName(el, "resetMask"),
+					defaultResetMask);
+
+			// Children are parsed once and shared by every array element
+			Template template = new Template(name, description, clusterOffset, dimInfo,
+					SvdRegisters.getClusterTemplates(el, defaultSize, defaultAccess, defaultResetValue,
+							defaultResetMask, ctx),
+					SvdRegisters.getRegisters(el, defaultSize, defaultAccess, defaultResetValue, defaultResetMask,
+							ctx));
+
+			// Elements after the first one hold copies of the children
+			int dim = template.getCount();
+			int nested = 0;
+			for (Template t : template.clusters)
+				nested += t.getCount() * t.getClusterCount();
+			ctx.count(SvdParsePhase.CLUSTER, dim + (dim - 1) * nested);
+			ctx.count(SvdParsePhase.REGISTER, (dim - 1) * template.getRegisterCount());
+			ctx.exit();
+			return template;
+		}
+
+		private Template(String name, String description, int offset, SvdDim dim, List<Template> clusters,
+				List<SvdRegister> registers) {
+			this.name = name;
+			this.description = description;
+			this.offset = offset;
+			this.dim = dim;
+			this.clusters = clusters;
+			this.registers = registers;
+		}
+
+		/**
+		 * Get the number of array elements.
+		 */
+		int getCount() {
+			return (dim != null) ? dim.getDim() : 1;
+		}
+
+		/**
+		 * Get the number of clusters in the tree of a single element.
+		 */
+		int getClusterCount() {
+			int count = 1;
+			for (Template t : clusters)
+				count += t.getCount() * t.getClusterCount();
+			return count;
+		}
+
+		/**
+		 * Get the number of registers in the tree of a single element.
+		 */
+		int getRegisterCount() {
+			int count = registers.size();
+			for (Template t : clusters)
+				count += t.getCount() * t.getRegisterCount();
+			return count;
+		}
+
+		/**
+		 * Build the array elements of this cluster inside a parent and append
+		 * them to a list.
+		 *
+		 * @param parent The enclosing cluster, or null for peripheral level
+		 *               clusters.
+		 */
+		void build(SvdCluster parent, List<SvdCluster> list) {
+			int dimIncrement = (dim != null) ? (int) dim.getDimIncrement() : 0;
+			for (int i = 0; i < getCount(); i++) {
+				String clusterName = (dim != null) ? dim.getElementName(i) : name;
+				list.add(new SvdCluster(parent, clusterName, description, offset + i * dimIncrement, dim, i, clusters,
+						registers));
+			}
+		}
+	}
+
 	/**
 	 * Parse a {@code <cluster>} DOM element and return its registers as a flat
 	 * list.
@@ -35,6 +163,7 @@ public class SvdCluster {
 	 * @return A flat list of {@link SvdRegister} objects for all registers in the
 	 *         cluster (including nested clusters, expanded for {@code dim}).
 	 * @throws SvdParserException on SVD format errors.
+	 * @see #treeFromElement(Element, Integer, SvdAccess)
 	 */
 	public static List<SvdRegister> fromElement(Element el, Integer defaultSize, SvdAccess defaultAccess)
 			throws SvdParserException {
@@ -53,52 +182,236 @@ public class SvdCluster {
 	 * @return A flat list of {@link SvdRegister} objects for all registers in the
 	 *         cluster (including nested clusters, expanded for {@code dim}).
 	 * @throws SvdParserException on SVD format errors.
+	 * @see #treeFromElement(Element, Integer, SvdAccess)
 	 */
 	public static List<SvdRegister> fromElement(Element el, Integer defaultSize, SvdAccess defaultAccess,
 			int baseOffset, String namePrefix) throws SvdParserException {
+		List<SvdCluster> clusters = treeFromElement(el, defaultSize, defaultAccess);
+		if (clusters == null)
+			return null;
+		List<SvdRegister> registers = SvdRegisters.flatten(clusters, List.of());
+		if (baseOffset == 0 && namePrefix.isEmpty())
+			return registers;
+		List<SvdRegister> moved = new ArrayList<>(registers.size());
+		for (SvdRegister r : registers)
+			moved.add(r.withPrefix(namePrefix, baseOffset));
+		return moved;
+	}
+
+	/**
+	 * Parse a {@code <cluster>} DOM element and return it as a tree.
+	 *
+	 * @param el            The {@code <cluster>} DOM element.
+	 * @param defaultSize   Default register size inherited from the parent.
+	 * @param defaultAccess Default access mode inherited from the parent.
+	 * @return A list of SvdCluster objects (more than one when dim > 1).
+	 * @throws SvdParserException on SVD format errors.
+	 */
+	public static List<SvdCluster> treeFromElement(Element el, Integer defaultSize, SvdAccess defaultAccess)
+			throws SvdParserException {
 		// Element null check
 		if (el == null)
 			return null;
+		List<SvdCluster> clusters = new ArrayList<>();
+		Template.fromElement(el, defaultSize, defaultAccess, null, null, new SvdParseContext()).build(null, clusters);
+		return clusters;
+	}
+
+	/**
+	 * Build a cluster and its subtree. Nested clusters and registers are created
+	 * here with this cluster as their parent, so every node is allocated once.
+	 */
+	private SvdCluster(SvdCluster parent, String name, String description, int offset, SvdDim dim, int dimIndex,
+			List<Template> clusters, List<SvdRegister> registers) {
+		mParent = parent;
+		mName = name;
+		mDescription = description;
+		mOffset = offset;
+		mAbsoluteOffset = (parent != null) ? parent.getOffset() + offset : offset;
+		mDim = dim;
+		mDimIndex = dimIndex;
+		List<SvdCluster> ownClusters = new ArrayList<>(clusters.size());
+		for (Template t : clusters)
+			t.build(this, ownClusters);
+		mClusters = List.copyOf(ownClusters);
+		List<SvdRegister> ownRegisters = new ArrayList<>(registers.size());
+		for (SvdRegister r : registers)
+			ownRegisters.add(r.withParent(this));
+		mRegisters = List.copyOf(ownRegisters);
+	}
+
+	/**
+	 * Append the registers of this cluster and its descendants to a list, nested
+	 * clusters first.
+	 */
+	void collectRegisters(List<SvdRegister> list) {
+		for (SvdCluster c : mClusters)
+			c.collectRegisters(list);
+		list.addAll(mRegisters);
+	}
+
+	/**
+	 * Get the prefix of the flattened names of the registers in this cluster.
+	 */
+	String getPrefix() {
+		String prefix = mPrefix;
+		if (prefix == null) {
+			prefix = ((mParent != null) ? mParent.getPrefix() : "") + mName + "_";
+			mPrefix = prefix;
+		}
+		return prefix;
+	}
+
+	/**
+	 * Get the cluster name. For cluster arrays this is the name of this element
+	 * (e.g. {@code CH0}).
+	 *
+	 * @return A string representing the cluster name.
+	 */
+	public String getName() {
+		return mName;
+	}
 
-		// XML node name check
-		if (!el.getNodeName().equals("cluster"))
-			throw new SvdParserException("Cannot build an SvdCluster from a " + el.getNodeName() + " node!");
-
-		// Parse dim elements
-		Element dimElement = Utils.getSingleFirstOrderChildElementByTagName(el, "dim");
-		int dim = (dimElement != null) ? Integer.decode(dimElement.getTextContent()) : 1;
-		Element dimIncrementElement = Utils.getSingleFirstOrderChildElementByTagName(el, "dimIncrement");
-		int dimIncrement = (dimIncrementElement != null) ? Integer.decode(dimIncrementElement.getTextContent()) : 0;
-
-		// Parse name and address offset
-		String name = Utils.getSingleFirstOrderChildElementByTagName(el, "name").getTextContent();
-		int clusterOffset = Integer
-				.decode(Utils.getSingleFirstOrderChildElementByTagName(el, "addressOffset").getTextContent());
-
-		// Parse size/access overrides from the cluster
-		Element sizeElement = Utils.getSingleFirstOrderChildElementByTagName(el, "size");
-		if (sizeElement != null)
-			defaultSize = Integer.decode(sizeElement.getTextContent());
-		Element accessElement = Utils.getSingleFirstOrderChildElementByTagName(el, "access");
-		if (accessElement != null)
-			defaultAccess = SvdAccess.fromString(accessElement.getTextContent());
-
-		List<SvdRegister> registers = new ArrayList<>();
-		for (int i = 0; i < dim; i++) {
-			// Cluster name for this dim expansion (substitutes %s placeholder when present)
-			String clusterName = name.formatted(String.valueOf(i));
-			// Build the prefix that all child registers will carry, e.g. "CH_" or "CH0_"
-			String clusterPrefix = namePrefix + clusterName + "_";
-			int effectiveBase = baseOffset + clusterOffset + i * dimIncrement;
-
-			// Process nested clusters
-			for (Element c : Utils.getFirstOrderChildElementsByTagName(el, "cluster"))
-				registers.addAll(SvdCluster.fromElement(c, defaultSize, defaultAccess, effectiveBase, clusterPrefix));
-
-			// Process registers
-			for (Element r : Utils.getFirstOrderChildElementsByTagName(el, "register"))
-				registers.addAll(SvdRegister.fromElement(r, defaultSize, defaultAccess, effectiveBase, clusterPrefix));
+	/**
+	 * Get the cluster description.
+	 *
+	 * @return A string containing the cluster description, or null if not
+	 *         specified.
+	 */
+	public String getDescription() {
+		return mDescription;
+	}
+
+	/**
+	 * Get the cluster offset from the peripheral base address, including the
+	 * offsets of its enclosing clusters.
+	 *
+	 * @return The offset of the cluster.
+	 */
+	public int getOffset() {
+		return mAbsoluteOffset;
+	}
+
+	/**
+	 * Get the cluster offset from its parent, either the enclosing cluster or the
+	 * peripheral.
+	 *
+	 * @return The local offset of the cluster.
+	 */
+	public int getLocalOffset() {
+		return mOffset;
+	}
+
+	/**
+	 * Get the array declaration this cluster was expanded from.
+	 *
+	 * @return The SvdDim object, or null if the cluster is not part of an array.
+	 */
+	public SvdDim getDim() {
+		return mDim;
+	}
+
+	/**
+	 * Get the position of this cluster in its array.
+	 *
+	 * @return The array index, or 0 if the cluster is not part of an array.
+	 */
+	public int getDimIndex() {
+		return mDimIndex;
+	}
+
+	/**
+	 * Get the enclosing cluster.
+	 *
+	 * @return The parent SvdCluster object, or null if the cluster belongs
+	 *         directly to a peripheral.
+	 */
+	public SvdCluster getParent() {
+		return mParent;
+	}
+
+	/**
+	 * Get the clusters nested directly inside this one.
+	 *
+	 * @return An unmodifiable list of SvdCluster objects.
+	 */
+	public List<SvdCluster> getClusters() {
+		return mClusters;
+	}
+
+	/**
+	 * Get the registers placed directly inside this cluster.
+	 *
+	 * @return An unmodifiable list of SvdRegister objects.
+	 */
+	public List<SvdRegister> getRegisters() {
+		return mRegisters;
+	}
+
+	/**
+	 * Account the memory retained by this object and everything it references.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.CLUSTERS))
+			return;
+		e.addString(mName);
+		e.addString(mDescription);
+		if (mDim != null)
+			mDim.estimateMemory(e, SvdMemoryCategory.CLUSTERS);
+		e.addList(mClusters, SvdMemoryCategory.CLUSTERS);
+		for (SvdCluster c : mClusters)
+			c.estimateMemory(e);
+		e.addList(mRegisters, SvdMemoryCategory.REGISTERS);
+		for (SvdRegister r : mRegisters)
+			r.estimateMemory(e);
+		e.addString(mPrefix);
+		e.add(mFingerprint, SvdMemoryCategory.CLUSTERS);
+	}
+
+	/**
+	 * Get the structural fingerprint of the cluster, covering its nested clusters
+	 * and registers. It is computed on first use and cached.
+	 *
+	 * @return A SvdFingerprint object.
+	 */
+	public SvdFingerprint getFingerprint() {
+		SvdFingerprint fingerprint = mFingerprint;
+		if (fingerprint == null) {
+			SvdFingerprint.Hasher hasher = new SvdFingerprint.Hasher("cluster").putString(mName)
+					.putString(mDescription).putInt(mOffset).putInt(mClusters.size());
+			for (SvdCluster c : mClusters)
+				hasher.putFingerprint(c.getFingerprint());
+			hasher.putInt(mRegisters.size());
+			for (SvdRegister r : mRegisters)
+				hasher.putFingerprint(r.getFingerprint());
+			fingerprint = hasher.finish();
+			mFingerprint = fingerprint;
 		}
-		return registers;
+		return fingerprint;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdCluster))
+			return false;
+		return getFingerprint().equals(((SvdCluster) obj).getFingerprint());
+	}
+
+	@Override
+	public int hashCode() {
+		return getFingerprint().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SvdCluster{name=\"" + mName + "\"");
+		if (mDescription != null)
+			sb.append(", description=\"" + mDescription + "\"");
+		sb.append(", offset=0x" + Integer.toHexString(getOffset()));
+		sb.append(", clusters=" + mClusters.size() + ", registers=" + mRegisters.size() + "}");
+		return sb.toString();
 	}
 }
@@ -4,6 +4,8 @@
  */
 package io.svdparser;
 
+import java.nio.ByteOrder;
+
 import org.w3c.dom.Element;
 
 /**
@@ -12,13 +14,14 @@ import org.w3c.dom.Element;
  * if the SVD file is used to generate the device header file.
  */
 public class SvdCpu {
-	private String mName;
-	private String mRevision;
-	private String mEndian;
-	private Boolean mMpuPresent;
-	private Boolean mFpuPresent;
-	private Integer mNvicPrioBits;
-	private Boolean mVendorSystickConfig;
+	private final String mName;
+	private final String mRevision;
+	private final String mEndian;
+	private final Boolean mMpuPresent;
+	private final Boolean mFpuPresent;
+	private final Integer mNvicPrioBits;
+	private final Boolean mVendorSystickConfig;
+	private SvdFingerprint mFingerprint;
 
 	/**
 	 * Construct a CPU object from a DOM element.
@@ -110,6 +113,18 @@ public class SvdCpu {
 		return mEndian;
 	}
 
+	/**
+	 * Get the byte order used by the CPU to access memory mapped registers. Only a
+	 * {@code big} endian CPU maps to {@link ByteOrder#BIG_ENDIAN}; {@code little},
+	 * {@code selectable}, {@code other} and a missing value are treated as little
+	 * endian.
+	 *
+	 * @return The CPU byte order.
+	 */
+	public ByteOrder getByteOrder() {
+		return "big".equalsIgnoreCase(mEndian) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+	}
+
 	/**
 	 * Check if MPU is present.
 	 *
@@ -146,6 +161,53 @@ public class SvdCpu {
 		return mVendorSystickConfig;
 	}
 
+	/**
+	 * Account the memory retained by this object and everything it references.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.DEVICE))
+			return;
+		e.addString(mName);
+		e.addString(mRevision);
+		e.addString(mEndian);
+		e.addBoxed(mMpuPresent, SvdMemoryCategory.DEVICE);
+		e.addBoxed(mFpuPresent, SvdMemoryCategory.DEVICE);
+		e.addBoxed(mNvicPrioBits, SvdMemoryCategory.DEVICE);
+		e.addBoxed(mVendorSystickConfig, SvdMemoryCategory.DEVICE);
+		e.add(mFingerprint, SvdMemoryCategory.DEVICE);
+	}
+
+	/**
+	 * Get the structural fingerprint of the CPU description. It is computed on
+	 * first use and cached.
+	 *
+	 * @return A SvdFingerprint object.
+	 */
+	public SvdFingerprint getFingerprint() {
+		SvdFingerprint fingerprint = mFingerprint;
+		if (fingerprint == null) {
+			fingerprint = new SvdFingerprint.Hasher("cpu").putString(mName).putString(mRevision).putString(mEndian)
+					.putBoolean(mMpuPresent).putBoolean(mFpuPresent).putInteger(mNvicPrioBits)
+					.putBoolean(mVendorSystickConfig).finish();
+			mFingerprint = fingerprint;
+		}
+		return fingerprint;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdCpu))
+			return false;
+		return getFingerprint().equals(((SvdCpu) obj).getFingerprint());
+	}
+
+	@Override
+	public int hashCode() {
+		return getFingerprint().hashCode();
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
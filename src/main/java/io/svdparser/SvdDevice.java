@@ -7,11 +7,13 @@ package io.svdparser;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.w3c.dom.Document;
@@ -22,19 +24,30 @@ import org.xml.sax.SAXException;
  * This class represents an SVD device. The element device provides the
  * outermost frame of the description in an SVD file. A device contains one or
  * more peripherals, but one CPU description.
+ *
+ * <p>
+ * The device and every object reachable from it are immutable: fields are
+ * final and lists are unmodifiable. A parsed device can therefore be cached
+ * and read concurrently from any number of threads without synchronization.
+ * </p>
  */
 public class SvdDevice {
-	private String mVendor;
-	private String mVendorID;
-	private String mName;
-	private String mSeries;
-	private String mVersion;
-	private String mDescription;
-	private String mLicenseText;
-	private SvdCpu mCpu;
-	private Integer mAddressUnitBits;
-	private Integer mWidth;
-	private List<SvdPeripheral> mPeripherals;
+	private final String mVendor;
+	private final String mVendorID;
+	private final String mName;
+	private final String mSeries;
+	private final String mVersion;
+	private final String mDescription;
+	private final String mLicenseText;
+	private final SvdCpu mCpu;
+	private final Integer mAddressUnitBits;
+	private final Integer mWidth;
+	private final List<SvdPeripheral> mPeripherals;
+	private final SvdParseStatistics mParseStatistics;
+	private final List<SvdDiagnostic> mDiagnostics;
+	private SvdFingerprint mFingerprint;
+	private SvdMemoryMap mMemoryMap;
+	private SvdResetImage[] mResetImages;
 
 	/**
 	 * Obtain a SvdDevice object directly from an SVD file.
@@ -48,11 +61,7 @@ public class SvdDevice {
 	 */
 	public static SvdDevice fromFile(File f)
 			throws SAXException, IOException, ParserConfigurationException, SvdParserException {
-		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-		dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-		DocumentBuilder db = dbf.newDocumentBuilder();
-		Document doc = db.parse(f);
-		return fromDocument(doc);
+		return SvdParser.getDefault().parse(f);
 	}
 
 	/**
@@ -63,9 +72,15 @@ public class SvdDevice {
 	 * @throws SvdParserException On a SVD format error.
 	 */
 	public static SvdDevice fromDocument(Document doc) throws SvdParserException {
+		return fromDocument(doc, new SvdParseContext());
+	}
+
+	static SvdDevice fromDocument(Document doc, SvdParseContext ctx) throws SvdParserException {
 		// http://stackoverflow.com/questions/13786607/normalization-in-dom-parsing-with-java-how-does-it-work
+		ctx.enter(SvdParsePhase.NORMALIZE);
 		doc.getDocumentElement().normalize();
-		return fromElement(doc.getDocumentElement());
+		ctx.exit();
+		return fromElement(doc.getDocumentElement(), ctx);
 	}
 
 	/**
@@ -76,9 +91,16 @@ public class SvdDevice {
 	 * @throws SvdParserException On a SVD format error.
 	 */
 	public static SvdDevice fromElement(Element el) throws SvdParserException {
+		return fromElement(el, new SvdParseContext());
+	}
+
+	static SvdDevice fromElement(Element el, SvdParseContext ctx) throws SvdParserException {
 		if (!el.getNodeName().equals("device"))
 			throw new SvdParserException("Cannot build an SvdDevice from a " + el.getNodeName() + " node!");
 
+		ctx.enter(SvdParsePhase.DEVICE);
+		ctx.count(SvdParsePhase.DEVICE, 1);
+
 		// Parse device info
 		String vendor = null;
 		Element vendorElement = Utils.getSingleFirstOrderChildElementByTagName(el, "vendor");
@@ -117,7 +139,7 @@ public class SvdDevice {
 
 		// Parse CPU info
 		Element cpuElement = Utils.getSingleFirstOrderChildElementByTagName(el, "cpu");
-		SvdCpu cpu = SvdCpu.fromElement(cpuElement);
+		SvdCpu cpu = ctx.parseElement(cpuElement, null, () -> SvdCpu.fromElement(cpuElement));
 
 		Integer addressUnitBits = null;
 		Element addressUnitBitsElement = Utils.getSingleFirstOrderChildElementByTagName(el, "addressUnitBits");
@@ -136,24 +158,126 @@ public class SvdDevice {
 			defaultSize = Integer.decode(sizeElement.getTextContent());
 
 		// Parse device-level access default
-		SvdAccess defaultAccess = null;
 		Element accessElement = Utils.getSingleFirstOrderChildElementByTagName(el, "access");
-		if (accessElement != null)
-			defaultAccess = SvdAccess.fromString(accessElement.getTextContent());
+		SvdAccess defaultAccess = ctx.parseAccess(accessElement, null);
+
+		// Parse device-level reset defaults
+		Long defaultResetValue = ctx.parseReset(Utils.getSingleFirstOrderChildElementByTagName(el, "resetValue"), null);
+		Long defaultResetMask = ctx.parseReset(Utils.getSingleFirstOrderChildElementByTagName(el, "resetMask"), null);
 
-		// Parse peripherals info
-		Element peripheralsElement = Utils.getSingleFirstOrderChildElementByTagName(el, "peripherals");
+		// Parse peripherals info, a bad peripheral is skipped when lenient
+		Element peripheralsElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "peripherals");
 		List<SvdPeripheral> periphs = new ArrayList<>();
-		for (Element e : Utils.getFirstOrderChildElementsByTagName(peripheralsElement, "peripheral"))
-			periphs.addAll(SvdPeripheral.fromElement(e, defaultSize, defaultAccess, periphs));
+		List<Element> peripheralElements = Utils.getFirstOrderChildElementsByTagName(peripheralsElement, "peripheral");
+		SvdPeripheralFilter filter = ctx.getPeripheralFilter();
+		// On partial parses, peripherals that are not selected are only built when
+		// a selected one derives from them
+		List<SvdPeripheral> resolved = (filter != null) ? new ArrayList<>() : periphs;
+		Map<String, Element> skipped = (filter != null) ? new HashMap<>() : null;
+		int done = 0;
+		for (Element e : peripheralElements) {
+			ctx.checkCancelled();
+			Integer size = defaultSize;
+			if (filter == null)
+				periphs.addAll(ctx.parseElement(e, List.of(),
+						() -> ctx.parsePeripheral(e, size, defaultAccess, defaultResetValue, defaultResetMask,
+								periphs)));
+			else
+				periphs.addAll(ctx.parseElement(e, List.of(),
+						() -> selectPeripherals(e, size, defaultAccess, defaultResetValue, defaultResetMask, filter,
+								resolved, skipped, ctx)));
+			ctx.peripheralsDone(++done, peripheralElements.size());
+		}
+		ctx.exit();
+
+		// Statistics are complete before the device is published
+		ctx.finish();
 
 		// Return the new SVD device
 		return new SvdDevice(vendor, vendorID, name, series, version, description, licenseText, addressUnitBits, width,
-				cpu, periphs);
+				cpu, List.copyOf(periphs), ctx.getStatistics(), ctx.getDiagnostics());
+	}
+
+	/**
+	 * Build the peripherals of an element that are accepted by a filter. The
+	 * names of the peripherals that are not accepted are recorded, so they can be
+	 * built later if a selected peripheral derives from them.
+	 */
+	private static List<SvdPeripheral> selectPeripherals(Element el, Integer defaultSize, SvdAccess defaultAccess,
+			Long defaultResetValue, Long defaultResetMask, SvdPeripheralFilter filter, List<SvdPeripheral> resolved,
+			Map<String, Element> skipped, SvdParseContext ctx) throws SvdParserException {
+		String name = Utils.getRequiredFirstOrderChildElementByTagName(el, "name").getTextContent();
+		Element baseAddrElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "baseAddress");
+		long baseAddr = Long.decode(baseAddrElement.getTextContent());
+		String groupName = getGroupName(el, resolved, skipped);
+		SvdDim dim = SvdDim.fromElement(el, name);
+		int count = (dim != null) ? dim.getDim() : 1;
+		boolean selected = false;
+		for (int i = 0; i < count && !selected; i++) {
+			String elementName = (dim != null) ? dim.getElementName(i) : name;
+			long elementAddr = (dim != null) ? baseAddr + i * dim.getDimIncrement() : baseAddr;
+			selected = filter.accept(elementName, groupName, elementAddr);
+		}
+		if (!selected) {
+			for (int i = 0; i < count; i++)
+				skipped.put((dim != null) ? dim.getElementName(i) : name, el);
+			return List.of();
+		}
+
+		resolveBase(el, defaultSize, defaultAccess, defaultResetValue, defaultResetMask, resolved, skipped,
+				new HashSet<>(), ctx);
+		List<SvdPeripheral> built = ctx.parsePeripheral(el, defaultSize, defaultAccess, defaultResetValue,
+				defaultResetMask, resolved);
+		resolved.addAll(built);
+		List<SvdPeripheral> result = new ArrayList<>(built.size());
+		for (SvdPeripheral p : built)
+			if (filter.accept(p.getName(), p.getGroupName(), p.getBaseAddr()))
+				result.add(p);
+		return result;
+	}
+
+	/**
+	 * Build the skipped peripheral an element derives from, and its own base.
+	 */
+	private static void resolveBase(Element el, Integer defaultSize, SvdAccess defaultAccess, Long defaultResetValue,
+			Long defaultResetMask, List<SvdPeripheral> resolved, Map<String, Element> skipped, Set<Element> visiting,
+			SvdParseContext ctx) throws SvdParserException {
+		String baseName = el.getAttribute("derivedFrom");
+		if (baseName.isEmpty() || Utils.getPeripheralFromName(resolved, baseName) != null)
+			return;
+		Element base = skipped.get(baseName);
+		if (base == null || !visiting.add(base))
+			return;
+		resolveBase(base, defaultSize, defaultAccess, defaultResetValue, defaultResetMask, resolved, skipped, visiting,
+				ctx);
+		resolved.addAll(ctx.parsePeripheral(base, defaultSize, defaultAccess, defaultResetValue, defaultResetMask,
+				resolved));
+	}
+
+	/**
+	 * Get the group name of a peripheral element without building it, following
+	 * its derivation if it does not declare one.
+	 */
+	private static String getGroupName(Element el, List<SvdPeripheral> resolved, Map<String, Element> skipped)
+			throws SvdParserException {
+		for (int depth = 0; el != null && depth <= skipped.size(); depth++) {
+			Element groupNameElement = Utils.getSingleFirstOrderChildElementByTagName(el, "groupName");
+			if (groupNameElement != null)
+				return groupNameElement.getTextContent();
+			String baseName = el.getAttribute("derivedFrom");
+			if (baseName.isEmpty())
+				return null;
+			SvdPeripheral base = Utils.getPeripheralFromName(resolved, baseName);
+			if (base != null)
+				return base.getGroupName();
+			el = skipped.get(baseName);
+		}
+		return null;
 	}
 
 	private SvdDevice(String vendor, String vendorID, String name, String series, String version, String description,
-			String licenseText, Integer addressUnitBits, Integer width, SvdCpu cpu, List<SvdPeripheral> periphs) {
+			String licenseText, Integer addressUnitBits, Integer width, SvdCpu cpu, List<SvdPeripheral> periphs,
+			SvdParseStatistics parseStatistics, List<SvdDiagnostic> diagnostics) {
 		mVendor = vendor;
 		mVendorID = vendorID;
 		mName = name;
@@ -165,6 +289,8 @@ public class SvdDevice {
 		mWidth = width;
 		mCpu = cpu;
 		mPeripherals = periphs;
+		mParseStatistics = parseStatistics;
+		mDiagnostics = diagnostics;
 	}
 
 	/**
@@ -260,14 +386,194 @@ public class SvdDevice {
 	/**
 	 * Get the peripheral list of the device.
 	 *
-	 * @return A list of SvdPeripheral objects.
+	 * @return An unmodifiable list of SvdPeripheral objects.
 	 */
 	public List<SvdPeripheral> getPeripherals() {
 		return mPeripherals;
 	}
 
+	/**
+	 * Get the statistics collected while parsing this device.
+	 *
+	 * @return A SvdParseStatistics object, or null if the device was parsed
+	 *         without a {@link SvdParseListener}.
+	 */
+	public SvdParseStatistics getParseStatistics() {
+		return mParseStatistics;
+	}
+
+	/**
+	 * Get the format errors found while parsing this device in lenient mode. Each
+	 * of them caused an element to be skipped or a value to be defaulted.
+	 *
+	 * @return An unmodifiable list of SvdDiagnostic objects, empty for a strict
+	 *         parse.
+	 * @see SvdParseOptions#withLenient(boolean)
+	 */
+	public List<SvdDiagnostic> getDiagnostics() {
+		return mDiagnostics;
+	}
+
+	/**
+	 * Get the memory map of the device, built from the address blocks of its
+	 * peripherals. It is computed on first use and cached.
+	 *
+	 * @return A SvdMemoryMap object.
+	 */
+	public SvdMemoryMap getMemoryMap() {
+		SvdMemoryMap map = mMemoryMap;
+		if (map == null) {
+			map = SvdMemoryMap.fromDevice(this);
+			mMemoryMap = map;
+		}
+		return map;
+	}
+
+	/**
+	 * Get the content of the address blocks of a peripheral after reset, built
+	 * from the reset values of its registers and laid out with the address unit
+	 * and byte order of this device. Each image is built on first use and cached.
+	 *
+	 * @param peripheral A peripheral of this device.
+	 * @return A SvdResetImage object.
+	 * @throws IllegalArgumentException if the peripheral does not belong to this
+	 *                                  device.
+	 */
+	public SvdResetImage getResetImage(SvdPeripheral peripheral) {
+		int index = 0;
+		while (index < mPeripherals.size() && mPeripherals.get(index) != peripheral)
+			index++;
+		if (index == mPeripherals.size())
+			throw new IllegalArgumentException(
+					"Peripheral " + peripheral.getName() + " does not belong to this device!");
+		SvdResetImage[] images = mResetImages;
+		if (images == null) {
+			images = new SvdResetImage[mPeripherals.size()];
+			mResetImages = images;
+		}
+		SvdResetImage image = images[index];
+		if (image == null) {
+			image = SvdResetImage.fromPeripheral(this, peripheral);
+			images[index] = image;
+		}
+		return image;
+	}
+
+	/**
+	 * Get an estimate of the heap retained by this device, including every
+	 * object reachable from it. Shared objects are only counted once. Lazily
+	 * built caches that exist at the time of the call, such as the memory map or
+	 * reset images, are included.
+	 *
+	 * @return The retained size, in bytes.
+	 * @see #getMemoryUsage()
+	 */
+	public long estimateRetainedBytes() {
+		return getMemoryUsage().getTotalBytes();
+	}
+
+	/**
+	 * Get an estimate of the heap retained by this device, broken down by
+	 * peripheral and by category. The estimate is not cached: each call walks the
+	 * device again, so it covers the lazily built caches that exist at that time.
+	 *
+	 * @return A SvdMemoryUsage object.
+	 */
+	public SvdMemoryUsage getMemoryUsage() {
+		SvdMemoryEstimator e = new SvdMemoryEstimator();
+		e.add(this, SvdMemoryCategory.DEVICE);
+		e.addString(mVendor);
+		e.addString(mVendorID);
+		e.addString(mName);
+		e.addString(mSeries);
+		e.addString(mVersion);
+		e.addString(mDescription);
+		e.addString(mLicenseText);
+		e.addBoxed(mAddressUnitBits, SvdMemoryCategory.DEVICE);
+		e.addBoxed(mWidth, SvdMemoryCategory.DEVICE);
+		if (mCpu != null)
+			mCpu.estimateMemory(e);
+		if (mParseStatistics != null)
+			mParseStatistics.estimateMemory(e);
+		e.addList(mDiagnostics, SvdMemoryCategory.DEVICE);
+		for (SvdDiagnostic d : mDiagnostics)
+			d.estimateMemory(e);
+		e.add(mFingerprint, SvdMemoryCategory.DEVICE);
+		if (mMemoryMap != null)
+			mMemoryMap.estimateMemory(e);
+		e.addList(mPeripherals, SvdMemoryCategory.DEVICE);
+		SvdResetImage[] images = mResetImages;
+		if (images != null)
+			e.addArray(SvdMemoryCategory.DEVICE, images.length, SvdMemoryEstimator.REFERENCE);
+		long deviceBytes = e.getTotal();
+
+		// Reset images are counted with the peripheral they were built from
+		Map<String, Long> peripheralBytes = new LinkedHashMap<>();
+		for (int i = 0; i < mPeripherals.size(); i++) {
+			SvdPeripheral p = mPeripherals.get(i);
+			long before = e.getTotal();
+			p.estimateMemory(e);
+			SvdResetImage image = (images != null) ? images[i] : null;
+			if (image != null && e.add(image, SvdMemoryCategory.PERIPHERALS)) {
+				e.addArray(SvdMemoryCategory.PERIPHERALS, image.getSize(), 1);
+				e.addArray(SvdMemoryCategory.PERIPHERALS, image.getSize(), 1);
+			}
+			peripheralBytes.merge(p.getName(), e.getTotal() - before, Long::sum);
+		}
+		return new SvdMemoryUsage(e, deviceBytes, peripheralBytes);
+	}
+
+	/**
+	 * Get the structural fingerprint of the device, covering its CPU and
+	 * peripherals. Parse statistics are not part of the fingerprint. It is computed
+	 * on first use and cached.
+	 *
+	 * @return A SvdFingerprint object.
+	 */
+	public SvdFingerprint getFingerprint() {
+		SvdFingerprint fingerprint = mFingerprint;
+		if (fingerprint == null) {
+			SvdFingerprint.Hasher hasher = new SvdFingerprint.Hasher("device").putString(mVendor)
+					.putString(mVendorID).putString(mName).putString(mSeries).putString(mVersion)
+					.putString(mDescription).putString(mLicenseText).putInteger(mAddressUnitBits).putInteger(mWidth)
+					.putFingerprint((mCpu != null) ? mCpu.getFingerprint() : null).putInt(mPeripherals.size());
+			for (SvdPeripheral p : mPeripherals)
+				hasher.putFingerprint(p.getFingerprint());
+			fingerprint = hasher.finish();
+			mFingerprint = fingerprint;
+		}
+		return fingerprint;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdDevice))
+			return false;
+		return getFingerprint().equals(((SvdDevice) obj).getFingerprint());
+	}
+
+	@Override
+	public int hashCode() {
+		return getFingerprint().hashCode();
+	}
+
 	@Override
 	public String toString() {
+		return toString(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Get a string representation of the device limited in size. Peripherals
+	 * are appended until the limit is reached, so the temporary memory used does
+	 * not depend on the size of the device.
+	 *
+	 * @param maxLength Maximum length of the result.
+	 * @return A string of at most maxLength characters, ending in "..." when
+	 *         truncated.
+	 */
+	public String toString(int maxLength) {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SvdDevice{\n");
 		if (mVendor != null)
@@ -288,12 +594,15 @@ public class SvdDevice {
 			sb.append(" addressUnitBits=" + mAddressUnitBits + ",\n");
 		if (mWidth != null)
 			sb.append(" width=" + mWidth + ",\n");
-		sb.append(" cpu=" + mCpu.toString() + ",\n");
+		sb.append(" cpu=" + mCpu + ",\n");
 		sb.append(" periphs=[\n");
-		for (SvdPeripheral p : mPeripherals)
-			sb.append("  " + p.toString() + ",\n");
+		for (SvdPeripheral p : mPeripherals) {
+			if (sb.length() > maxLength)
+				break;
+			sb.append("  " + p.toString(maxLength - sb.length()) + ",\n");
+		}
 		sb.append(" ]\n");
 		sb.append("}");
-		return sb.toString();
+		return Utils.truncate(sb, maxLength);
 	}
 }
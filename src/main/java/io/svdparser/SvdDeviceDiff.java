@@ -0,0 +1,312 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * This class compares two versions of the register map of a device.
+ *
+ * <p>
+ * Subtrees are compared by their fingerprint ({@link SvdDevice#getFingerprint()}
+ * and friends) first, and only the peripherals, registers and fields whose
+ * fingerprint differs are inspected further. Peripherals, registers and fields
+ * are matched by name. Elements left unmatched are then matched by base address,
+ * offset and bit range respectively and reported as renames. Changes are
+ * streamed to a consumer as they are found.
+ * </p>
+ */
+public class SvdDeviceDiff {
+	private final Consumer<SvdChange> mConsumer;
+	private int mCount;
+
+	private SvdDeviceDiff(Consumer<SvdChange> consumer) {
+		mConsumer = consumer;
+	}
+
+	/**
+	 * Compare two devices and report the changes.
+	 *
+	 * @param oldDevice The reference device.
+	 * @param newDevice The device to compare against the reference.
+	 * @param consumer  The receiver of the changes.
+	 * @return The number of changes.
+	 */
+	public static int compare(SvdDevice oldDevice, SvdDevice newDevice, Consumer<SvdChange> consumer) {
+		SvdDeviceDiff diff = new SvdDeviceDiff(consumer);
+		diff.compareDevices(oldDevice, newDevice);
+		return diff.mCount;
+	}
+
+	/**
+	 * Compare two devices.
+	 *
+	 * @param oldDevice The reference device.
+	 * @param newDevice The device to compare against the reference.
+	 * @return A list of SvdChange objects, in the order they were found.
+	 */
+	public static List<SvdChange> compare(SvdDevice oldDevice, SvdDevice newDevice) {
+		List<SvdChange> changes = new ArrayList<>();
+		compare(oldDevice, newDevice, changes::add);
+		return changes;
+	}
+
+	private void compareDevices(SvdDevice o, SvdDevice n) {
+		if (o.getFingerprint().equals(n.getFingerprint()))
+			return;
+		if (!Objects.equals(o.getVendor(), n.getVendor()) || !Objects.equals(o.getVendorID(), n.getVendorID())
+				|| !Objects.equals(o.getName(), n.getName()) || !Objects.equals(o.getSeries(), n.getSeries())
+				|| !Objects.equals(o.getVersion(), n.getVersion())
+				|| !Objects.equals(o.getDescription(), n.getDescription())
+				|| !Objects.equals(o.getLicenseText(), n.getLicenseText())
+				|| !Objects.equals(o.getAddressUnitBits(), n.getAddressUnitBits())
+				|| !Objects.equals(o.getWidth(), n.getWidth()) || !Objects.equals(o.getCpu(), n.getCpu()))
+			emit(SvdChangeType.DEVICE_MODIFIED, null, null, null, null, null, null);
+
+		new Matcher<SvdPeripheral>() {
+			@Override
+			String getName(SvdPeripheral p) {
+				return p.getName();
+			}
+
+			@Override
+			Object getKey(SvdPeripheral p) {
+				return p.getBaseAddr();
+			}
+
+			@Override
+			void matched(SvdPeripheral op, SvdPeripheral np, boolean renamed) {
+				if (renamed)
+					emit(SvdChangeType.PERIPHERAL_RENAMED, op, np, null, null, null, null);
+				comparePeripherals(op, np);
+			}
+
+			@Override
+			void added(SvdPeripheral np) {
+				emit(SvdChangeType.PERIPHERAL_ADDED, null, np, null, null, null, null);
+			}
+
+			@Override
+			void removed(SvdPeripheral op) {
+				emit(SvdChangeType.PERIPHERAL_REMOVED, op, null, null, null, null, null);
+			}
+		}.match(o.getPeripherals(), n.getPeripherals());
+	}
+
+	private void comparePeripherals(SvdPeripheral op, SvdPeripheral np) {
+		if (op.getFingerprint().equals(np.getFingerprint()))
+			return;
+		if (!Objects.equals(op.getBaseAddr(), np.getBaseAddr()))
+			emit(SvdChangeType.PERIPHERAL_MOVED, op, np, null, null, null, null);
+		if (!Objects.equals(op.getVersion(), np.getVersion())
+				|| !Objects.equals(op.getDescription(), np.getDescription())
+				|| !Objects.equals(op.getGroupName(), np.getGroupName())
+				|| !Objects.equals(op.getAlternatePeripheral(), np.getAlternatePeripheral())
+				|| !op.getAddressBlocks().equals(np.getAddressBlocks())
+				|| !op.getInterrupts().equals(np.getInterrupts())
+				|| !sameClusters(op.getClusters(), np.getClusters()))
+			emit(SvdChangeType.PERIPHERAL_MODIFIED, op, np, null, null, null, null);
+
+		new Matcher<SvdRegister>() {
+			@Override
+			String getName(SvdRegister r) {
+				return r.getName();
+			}
+
+			@Override
+			Object getKey(SvdRegister r) {
+				return r.getOffset();
+			}
+
+			@Override
+			void matched(SvdRegister or, SvdRegister nr, boolean renamed) {
+				if (renamed)
+					emit(SvdChangeType.REGISTER_RENAMED, op, np, or, nr, null, null);
+				compareRegisters(op, np, or, nr);
+			}
+
+			@Override
+			void added(SvdRegister nr) {
+				emit(SvdChangeType.REGISTER_ADDED, op, np, null, nr, null, null);
+			}
+
+			@Override
+			void removed(SvdRegister or) {
+				emit(SvdChangeType.REGISTER_REMOVED, op, np, or, null, null, null);
+			}
+		}.match(op.getRegisters(), np.getRegisters());
+	}
+
+	/**
+	 * Compare the shape of two cluster trees. Registers are left out, their
+	 * changes are reported at register level.
+	 */
+	private static boolean sameClusters(List<SvdCluster> oldClusters, List<SvdCluster> newClusters) {
+		if (oldClusters.size() != newClusters.size())
+			return false;
+		for (int i = 0; i < oldClusters.size(); i++) {
+			SvdCluster oc = oldClusters.get(i);
+			SvdCluster nc = newClusters.get(i);
+			if (!Objects.equals(oc.getName(), nc.getName())
+					|| !Objects.equals(oc.getDescription(), nc.getDescription())
+					|| oc.getLocalOffset() != nc.getLocalOffset() || !sameClusters(oc.getClusters(), nc.getClusters()))
+				return false;
+		}
+		return true;
+	}
+
+	private void compareRegisters(SvdPeripheral op, SvdPeripheral np, SvdRegister or, SvdRegister nr) {
+		if (or.getFingerprint().equals(nr.getFingerprint()))
+			return;
+		if (or.getAbsoluteOffset() != nr.getAbsoluteOffset())
+			emit(SvdChangeType.REGISTER_MOVED, op, np, or, nr, null, null);
+		if (!Objects.equals(or.getSize(), nr.getSize()))
+			emit(SvdChangeType.REGISTER_RESIZED, op, np, or, nr, null, null);
+		if (or.getAccess() != nr.getAccess())
+			emit(SvdChangeType.REGISTER_ACCESS_CHANGED, op, np, or, nr, null, null);
+		if (!Objects.equals(or.getDescription(), nr.getDescription())
+				|| !Objects.equals(or.getResetValue(), nr.getResetValue())
+				|| !Objects.equals(or.getResetMask(), nr.getResetMask())
+				|| !Objects.equals(or.getAlternateGroup(), nr.getAlternateGroup())
+				|| !Objects.equals(or.getAlternateRegister(), nr.getAlternateRegister())
+				|| or.getModifiedWriteValues() != nr.getModifiedWriteValues()
+				|| or.getReadAction() != nr.getReadAction()
+				|| !Objects.equals(or.getWriteConstraint(), nr.getWriteConstraint()))
+			emit(SvdChangeType.REGISTER_MODIFIED, op, np, or, nr, null, null);
+
+		new Matcher<SvdField>() {
+			@Override
+			String getName(SvdField f) {
+				return f.getName();
+			}
+
+			@Override
+			Object getKey(SvdField f) {
+				return f.getBitRange();
+			}
+
+			@Override
+			void matched(SvdField of, SvdField nf, boolean renamed) {
+				if (renamed)
+					emit(SvdChangeType.FIELD_RENAMED, op, np, or, nr, of, nf);
+				compareFields(op, np, or, nr, of, nf);
+			}
+
+			@Override
+			void added(SvdField nf) {
+				emit(SvdChangeType.FIELD_ADDED, op, np, or, nr, null, nf);
+			}
+
+			@Override
+			void removed(SvdField of) {
+				emit(SvdChangeType.FIELD_REMOVED, op, np, or, nr, of, null);
+			}
+		}.match(or.getFields(), nr.getFields());
+	}
+
+	private void compareFields(SvdPeripheral op, SvdPeripheral np, SvdRegister or, SvdRegister nr, SvdField of,
+			SvdField nf) {
+		if (of.getFingerprint().equals(nf.getFingerprint()))
+			return;
+		if (!Objects.equals(of.getBitOffset(), nf.getBitOffset())
+				|| !Objects.equals(of.getBitWidth(), nf.getBitWidth()))
+			emit(SvdChangeType.FIELD_BIT_RANGE_CHANGED, op, np, or, nr, of, nf);
+		if (of.getAccess() != nf.getAccess())
+			emit(SvdChangeType.FIELD_ACCESS_CHANGED, op, np, or, nr, of, nf);
+		if (!Objects.equals(of.getEnumeratedValues(), nf.getEnumeratedValues()))
+			emit(SvdChangeType.FIELD_ENUM_CHANGED, op, np, or, nr, of, nf);
+		if (!Objects.equals(of.getDescription(), nf.getDescription())
+				|| of.getModifiedWriteValues() != nf.getModifiedWriteValues()
+				|| of.getReadAction() != nf.getReadAction()
+				|| !Objects.equals(of.getWriteConstraint(), nf.getWriteConstraint()))
+			emit(SvdChangeType.FIELD_MODIFIED, op, np, or, nr, of, nf);
+	}
+
+	private void emit(SvdChangeType type, SvdPeripheral op, SvdPeripheral np, SvdRegister or, SvdRegister nr,
+			SvdField of, SvdField nf) {
+		mCount++;
+		mConsumer.accept(new SvdChange(type, op, np, or, nr, of, nf));
+	}
+
+	/**
+	 * Pairs the elements of two lists. Equal elements at the start and at the end
+	 * of both lists are skipped without further inspection. The rest are paired
+	 * by name first and by key second.
+	 */
+	private abstract static class Matcher<T> {
+		abstract String getName(T item);
+
+		abstract Object getKey(T item);
+
+		abstract void matched(T oldItem, T newItem, boolean renamed);
+
+		abstract void added(T newItem);
+
+		abstract void removed(T oldItem);
+
+		void match(List<T> oldItems, List<T> newItems) {
+			if (oldItems == null)
+				oldItems = List.of();
+			if (newItems == null)
+				newItems = List.of();
+
+			int start = 0;
+			int oldEnd = oldItems.size();
+			int newEnd = newItems.size();
+			while (start < oldEnd && start < newEnd && oldItems.get(start).equals(newItems.get(start)))
+				start++;
+			while (oldEnd > start && newEnd > start && oldItems.get(oldEnd - 1).equals(newItems.get(newEnd - 1))) {
+				oldEnd--;
+				newEnd--;
+			}
+			if (start == oldEnd && start == newEnd)
+				return;
+
+			boolean[] used = new boolean[oldEnd - start];
+			Map<String, Integer> byName = new HashMap<>();
+			for (int i = start; i < oldEnd; i++)
+				byName.putIfAbsent(getName(oldItems.get(i)), i);
+			List<T> unmatched = new ArrayList<>();
+			for (int i = start; i < newEnd; i++) {
+				T item = newItems.get(i);
+				Integer index = byName.remove(getName(item));
+				if (index != null) {
+					used[index - start] = true;
+					matched(oldItems.get(index), item, false);
+				} else {
+					unmatched.add(item);
+				}
+			}
+
+			if (!unmatched.isEmpty()) {
+				Map<Object, Integer> byKey = new HashMap<>();
+				for (int i = start; i < oldEnd; i++) {
+					Object key = getKey(oldItems.get(i));
+					if (!used[i - start] && key != null)
+						byKey.putIfAbsent(key, i);
+				}
+				for (T item : unmatched) {
+					Object key = getKey(item);
+					Integer index = (key != null) ? byKey.remove(key) : null;
+					if (index != null) {
+						used[index - start] = true;
+						matched(oldItems.get(index), item, true);
+					} else {
+						added(item);
+					}
+				}
+			}
+
+			for (int i = start; i < oldEnd; i++)
+				if (!used[i - start])
+					removed(oldItems.get(i));
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * A problem found in a device description.
+ */
+public class SvdDiagnostic {
+	private final SvdSeverity mSeverity;
+	private final String mCode;
+	private final String mPath;
+	private final String mMessage;
+
+	SvdDiagnostic(SvdSeverity severity, String code, String path, String message) {
+		mSeverity = severity;
+		mCode = code;
+		mPath = path;
+		mMessage = message;
+	}
+
+	/**
+	 * Account the memory retained by this object.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.DEVICE))
+			return;
+		e.addString(mCode);
+		e.addString(mPath);
+		e.addString(mMessage);
+	}
+
+	/**
+	 * Get the diagnostic severity.
+	 *
+	 * @return The severity.
+	 */
+	public SvdSeverity getSeverity() {
+		return mSeverity;
+	}
+
+	/**
+	 * Get the identifier of the check that produced the diagnostic, such as
+	 * "register-overlap". It can be used to filter diagnostics.
+	 *
+	 * @return The check identifier.
+	 */
+	public String getCode() {
+		return mCode;
+	}
+
+	/**
+	 * Get the path of the affected element. Validation diagnostics use a dotted
+	 * path such as "TIMER0.CR.EN", while diagnostics of a lenient parse use the
+	 * document path such as "peripherals/peripheral[TIMER0]/registers/register[CR]".
+	 *
+	 * @return The element path, or an empty string for device level diagnostics.
+	 */
+	public String getPath() {
+		return mPath;
+	}
+
+	/**
+	 * Get a human readable description of the problem.
+	 *
+	 * @return The diagnostic message.
+	 */
+	public String getMessage() {
+		return mMessage;
+	}
+
+	@Override
+	public String toString() {
+		return mSeverity + " [" + mCode + "] " + mPath + ": " + mMessage;
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.w3c.dom.Element;
+
+/**
+ * This class describes an array of peripherals, clusters or registers declared
+ * with the {@code <dim>} element. Every expanded instance keeps a reference to
+ * the same SvdDim object and its own index, so the original declaration can be
+ * reconstructed.
+ *
+ * <p>
+ * The name pattern is split around its {@code %s} placeholder once, so element
+ * names are built by concatenating the pattern with the index labels. Labels
+ * are taken from {@code <dimIndex>}, either a comma separated list such as
+ * {@code A,B,C} or a range such as {@code 0-7} or {@code A-D}, and default to
+ * the element position. Names using the array form {@code [%s]} always use the
+ * element position.
+ * </p>
+ */
+public class SvdDim {
+	private final int mDim;
+	private final long mDimIncrement;
+	private final String mName;
+	private final String mDimName;
+	private final String[] mIndexes;
+	private final String mPrefix;
+	private final String mSuffix;
+
+	/**
+	 * Parse the array declaration of a peripheral, cluster or register element.
+	 *
+	 * @param el   The DOM element holding the dim elements.
+	 * @param name The name pattern of the element.
+	 * @return A SvdDim object, or null if the element is not an array.
+	 * @throws SvdParserException on SVD format errors.
+	 */
+	static SvdDim fromElement(Element el, String name) throws SvdParserException {
+		Element dimElement = Utils.getSingleFirstOrderChildElementByTagName(el, "dim");
+		if (dimElement == null)
+			return null;
+		int dim = Integer.decode(dimElement.getTextContent().trim());
+		Element dimIncrementElement = Utils.getSingleFirstOrderChildElementByTagName(el, "dimIncrement");
+		long dimIncrement = (dimIncrementElement != null) ? Long.decode(dimIncrementElement.getTextContent().trim())
+				: 0;
+		Element dimNameElement = Utils.getSingleFirstOrderChildElementByTagName(el, "dimName");
+		String dimName = (dimNameElement != null) ? dimNameElement.getTextContent() : null;
+
+		String[] indexes = null;
+		Element dimIndexElement = Utils.getSingleFirstOrderChildElementByTagName(el, "dimIndex");
+		if (dimIndexElement != null && !name.contains("[%s]")) {
+			indexes = parseIndexes(dimIndexElement.getTextContent().trim());
+			if (indexes.length != dim)
+				throw new SvdParserException("The dimIndex of " + name + " has " + indexes.length
+						+ " elements but dim is " + dim + "!");
+		}
+		return new SvdDim(dim, dimIncrement, name, dimName, indexes);
+	}
+
+	/**
+	 * Parse a dimIndex value into a list of labels.
+	 */
+	private static String[] parseIndexes(String text) throws SvdParserException {
+		int dash = text.indexOf('-');
+		if (dash > 0 && text.indexOf(',') < 0) {
+			String first = text.substring(0, dash).trim();
+			String last = text.substring(dash + 1).trim();
+			if (first.length() == 1 && last.length() == 1 && Character.isLetter(first.charAt(0))
+					&& Character.isLetter(last.charAt(0))) {
+				char from = first.charAt(0);
+				char to = last.charAt(0);
+				if (to < from)
+					throw new SvdParserException("Invalid dimIndex range " + text + "!");
+				String[] indexes = new String[to - from + 1];
+				for (char c = from; c <= to; c++)
+					indexes[c - from] = String.valueOf(c);
+				return indexes;
+			}
+			try {
+				int from = Integer.parseInt(first);
+				int to = Integer.parseInt(last);
+				if (to < from)
+					throw new SvdParserException("Invalid dimIndex range " + text + "!");
+				String[] indexes = new String[to - from + 1];
+				for (int i = from; i <= to; i++)
+					indexes[i - from] = Integer.toString(i);
+				return indexes;
+			} catch (NumberFormatException e) {
+				throw new SvdParserException("Invalid dimIndex range " + text + "!");
+			}
+		}
+		List<String> indexes = new ArrayList<>();
+		for (String index : text.split(","))
+			indexes.add(index.trim());
+		return indexes.toArray(new String[0]);
+	}
+
+	private SvdDim(int dim, long dimIncrement, String name, String dimName, String[] indexes) {
+		mDim = dim;
+		mDimIncrement = dimIncrement;
+		mName = name;
+		mDimName = dimName;
+		mIndexes = indexes;
+		int placeholder = name.indexOf("%s");
+		mPrefix = (placeholder >= 0) ? name.substring(0, placeholder) : name;
+		mSuffix = (placeholder >= 0) ? name.substring(placeholder + 2) : null;
+	}
+
+	/**
+	 * Account the memory retained by this object in the category of the array
+	 * elements.
+	 */
+	void estimateMemory(SvdMemoryEstimator e, SvdMemoryCategory category) {
+		if (!e.add(this, category))
+			return;
+		e.addString(mName);
+		e.addString(mDimName);
+		e.addString(mPrefix);
+		e.addString(mSuffix);
+		if (mIndexes != null) {
+			e.addArray(category, mIndexes.length, SvdMemoryEstimator.REFERENCE);
+			for (String index : mIndexes)
+				e.addString(index);
+		}
+	}
+
+	/**
+	 * Get the name of one of the array elements, replacing the {@code %s}
+	 * placeholder of the pattern with the element index label.
+	 *
+	 * @param index Element position, between 0 and {@link #getDim()}.
+	 * @return The element name.
+	 */
+	public String getElementName(int index) {
+		if (mSuffix == null)
+			return mName;
+		return mPrefix.concat(getIndex(index)).concat(mSuffix);
+	}
+
+	/**
+	 * Get the label of one of the array elements, as used in its name.
+	 *
+	 * @param index Element position, between 0 and {@link #getDim()}.
+	 * @return The dimIndex label of the element, or its position if no dimIndex
+	 *         is declared.
+	 */
+	public String getIndex(int index) {
+		return (mIndexes != null) ? mIndexes[index] : Integer.toString(index);
+	}
+
+	/**
+	 * Get the labels declared with {@code <dimIndex>}.
+	 *
+	 * @return An unmodifiable list of labels, or null if no dimIndex is declared.
+	 */
+	public List<String> getIndexes() {
+		return (mIndexes != null) ? List.of(mIndexes) : null;
+	}
+
+	/**
+	 * Get the number of elements of the array.
+	 *
+	 * @return The dim value.
+	 */
+	public int getDim() {
+		return mDim;
+	}
+
+	/**
+	 * Get the address distance between consecutive elements.
+	 *
+	 * @return The address increment, in address units.
+	 */
+	public long getDimIncrement() {
+		return mDimIncrement;
+	}
+
+	/**
+	 * Get the unexpanded name of the elements, such as "CH%s".
+	 *
+	 * @return The name pattern.
+	 */
+	public String getName() {
+		return mName;
+	}
+
+	/**
+	 * Get the name of the type shared by the array elements, as declared with
+	 * {@code <dimName>}.
+	 *
+	 * @return The dimName value, or null if not specified.
+	 */
+	public String getDimName() {
+		return mDimName;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SvdDim{name=\"" + mName + "\", dim=" + mDim + ", dimIncrement=0x" + Long.toHexString(mDimIncrement));
+		if (mIndexes != null)
+			sb.append(", dimIndex=" + Arrays.toString(mIndexes));
+		if (mDimName != null)
+			sb.append(", dimName=\"" + mDimName + "\"");
+		sb.append("}");
+		return sb.toString();
+	}
+}
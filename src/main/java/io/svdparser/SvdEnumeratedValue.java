@@ -12,10 +12,11 @@ import org.w3c.dom.Element;
  * a specific numeric value that the field can hold.
  */
 public class SvdEnumeratedValue {
-	private String mName;
-	private String mDescription;
-	private Long mValue;
-	private Boolean mIsDefault;
+	private final String mName;
+	private final String mDescription;
+	private final Long mValue;
+	private final Boolean mIsDefault;
+	private SvdFingerprint mFingerprint;
 
 	/**
 	 * Create an SvdEnumeratedValue from a DOM element.
@@ -25,19 +26,23 @@ public class SvdEnumeratedValue {
 	 * @throws SvdParserException on SVD format errors.
 	 */
 	public static SvdEnumeratedValue fromElement(Element el) throws SvdParserException {
+		return fromElement(el, new SvdParseContext());
+	}
+
+	static SvdEnumeratedValue fromElement(Element el, SvdParseContext ctx) throws SvdParserException {
 		if (el == null)
 			return null;
 
 		if (!el.getNodeName().equals("enumeratedValue"))
 			throw new SvdParserException("Cannot build an SvdEnumeratedValue from a " + el.getNodeName() + " node!");
 
-		Element nameElement = Utils.getSingleFirstOrderChildElementByTagName(el, "name");
-		String name = nameElement.getTextContent();
+		Element nameElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "name");
+		String name = ctx.getText(nameElement);
 
 		String description = null;
 		Element descriptionElement = Utils.getSingleFirstOrderChildElementByTagName(el, "description");
 		if (descriptionElement != null)
-			description = descriptionElement.getTextContent();
+			description = ctx.getText(descriptionElement);
 
 		Long value = null;
 		Element valueElement = Utils.getSingleFirstOrderChildElementByTagName(el, "value");
@@ -95,6 +100,49 @@ public class SvdEnumeratedValue {
 		return mIsDefault;
 	}
 
+	/**
+	 * Account the memory retained by this object and everything it references.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.ENUMERATED_VALUES))
+			return;
+		e.addString(mName);
+		e.addString(mDescription);
+		e.addBoxed(mValue, SvdMemoryCategory.ENUMERATED_VALUES);
+		e.addBoxed(mIsDefault, SvdMemoryCategory.ENUMERATED_VALUES);
+		e.add(mFingerprint, SvdMemoryCategory.ENUMERATED_VALUES);
+	}
+
+	/**
+	 * Get the structural fingerprint of the enumerated value. It is computed on
+	 * first use and cached.
+	 *
+	 * @return A SvdFingerprint object.
+	 */
+	public SvdFingerprint getFingerprint() {
+		SvdFingerprint fingerprint = mFingerprint;
+		if (fingerprint == null) {
+			fingerprint = new SvdFingerprint.Hasher("enumeratedValue").putString(mName).putString(mDescription)
+					.putLong(mValue).putBoolean(mIsDefault).finish();
+			mFingerprint = fingerprint;
+		}
+		return fingerprint;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdEnumeratedValue))
+			return false;
+		return getFingerprint().equals(((SvdEnumeratedValue) obj).getFingerprint());
+	}
+
+	@Override
+	public int hashCode() {
+		return getFingerprint().hashCode();
+	}
+
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SvdEnumeratedValue{name=\"" + mName + "\"");
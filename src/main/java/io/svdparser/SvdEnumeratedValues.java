@@ -18,9 +18,10 @@ import org.w3c.dom.Element;
  */
 public class SvdEnumeratedValues {
 
-	private String mName;
-	private SvdEnumeratedValuesUsage mUsage;
-	private List<SvdEnumeratedValue> mValues;
+	private final String mName;
+	private final SvdEnumeratedValuesUsage mUsage;
+	private final List<SvdEnumeratedValue> mValues;
+	private SvdFingerprint mFingerprint;
 
 	/**
 	 * Create an {@link SvdEnumeratedValues} from a DOM element.
@@ -30,16 +31,22 @@ public class SvdEnumeratedValues {
 	 * @throws SvdParserException on SVD format errors.
 	 */
 	public static SvdEnumeratedValues fromElement(Element el) throws SvdParserException {
+		return fromElement(el, new SvdParseContext());
+	}
+
+	static SvdEnumeratedValues fromElement(Element el, SvdParseContext ctx) throws SvdParserException {
 		if (el == null)
 			return null;
 
 		if (!el.getNodeName().equals("enumeratedValues"))
 			throw new SvdParserException("Cannot build an SvdEnumeratedValues from a " + el.getNodeName() + " node!");
 
+		ctx.enter(SvdParsePhase.ENUMERATED_VALUES);
+
 		String name = null;
 		Element nameElement = Utils.getSingleFirstOrderChildElementByTagName(el, "name");
 		if (nameElement != null)
-			name = nameElement.getTextContent();
+			name = ctx.getText(nameElement);
 
 		SvdEnumeratedValuesUsage usage = SvdEnumeratedValuesUsage.READ_WRITE;
 		Element usageElement = Utils.getSingleFirstOrderChildElementByTagName(el, "usage");
@@ -47,10 +54,16 @@ public class SvdEnumeratedValues {
 			usage = SvdEnumeratedValuesUsage.fromString(usageElement.getTextContent());
 
 		List<SvdEnumeratedValue> values = new ArrayList<>();
-		for (Element valueElement : Utils.getFirstOrderChildElementsByTagName(el, "enumeratedValue"))
-			values.add(SvdEnumeratedValue.fromElement(valueElement));
+		for (Element valueElement : Utils.getFirstOrderChildElementsByTagName(el, "enumeratedValue")) {
+			SvdEnumeratedValue value = ctx.parseElement(valueElement, null,
+					() -> SvdEnumeratedValue.fromElement(valueElement, ctx));
+			if (value != null)
+				values.add(value);
+		}
 
-		return new SvdEnumeratedValues(name, usage, values);
+		ctx.count(SvdParsePhase.ENUMERATED_VALUES, values.size());
+		ctx.exit();
+		return new SvdEnumeratedValues(name, usage, List.copyOf(values));
 	}
 
 	private SvdEnumeratedValues(String name, SvdEnumeratedValuesUsage usage, List<SvdEnumeratedValue> values) {
@@ -80,12 +93,58 @@ public class SvdEnumeratedValues {
 	/**
 	 * Get the list of enumerated values in this group.
 	 *
-	 * @return A non-null list of {@link SvdEnumeratedValue} objects.
+	 * @return A non-null, unmodifiable list of {@link SvdEnumeratedValue} objects.
 	 */
 	public List<SvdEnumeratedValue> getValues() {
 		return mValues;
 	}
 
+	/**
+	 * Account the memory retained by this object and everything it references.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.ENUMERATED_VALUES))
+			return;
+		e.addString(mName);
+		e.addList(mValues, SvdMemoryCategory.ENUMERATED_VALUES);
+		for (SvdEnumeratedValue ev : mValues)
+			ev.estimateMemory(e);
+		e.add(mFingerprint, SvdMemoryCategory.ENUMERATED_VALUES);
+	}
+
+	/**
+	 * Get the structural fingerprint of the enumerated value group, covering all of
+	 * its values. It is computed on first use and cached.
+	 *
+	 * @return A SvdFingerprint object.
+	 */
+	public SvdFingerprint getFingerprint() {
+		SvdFingerprint fingerprint = mFingerprint;
+		if (fingerprint == null) {
+			SvdFingerprint.Hasher hasher = new SvdFingerprint.Hasher("enumeratedValues").putString(mName)
+					.putEnum(mUsage).putInt(mValues.size());
+			for (SvdEnumeratedValue ev : mValues)
+				hasher.putFingerprint(ev.getFingerprint());
+			fingerprint = hasher.finish();
+			mFingerprint = fingerprint;
+		}
+		return fingerprint;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdEnumeratedValues))
+			return false;
+		return getFingerprint().equals(((SvdEnumeratedValues) obj).getFingerprint());
+	}
+
+	@Override
+	public int hashCode() {
+		return getFingerprint().hashCode();
+	}
+
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SvdEnumeratedValues{usage=\"" + mUsage.getSvdValue() + "\"");
@@ -17,12 +17,16 @@ import org.w3c.dom.Element;
 public class SvdField {
 	private static final Pattern BIT_RANGE_PATTERN = Pattern.compile("\\[(\\d+):(\\d+)\\]");
 
-	private String mName;
-	private String mDescription;
-	private Integer mBitOffset;
-	private Integer mBitWidth;
-	private SvdAccess mAccess;
-	private List<SvdEnumeratedValues> mEnumeratedValues;
+	private final String mName;
+	private final String mDescription;
+	private final Integer mBitOffset;
+	private final Integer mBitWidth;
+	private final SvdAccess mAccess;
+	private final SvdModifiedWriteValues mModifiedWriteValues;
+	private final SvdReadAction mReadAction;
+	private final SvdWriteConstraint mWriteConstraint;
+	private final List<SvdEnumeratedValues> mEnumeratedValues;
+	private SvdFingerprint mFingerprint;
 
 	/**
 	 * Create an SvdField from a DOM element.
@@ -33,6 +37,11 @@ public class SvdField {
 	 * @throws SvdParserException on SVD format errors.
 	 */
 	public static SvdField fromElement(Element el, SvdAccess defaultAccess) throws SvdParserException {
+		return fromElement(el, defaultAccess, null, null, new SvdParseContext());
+	}
+
+	static SvdField fromElement(Element el, SvdAccess defaultAccess, SvdModifiedWriteValues defaultModifiedWriteValues,
+			SvdReadAction defaultReadAction, SvdParseContext ctx) throws SvdParserException {
 		// Element null check
 		if (el == null)
 			return null;
@@ -41,15 +50,17 @@ public class SvdField {
 		if (!el.getNodeName().equals("field"))
 			throw new SvdParserException("Cannot build an SvdField from a " + el.getNodeName() + " node!");
 
+		ctx.enter(SvdParsePhase.FIELD);
+
 		// Get name
-		Element nameElement = Utils.getSingleFirstOrderChildElementByTagName(el, "name");
-		String name = nameElement.getTextContent();
+		Element nameElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "name");
+		String name = ctx.getText(nameElement);
 
 		// Get description
 		String description = null;
 		Element descriptionElement = Utils.getSingleFirstOrderChildElementByTagName(el, "description");
 		if (descriptionElement != null)
-			description = descriptionElement.getTextContent();
+			description = ctx.getText(descriptionElement);
 
 		// Bit positioning can be specified in three ways: bitRangeLsbMsbStyle,
 		// bitRangeOffsetWidthStyle, bitRangePattern
@@ -94,30 +105,50 @@ public class SvdField {
 		}
 
 		// Parse access
-		SvdAccess access = defaultAccess;
 		Element accessElement = Utils.getSingleFirstOrderChildElementByTagName(el, "access");
-		if (accessElement != null)
-			access = SvdAccess.fromString(accessElement.getTextContent());
+		SvdAccess access = ctx.parseAccess(accessElement, defaultAccess);
+
+		// Parse write and read side effects, inherited from the register
+		Element modifiedWriteValuesElement = Utils.getSingleFirstOrderChildElementByTagName(el,
+				"modifiedWriteValues");
+		SvdModifiedWriteValues modifiedWriteValues = ctx.parseModifiedWriteValues(modifiedWriteValuesElement,
+				defaultModifiedWriteValues);
+		Element readActionElement = Utils.getSingleFirstOrderChildElementByTagName(el, "readAction");
+		SvdReadAction readAction = ctx.parseReadAction(readActionElement, defaultReadAction);
+		Element writeConstraintElement = Utils.getSingleFirstOrderChildElementByTagName(el, "writeConstraint");
+		SvdWriteConstraint writeConstraint = ctx.parseElement(writeConstraintElement, null,
+				() -> SvdWriteConstraint.fromElement(writeConstraintElement));
 
 		// Parse enumeratedValues (a field may have up to two blocks: one for read, one
 		// for write)
 		List<SvdEnumeratedValues> enumeratedValues = null;
 		for (Element evsElement : Utils.getFirstOrderChildElementsByTagName(el, "enumeratedValues")) {
+			SvdEnumeratedValues evs = ctx.parseElement(evsElement, null,
+					() -> SvdEnumeratedValues.fromElement(evsElement, ctx));
+			if (evs == null)
+				continue;
 			if (enumeratedValues == null)
 				enumeratedValues = new ArrayList<>();
-			enumeratedValues.add(SvdEnumeratedValues.fromElement(evsElement));
+			enumeratedValues.add(evs);
 		}
 
-		return new SvdField(name, description, bitOffset, bitWidth, access, enumeratedValues);
+		ctx.count(SvdParsePhase.FIELD, 1);
+		ctx.exit();
+		return new SvdField(name, description, bitOffset, bitWidth, access, modifiedWriteValues, readAction,
+				writeConstraint, (enumeratedValues != null) ? List.copyOf(enumeratedValues) : null);
 	}
 
 	private SvdField(String name, String description, Integer bitOffset, Integer bitWidth, SvdAccess access,
+			SvdModifiedWriteValues modifiedWriteValues, SvdReadAction readAction, SvdWriteConstraint writeConstraint,
 			List<SvdEnumeratedValues> enumeratedValues) {
 		mName = name;
 		mDescription = description;
 		mBitOffset = bitOffset;
 		mBitWidth = bitWidth;
 		mAccess = access;
+		mModifiedWriteValues = modifiedWriteValues;
+		mReadAction = readAction;
+		mWriteConstraint = writeConstraint;
 		mEnumeratedValues = enumeratedValues;
 	}
 
@@ -190,6 +221,30 @@ public class SvdField {
 		return "[" + msb + ":" + lsb + "]";
 	}
 
+	/**
+	 * Get the bit mask of the field within its register.
+	 *
+	 * @return The field mask, or 0 if the bit range is not specified.
+	 */
+	public long getMask() {
+		if (mBitOffset == null || mBitWidth == null)
+			return 0;
+		long mask = (mBitWidth >= 64) ? -1L : (1L << mBitWidth) - 1;
+		return mask << mBitOffset;
+	}
+
+	/**
+	 * Extract the value of this field from a register value.
+	 *
+	 * @param registerValue The value of the register containing this field.
+	 * @return The field value, shifted down to bit 0.
+	 */
+	public long extractValue(long registerValue) {
+		if (mBitOffset == null || mBitWidth == null)
+			return 0;
+		return (registerValue & getMask()) >>> mBitOffset;
+	}
+
 	/**
 	 * Get the access permission for this field.
 	 *
@@ -199,13 +254,67 @@ public class SvdField {
 		return mAccess;
 	}
 
+	/**
+	 * Get the effect of writes on this field.
+	 *
+	 * @return The {@link SvdModifiedWriteValues} value, or null if not specified.
+	 */
+	public SvdModifiedWriteValues getModifiedWriteValues() {
+		return mModifiedWriteValues;
+	}
+
+	/**
+	 * Get the side effect of reading this field.
+	 *
+	 * @return The {@link SvdReadAction} value, or null if reads have no side
+	 *         effects.
+	 */
+	public SvdReadAction getReadAction() {
+		return mReadAction;
+	}
+
+	/**
+	 * Get the constraint on the values that may be written to this field.
+	 *
+	 * @return The SvdWriteConstraint object, or null if not specified.
+	 */
+	public SvdWriteConstraint getWriteConstraint() {
+		return mWriteConstraint;
+	}
+
+	/**
+	 * Check whether a value may be written to this field according to its write
+	 * constraint.
+	 *
+	 * @param value The field value, shifted down to bit 0.
+	 * @return False if the value is outside of the constraint range or is not one
+	 *         of the writable enumerated values when these are required.
+	 */
+	public boolean isLegalValue(long value) {
+		if (mWriteConstraint == null)
+			return true;
+		if (!mWriteConstraint.isInRange(value))
+			return false;
+		if (!mWriteConstraint.isUseEnumeratedValues() || mEnumeratedValues == null)
+			return true;
+		for (SvdEnumeratedValues evs : mEnumeratedValues) {
+			if (evs.getUsage() == SvdEnumeratedValuesUsage.READ)
+				continue;
+			for (SvdEnumeratedValue ev : evs.getValues())
+				if ((ev.getValue() != null && ev.getValue() == value) || Boolean.TRUE.equals(ev.isDefault()))
+					return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Get the enumerated values groups for this field.
 	 *
-	 * @return A list of {@link SvdEnumeratedValues} groups, or {@code null} if none
-	 *         are defined. A field with no separate read/write semantics has one
-	 *         group with usage {@link SvdEnumeratedValuesUsage#READ_WRITE}; a field
-	 *         with split semantics has two groups, one with
+	 * @return An unmodifiable list of {@link SvdEnumeratedValues} groups, or
+	 *         {@code null} if none are defined. A field with no separate
+	 *         read/write semantics has one group with usage
+	 *         {@link SvdEnumeratedValuesUsage#READ_WRITE}; a field with split
+	 *         semantics has two groups, one with
 	 *         {@link SvdEnumeratedValuesUsage#READ} and one with
 	 *         {@link SvdEnumeratedValuesUsage#WRITE}.
 	 */
@@ -213,6 +322,91 @@ public class SvdField {
 		return mEnumeratedValues;
 	}
 
+	/**
+	 * Find the enumerated value describing a value read from this field. Only
+	 * groups applying to reads are searched. When no entry matches, the default
+	 * entry of the group is returned, if any.
+	 *
+	 * @param value The field value, shifted down to bit 0.
+	 * @return The matching {@link SvdEnumeratedValue}, or {@code null} if none
+	 *         matches.
+	 */
+	public SvdEnumeratedValue getEnumeratedValue(long value) {
+		if (mEnumeratedValues == null)
+			return null;
+		SvdEnumeratedValue fallback = null;
+		for (SvdEnumeratedValues evs : mEnumeratedValues) {
+			if (evs.getUsage() == SvdEnumeratedValuesUsage.WRITE)
+				continue;
+			for (SvdEnumeratedValue ev : evs.getValues()) {
+				if (ev.getValue() != null && ev.getValue() == value)
+					return ev;
+				if (fallback == null && Boolean.TRUE.equals(ev.isDefault()))
+					fallback = ev;
+			}
+		}
+		return fallback;
+	}
+
+	/**
+	 * Account the memory retained by this object and everything it references.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.FIELDS))
+			return;
+		e.addString(mName);
+		e.addString(mDescription);
+		e.addBoxed(mBitOffset, SvdMemoryCategory.FIELDS);
+		e.addBoxed(mBitWidth, SvdMemoryCategory.FIELDS);
+		if (mWriteConstraint != null)
+			mWriteConstraint.estimateMemory(e, SvdMemoryCategory.FIELDS);
+		if (mEnumeratedValues != null) {
+			e.addList(mEnumeratedValues, SvdMemoryCategory.ENUMERATED_VALUES);
+			for (SvdEnumeratedValues evs : mEnumeratedValues)
+				evs.estimateMemory(e);
+		}
+		e.add(mFingerprint, SvdMemoryCategory.FIELDS);
+	}
+
+	/**
+	 * Get the structural fingerprint of the field, covering its enumerated values.
+	 * It is computed on first use and cached.
+	 *
+	 * @return A SvdFingerprint object.
+	 */
+	public SvdFingerprint getFingerprint() {
+		SvdFingerprint fingerprint = mFingerprint;
+		if (fingerprint == null) {
+			SvdFingerprint.Hasher hasher = new SvdFingerprint.Hasher("field").putString(mName).putString(mDescription)
+					.putInteger(mBitOffset).putInteger(mBitWidth).putEnum(mAccess).putEnum(mModifiedWriteValues)
+					.putEnum(mReadAction);
+			if (mWriteConstraint != null)
+				mWriteConstraint.hash(hasher);
+			if (mEnumeratedValues != null) {
+				hasher.putInt(mEnumeratedValues.size());
+				for (SvdEnumeratedValues evs : mEnumeratedValues)
+					hasher.putFingerprint(evs.getFingerprint());
+			}
+			fingerprint = hasher.finish();
+			mFingerprint = fingerprint;
+		}
+		return fingerprint;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdField))
+			return false;
+		return getFingerprint().equals(((SvdField) obj).getFingerprint());
+	}
+
+	@Override
+	public int hashCode() {
+		return getFingerprint().hashCode();
+	}
+
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SvdField{name=\"" + mName + "\"");
@@ -225,6 +419,12 @@ public class SvdField {
 		}
 		if (mAccess != null)
 			sb.append(", access=\"" + mAccess.getSvdValue() + "\"");
+		if (mModifiedWriteValues != null)
+			sb.append(", modifiedWriteValues=\"" + mModifiedWriteValues.getSvdValue() + "\"");
+		if (mReadAction != null)
+			sb.append(", readAction=\"" + mReadAction.getSvdValue() + "\"");
+		if (mWriteConstraint != null)
+			sb.append(", writeConstraint=" + mWriteConstraint);
 		if (mEnumeratedValues != null && !mEnumeratedValues.isEmpty()) {
 			sb.append(", enumeratedValues=[");
 			for (SvdEnumeratedValues evs : mEnumeratedValues)
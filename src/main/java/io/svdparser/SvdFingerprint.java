@@ -0,0 +1,138 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * A 128-bit content fingerprint. Two fingerprints are equal when they were
+ * computed from the same content; different content produces different
+ * fingerprints with overwhelming probability. Fingerprints are not
+ * cryptographically secure.
+ */
+public final class SvdFingerprint {
+	private final long mHigh;
+	private final long mLow;
+
+	SvdFingerprint(long high, long low) {
+		mHigh = high;
+		mLow = low;
+	}
+
+	/**
+	 * Get the upper 64 bits of the fingerprint.
+	 *
+	 * @return The upper half.
+	 */
+	public long getHigh() {
+		return mHigh;
+	}
+
+	/**
+	 * Get the lower 64 bits of the fingerprint.
+	 *
+	 * @return The lower half.
+	 */
+	public long getLow() {
+		return mLow;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdFingerprint))
+			return false;
+		SvdFingerprint other = (SvdFingerprint) obj;
+		return mHigh == other.mHigh && mLow == other.mLow;
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) mLow;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%016x%016x", mHigh, mLow);
+	}
+
+	/**
+	 * A streaming builder of fingerprints. Two independent 64-bit lanes are
+	 * updated with every input value and mixed on completion.
+	 */
+	static final class Hasher {
+		private static final long P1 = 0x9E3779B97F4A7C15L;
+		private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+
+		private long mH1 = 0x243F6A8885A308D3L;
+		private long mH2 = 0x13198A2E03707344L;
+
+		Hasher() {
+		}
+
+		/**
+		 * Create a hasher whose output depends on the kind of object being hashed,
+		 * so that different kinds of objects with the same content do not collide.
+		 */
+		Hasher(String type) {
+			putString(type);
+		}
+
+		Hasher putLong(long value) {
+			mH1 = Long.rotateLeft(mH1 ^ value, 29) * P1;
+			mH2 = Long.rotateLeft(mH2 + value, 37) * P2;
+			return this;
+		}
+
+		Hasher putInt(int value) {
+			return putLong(value);
+		}
+
+		Hasher putBoolean(boolean value) {
+			return putLong(value ? 1 : 2);
+		}
+
+		Hasher putBoolean(Boolean value) {
+			return (value == null) ? putLong(0) : putBoolean(value.booleanValue());
+		}
+
+		Hasher putString(String value) {
+			if (value == null)
+				return putLong(-1);
+			int length = value.length();
+			for (int i = 0; i < length; i++)
+				putLong(value.charAt(i));
+			return putLong(length);
+		}
+
+		Hasher putInteger(Integer value) {
+			return (value == null) ? putLong(Long.MIN_VALUE) : putLong(value);
+		}
+
+		Hasher putLong(Long value) {
+			return (value == null) ? putLong(Long.MIN_VALUE) : putLong(value.longValue());
+		}
+
+		Hasher putEnum(Enum<?> value) {
+			return (value == null) ? putLong(-1) : putString(value.name());
+		}
+
+		Hasher putFingerprint(SvdFingerprint value) {
+			return (value == null) ? putLong(0).putLong(0) : putLong(value.mHigh).putLong(value.mLow);
+		}
+
+		SvdFingerprint finish() {
+			return new SvdFingerprint(mix(mH1 ^ Long.rotateLeft(mH2, 17)), mix(mH2 ^ Long.rotateLeft(mH1, 41)));
+		}
+
+		private static long mix(long h) {
+			h ^= h >>> 33;
+			h *= 0xFF51AFD7ED558CCDL;
+			h ^= h >>> 33;
+			h *= 0xC4CEB9FE1A85EC53L;
+			h ^= h >>> 33;
+			return h;
+		}
+	}
+}
@@ -0,0 +1,415 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * A deterministic generator of synthetic SVD files, intended for benchmarking
+ * and stress testing the parser.
+ *
+ * <p>
+ * The shape of the generated device is configurable: number of peripherals,
+ * registers per peripheral, fields per register, enumerated value density,
+ * cluster nesting depth, register and cluster arrays and the ratio of derived
+ * peripherals. The same seed and configuration always produce the same output.
+ * </p>
+ *
+ * <p>
+ * Output is streamed peripheral by peripheral, so memory usage does not depend
+ * on the size of the generated file.
+ * </p>
+ */
+public class SvdGenerator {
+	private static final long BASE_ADDRESS = 0x40000000L;
+	private static final long ADDRESS_ALIGNMENT = 0x1000;
+
+	private final long mSeed;
+	private int mPeripheralCount = 50;
+	private int mRegistersPerPeripheral = 32;
+	private int mFieldsPerRegister = 4;
+	private double mEnumRatio = 0.25;
+	private int mEnumValuesPerField = 4;
+	private int mClusterDepth = 1;
+	private double mDimRatio = 0.1;
+	private int mMaxDim = 16;
+	private double mDerivedRatio = 0.1;
+
+	private XMLStreamWriter mWriter;
+	private int mIndent;
+
+	/**
+	 * Create a generator.
+	 *
+	 * @param seed Seed of the pseudo-random choices.
+	 */
+	public SvdGenerator(long seed) {
+		mSeed = seed;
+	}
+
+	/**
+	 * Set the number of peripherals, including derived ones.
+	 *
+	 * @param count Number of peripherals.
+	 * @return This generator.
+	 */
+	public SvdGenerator setPeripheralCount(int count) {
+		mPeripheralCount = count;
+		return this;
+	}
+
+	/**
+	 * Set the number of register elements directly inside each peripheral.
+	 * Clusters hold a quarter of this amount.
+	 *
+	 * @param count Number of registers.
+	 * @return This generator.
+	 */
+	public SvdGenerator setRegistersPerPeripheral(int count) {
+		mRegistersPerPeripheral = count;
+		return this;
+	}
+
+	/**
+	 * Set the number of fields of every register, between 0 and 32.
+	 *
+	 * @param count Number of fields.
+	 * @return This generator.
+	 */
+	public SvdGenerator setFieldsPerRegister(int count) {
+		mFieldsPerRegister = Math.max(0, Math.min(32, count));
+		return this;
+	}
+
+	/**
+	 * Set the fraction of fields holding enumerated values and the maximum number
+	 * of values per enumeration.
+	 *
+	 * @param ratio          Fraction of fields with enumerated values, between 0
+	 *                       and 1.
+	 * @param valuesPerField Maximum number of enumerated values per field.
+	 * @return This generator.
+	 */
+	public SvdGenerator setEnumDensity(double ratio, int valuesPerField) {
+		mEnumRatio = ratio;
+		mEnumValuesPerField = valuesPerField;
+		return this;
+	}
+
+	/**
+	 * Set the cluster nesting depth. Every register container above this depth
+	 * holds one cluster.
+	 *
+	 * @param depth Cluster depth, 0 for no clusters.
+	 * @return This generator.
+	 */
+	public SvdGenerator setClusterDepth(int depth) {
+		mClusterDepth = depth;
+		return this;
+	}
+
+	/**
+	 * Set the fraction of registers and clusters that are arrays and the maximum
+	 * array size.
+	 *
+	 * @param ratio  Fraction of array elements, between 0 and 1.
+	 * @param maxDim Maximum dim value.
+	 * @return This generator.
+	 */
+	public SvdGenerator setDim(double ratio, int maxDim) {
+		mDimRatio = ratio;
+		mMaxDim = maxDim;
+		return this;
+	}
+
+	/**
+	 * Set the fraction of peripherals that derive from a previous one.
+	 *
+	 * @param ratio Fraction of derived peripherals, between 0 and 1.
+	 * @return This generator.
+	 */
+	public SvdGenerator setDerivedRatio(double ratio) {
+		mDerivedRatio = ratio;
+		return this;
+	}
+
+	/**
+	 * Generate an SVD file.
+	 *
+	 * @param f File to be written.
+	 * @throws IOException        On file operation error.
+	 * @throws XMLStreamException On XML writing error.
+	 */
+	public void write(File f) throws IOException, XMLStreamException {
+		try (OutputStream os = new BufferedOutputStream(new FileOutputStream(f), 1 << 16)) {
+			write(os);
+		}
+	}
+
+	/**
+	 * Generate an SVD document into a stream. The stream is not closed.
+	 *
+	 * @param os Stream to be written.
+	 * @throws XMLStreamException On XML writing error.
+	 */
+	public synchronized void write(OutputStream os) throws XMLStreamException {
+		mWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(os, "UTF-8");
+		mIndent = 0;
+		try {
+			writeDevice();
+		} finally {
+			mWriter.close();
+			mWriter = null;
+		}
+	}
+
+	private void writeDevice() throws XMLStreamException {
+		mWriter.writeStartDocument("UTF-8", "1.0");
+		start("device");
+		mWriter.writeAttribute("schemaVersion", "1.1");
+		element("vendor", "SVD-Parser");
+		element("name", "SYNTHETIC");
+		element("version", "1.0");
+		element("description", "Synthetic device generated with seed " + mSeed);
+		start("cpu");
+		element("name", "CM4");
+		element("revision", "r0p1");
+		element("endian", "little");
+		element("mpuPresent", "true");
+		element("fpuPresent", "true");
+		element("nvicPrioBits", "4");
+		element("vendorSystickConfig", "false");
+		end();
+		element("addressUnitBits", "8");
+		element("width", "32");
+		element("size", "32");
+		element("access", "read-write");
+		element("resetValue", "0x00000000");
+		element("resetMask", "0xFFFFFFFF");
+
+		start("peripherals");
+		Random random = new Random(mSeed);
+		List<Integer> bases = new ArrayList<>();
+		List<Long> spans = new ArrayList<>();
+		long address = BASE_ADDRESS;
+		for (int i = 0; i < mPeripheralCount; i++) {
+			long seed = random.nextLong();
+			long span;
+			if (!bases.isEmpty() && random.nextDouble() < mDerivedRatio) {
+				int base = random.nextInt(bases.size());
+				span = spans.get(base);
+				writeDerivedPeripheral(i, bases.get(base), address);
+			} else {
+				long[] levels = spans(seed);
+				span = align(Math.max(levels[0], 4));
+				writePeripheral(i, seed, levels, address, span);
+				bases.add(i);
+				spans.add(span);
+			}
+			address += span;
+		}
+		end();
+
+		end();
+		mWriter.writeEndDocument();
+		mWriter.writeCharacters("\n");
+	}
+
+	private void writePeripheral(int index, long seed, long[] spans, long address, long span)
+			throws XMLStreamException {
+		start("peripheral");
+		element("name", "PERIPH" + index);
+		element("description", "Synthetic peripheral " + index);
+		element("groupName", "GROUP" + (index % 8));
+		element("baseAddress", hex(address));
+		start("addressBlock");
+		element("offset", "0x0");
+		element("size", hex(span));
+		element("usage", "registers");
+		end();
+		writeInterrupt(index);
+		start("registers");
+		content(mWriter, seed, 0, spans);
+		end();
+		end();
+	}
+
+	private void writeDerivedPeripheral(int index, int base, long address) throws XMLStreamException {
+		start("peripheral");
+		mWriter.writeAttribute("derivedFrom", "PERIPH" + base);
+		element("name", "PERIPH" + index);
+		element("baseAddress", hex(address));
+		writeInterrupt(index);
+		end();
+	}
+
+	private void writeInterrupt(int index) throws XMLStreamException {
+		start("interrupt");
+		element("name", "PERIPH" + index + "_IRQ");
+		element("value", String.valueOf(index));
+		end();
+	}
+
+	/**
+	 * Compute the number of bytes spanned by the container at every depth of a
+	 * peripheral. Every container holds at most one cluster, so the levels form
+	 * a chain that is replayed once from the innermost cluster up.
+	 */
+	private long[] spans(long seed) throws XMLStreamException {
+		int depth = Math.max(0, mClusterDepth);
+		long[] seeds = new long[depth + 1];
+		seeds[0] = seed;
+		for (int d = 1; d <= depth; d++)
+			seeds[d] = new Random(seeds[d - 1]).nextLong();
+		long[] spans = new long[depth + 1];
+		for (int d = depth; d >= 0; d--)
+			spans[d] = content(null, seeds[d], d, spans);
+		return spans;
+	}
+
+	/**
+	 * Write the registers and clusters of a container and return the number of
+	 * bytes they span. When the writer is null nothing is written and the
+	 * cluster is not visited, its span is taken from the spans of the deeper
+	 * levels instead.
+	 */
+	private long content(XMLStreamWriter w, long seed, int depth, long[] spans) throws XMLStreamException {
+		XMLStreamWriter saved = mWriter;
+		mWriter = w;
+		try {
+			Random random = new Random(seed);
+			long offset = 0;
+
+			if (depth < mClusterDepth) {
+				long childSeed = random.nextLong();
+				int dim = pickDim(random);
+				long span = align4(Math.max(spans[depth + 1], 4));
+				start("cluster");
+				if (dim > 1) {
+					element("dim", String.valueOf(dim));
+					element("dimIncrement", hex(span));
+				}
+				element("name", (dim > 1) ? "CL" + depth + "_%s" : "CL" + depth);
+				element("description", "Synthetic cluster at depth " + depth);
+				element("addressOffset", hex(offset));
+				if (w != null)
+					content(w, childSeed, depth + 1, spans);
+				end();
+				offset += span * dim;
+			}
+
+			int count = (depth == 0) ? mRegistersPerPeripheral : Math.max(1, mRegistersPerPeripheral / 4);
+			for (int i = 0; i < count; i++) {
+				int dim = pickDim(random);
+				start("register");
+				if (dim > 1) {
+					element("dim", String.valueOf(dim));
+					element("dimIncrement", "0x4");
+				}
+				element("name", (dim > 1) ? "ARR" + i + "_%s" : "REG" + i);
+				element("description", "Synthetic register " + i);
+				element("addressOffset", hex(offset));
+				writeFields(random);
+				end();
+				offset += 4L * dim;
+			}
+			return offset;
+		} finally {
+			mWriter = saved;
+		}
+	}
+
+	private void writeFields(Random random) throws XMLStreamException {
+		if (mFieldsPerRegister == 0)
+			return;
+		start("fields");
+		int width = 32 / mFieldsPerRegister;
+		for (int i = 0; i < mFieldsPerRegister; i++) {
+			int lsb = i * width;
+			int msb = (i == mFieldsPerRegister - 1) ? 31 : lsb + width - 1;
+			start("field");
+			element("name", "F" + i);
+			element("description", "Synthetic field " + i);
+			element("bitRange", "[" + msb + ":" + lsb + "]");
+			if (random.nextDouble() < mEnumRatio)
+				writeEnumeratedValues(msb - lsb + 1);
+			end();
+		}
+		end();
+	}
+
+	private void writeEnumeratedValues(int width) throws XMLStreamException {
+		long count = Math.min(mEnumValuesPerField, 1L << Math.min(width, 32));
+		start("enumeratedValues");
+		for (long v = 0; v < count; v++) {
+			start("enumeratedValue");
+			element("name", "V" + v);
+			element("description", "Synthetic value " + v);
+			element("value", String.valueOf(v));
+			end();
+		}
+		end();
+	}
+
+	private int pickDim(Random random) {
+		if (mMaxDim < 2 || random.nextDouble() >= mDimRatio)
+			return 1;
+		return 2 + random.nextInt(mMaxDim - 1);
+	}
+
+	private static long align(long size) {
+		return (size + ADDRESS_ALIGNMENT - 1) & ~(ADDRESS_ALIGNMENT - 1);
+	}
+
+	private static long align4(long size) {
+		return (size + 3) & ~3L;
+	}
+
+	private static String hex(long value) {
+		return "0x" + Long.toHexString(value).toUpperCase();
+	}
+
+	private void start(String name) throws XMLStreamException {
+		if (mWriter == null)
+			return;
+		newLine();
+		mWriter.writeStartElement(name);
+		mIndent++;
+	}
+
+	private void end() throws XMLStreamException {
+		if (mWriter == null)
+			return;
+		mIndent--;
+		newLine();
+		mWriter.writeEndElement();
+	}
+
+	private void element(String name, String text) throws XMLStreamException {
+		if (mWriter == null)
+			return;
+		newLine();
+		mWriter.writeStartElement(name);
+		mWriter.writeCharacters(text);
+		mWriter.writeEndElement();
+	}
+
+	private void newLine() throws XMLStreamException {
+		mWriter.writeCharacters("\n");
+		for (int i = 0; i < mIndent; i++)
+			mWriter.writeCharacters("  ");
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * A parser that keeps the result of the previous parse of a file and only
+ * rebuilds the peripherals that changed.
+ *
+ * <p>
+ * Every {@code <peripheral>} element is fingerprinted. On {@link #update()},
+ * peripherals whose fingerprint did not change are reused by identity, while
+ * changed peripherals and the peripherals deriving from them are parsed again.
+ * A derived peripheral is also parsed again when its base was removed or
+ * renamed, failing like a full parse would.
+ * A change in the device level elements (such as the default register size or
+ * access) rebuilds every peripheral.
+ * </p>
+ */
+public class SvdIncrementalParser {
+	private final File mFile;
+	private SvdDevice mDevice;
+	private SvdFingerprint mHeader;
+	private Map<String, Entry> mEntries = new HashMap<>();
+
+	private static class Entry {
+		final SvdFingerprint fingerprint;
+		final List<SvdPeripheral> peripherals;
+
+		Entry(SvdFingerprint fingerprint, List<SvdPeripheral> peripherals) {
+			this.fingerprint = fingerprint;
+			this.peripherals = peripherals;
+		}
+	}
+
+	/**
+	 * Create an incremental parser for a file. The file is not read until
+	 * {@link #update()} is called.
+	 *
+	 * @param f File to be read.
+	 */
+	public SvdIncrementalParser(File f) {
+		mFile = f;
+	}
+
+	/**
+	 * Get the device resulting from the latest update.
+	 *
+	 * @return The SvdDevice object, or null if the file was never parsed.
+	 */
+	public synchronized SvdDevice getDevice() {
+		return mDevice;
+	}
+
+	/**
+	 * Parse the file again, reusing the unchanged peripherals. The first call
+	 * reports every peripheral as added.
+	 *
+	 * @return The peripherals changed since the previous update.
+	 * @throws SAXException                 On XML parsing error.
+	 * @throws IOException                  On file operation error.
+	 * @throws ParserConfigurationException On XML parsing error.
+	 * @throws SvdParserException           On a SVD format error.
+	 */
+	public synchronized SvdPeripheralChanges update()
+			throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		Document doc = SvdParser.parseDocument(mFile);
+		Element root = doc.getDocumentElement();
+		root.normalize();
+
+		SvdFingerprint header = fingerprintHeader(root);
+		boolean rebuildAll = !header.equals(mHeader);
+		Map<String, Entry> previous = mEntries;
+		Map<String, Entry> entries = new HashMap<>();
+		Set<String> reused = new HashSet<>();
+		List<SvdPeripheral> added = new ArrayList<>();
+		List<SvdPeripheral> modified = new ArrayList<>();
+
+		SvdParseContext ctx = new SvdParseContext() {
+			@Override
+			List<SvdPeripheral> parsePeripheral(Element el, int defaultSize, SvdAccess defaultAccess,
+					Long defaultResetValue, Long defaultResetMask, List<SvdPeripheral> otherPeriphs)
+					throws SvdParserException {
+				String key = getKey(el, entries);
+				SvdFingerprint fingerprint = fingerprint(new SvdFingerprint.Hasher(), el).finish();
+				Entry old = previous.get(key);
+				// A derived peripheral holds its base, so it can only be reused when
+				// the base it resolves to in this pass is the reused one
+				String derivedFrom = el.getAttribute("derivedFrom");
+				List<SvdPeripheral> result;
+				if (!rebuildAll && old != null && old.fingerprint.equals(fingerprint)
+						&& (derivedFrom.isEmpty() || reused.contains(derivedFrom))) {
+					result = old.peripherals;
+					for (SvdPeripheral p : result)
+						reused.add(p.getName());
+				} else {
+					result = super.parsePeripheral(el, defaultSize, defaultAccess, defaultResetValue, defaultResetMask,
+							otherPeriphs);
+					if (old == null)
+						added.addAll(result);
+					else
+						modified.addAll(result);
+				}
+				entries.put(key, new Entry(fingerprint, result));
+				return result;
+			}
+		};
+		SvdDevice device = SvdDevice.fromElement(root, ctx);
+
+		List<SvdPeripheral> removed = new ArrayList<>();
+		for (Map.Entry<String, Entry> e : previous.entrySet())
+			if (!entries.containsKey(e.getKey()))
+				removed.addAll(e.getValue().peripherals);
+
+		mDevice = device;
+		mHeader = header;
+		mEntries = entries;
+		return new SvdPeripheralChanges(device, added, removed, modified);
+	}
+
+	/**
+	 * Peripherals are identified by the text of their name element. Repeated
+	 * names are disambiguated by their order of appearance.
+	 */
+	private static String getKey(Element el, Map<String, Entry> entries) throws SvdParserException {
+		Element nameElement = Utils.getSingleFirstOrderChildElementByTagName(el, "name");
+		String name = (nameElement != null) ? nameElement.getTextContent() : "";
+		String key = name;
+		for (int i = 1; entries.containsKey(key); i++)
+			key = name + "#" + i;
+		return key;
+	}
+
+	private static SvdFingerprint fingerprintHeader(Element root) {
+		SvdFingerprint.Hasher hasher = new SvdFingerprint.Hasher();
+		for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling())
+			if (child.getNodeType() == Node.ELEMENT_NODE && !child.getNodeName().equals("peripherals"))
+				fingerprint(hasher, child);
+		return hasher.finish();
+	}
+
+	private static SvdFingerprint.Hasher fingerprint(SvdFingerprint.Hasher hasher, Node node) {
+		switch (node.getNodeType()) {
+		case Node.ELEMENT_NODE:
+			hasher.putInt(Node.ELEMENT_NODE).putString(node.getNodeName());
+			NamedNodeMap attributes = node.getAttributes();
+			for (int i = 0; i < attributes.getLength(); i++) {
+				Node attribute = attributes.item(i);
+				hasher.putString(attribute.getNodeName()).putString(attribute.getNodeValue());
+			}
+			for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling())
+				fingerprint(hasher, child);
+			hasher.putInt(-Node.ELEMENT_NODE);
+			break;
+		case Node.TEXT_NODE:
+		case Node.CDATA_SECTION_NODE:
+			String text = node.getNodeValue().strip();
+			if (!text.isEmpty())
+				hasher.putInt(Node.TEXT_NODE).putString(text);
+			break;
+		default:
+			// Comments and processing instructions do not affect the model
+			break;
+		}
+		return hasher;
+	}
+}
@@ -12,9 +12,10 @@ import org.w3c.dom.Element;
  * that generates them.
  */
 public class SvdInterrupt {
-	private String mName;
-	private String mDescription;
-	private Integer mValue;
+	private final String mName;
+	private final String mDescription;
+	private final Integer mValue;
+	private SvdFingerprint mFingerprint;
 
 	/**
 	 * Create an SvdInterrupt from a DOM element.
@@ -30,7 +31,7 @@ public class SvdInterrupt {
 		if (!el.getNodeName().equals("interrupt"))
 			throw new SvdParserException("Cannot build an SvdInterrupt from a " + el.getNodeName() + " node!");
 
-		Element nameElement = Utils.getSingleFirstOrderChildElementByTagName(el, "name");
+		Element nameElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "name");
 		String name = nameElement.getTextContent();
 
 		String description = null;
@@ -38,7 +39,7 @@ public class SvdInterrupt {
 		if (descriptionElement != null)
 			description = descriptionElement.getTextContent();
 
-		Element valueElement = Utils.getSingleFirstOrderChildElementByTagName(el, "value");
+		Element valueElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "value");
 		Integer value = Integer.decode(valueElement.getTextContent());
 
 		return new SvdInterrupt(name, description, value);
@@ -77,6 +78,48 @@ public class SvdInterrupt {
 		return mValue;
 	}
 
+	/**
+	 * Account the memory retained by this object and everything it references.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.PERIPHERALS))
+			return;
+		e.addString(mName);
+		e.addString(mDescription);
+		e.addBoxed(mValue, SvdMemoryCategory.PERIPHERALS);
+		e.add(mFingerprint, SvdMemoryCategory.PERIPHERALS);
+	}
+
+	/**
+	 * Get the structural fingerprint of the interrupt. It is computed on first use
+	 * and cached.
+	 *
+	 * @return A SvdFingerprint object.
+	 */
+	public SvdFingerprint getFingerprint() {
+		SvdFingerprint fingerprint = mFingerprint;
+		if (fingerprint == null) {
+			fingerprint = new SvdFingerprint.Hasher("interrupt").putString(mName).putString(mDescription)
+					.putInteger(mValue).finish();
+			mFingerprint = fingerprint;
+		}
+		return fingerprint;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdInterrupt))
+			return false;
+		return getFingerprint().equals(((SvdInterrupt) obj).getFingerprint());
+	}
+
+	@Override
+	public int hashCode() {
+		return getFingerprint().hashCode();
+	}
+
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SvdInterrupt{name=\"" + mName + "\"");
@@ -0,0 +1,360 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * This class writes an {@link SvdDevice} as JSON.
+ *
+ * <p>
+ * The output is written as the device is traversed, so memory usage does not
+ * depend on the size of the device. Members whose value is unknown are omitted.
+ * The document has the following shape:
+ * </p>
+ *
+ * <pre>
+ * {
+ *   "name", "vendor", "vendorID", "series", "version", "description",
+ *   "licenseText": string,
+ *   "addressUnitBits", "width": number,
+ *   "cpu": {
+ *     "name", "revision", "endian": string,
+ *     "mpuPresent", "fpuPresent", "vendorSystickConfig": boolean,
+ *     "nvicPrioBits": number
+ *   },
+ *   "peripherals": [ {
+ *     "name", "version", "description", "groupName", "alternatePeripheral": string,
+ *     "baseAddress": number,
+ *     "addressBlocks": [ { "offset", "size": number, "usage": string } ],
+ *     "interrupts": [ { "name", "description": string, "value": number } ],
+ *     "registers": [ {
+ *       "name", "description", "alternateGroup", "alternateRegister": string,
+ *       "offset", "size": number,
+ *       "access", "modifiedWriteValues", "readAction": string,
+ *       "resetValue", "resetMask": number,
+ *       "writeConstraint": { "writeAsRead", "useEnumeratedValues": boolean, "minimum", "maximum": number },
+ *       "fields": [ {
+ *         "name", "description": string,
+ *         "bitOffset", "bitWidth": number,
+ *         "access", "modifiedWriteValues", "readAction": string,
+ *         "writeConstraint": { ... },
+ *         "enumeratedValues": [ {
+ *           "name", "usage": string,
+ *           "values": [ { "name", "description": string, "value": number, "isDefault": boolean } ]
+ *         } ]
+ *       } ]
+ *     } ]
+ *   } ]
+ * }
+ * </pre>
+ *
+ * <p>
+ * Register offsets are absolute within the peripheral, with cluster offsets
+ * already applied. Access and usage values use their SVD spelling, for example
+ * "read-write".
+ * </p>
+ */
+public class SvdJsonWriter {
+	private final Appendable mOut;
+	private final Writer mWriter;
+	private boolean mIncludeDescriptions = true;
+	private boolean mFirst = true;
+
+	/**
+	 * Create a writer appending to a character sink.
+	 *
+	 * @param out Destination of the JSON text.
+	 */
+	public SvdJsonWriter(Appendable out) {
+		mOut = out;
+		mWriter = null;
+	}
+
+	/**
+	 * Create a writer encoding JSON text as UTF-8 into a stream. The stream is
+	 * flushed after every device but never closed.
+	 *
+	 * @param os Destination stream.
+	 */
+	public SvdJsonWriter(OutputStream os) {
+		mWriter = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), 1 << 16);
+		mOut = mWriter;
+	}
+
+	/**
+	 * Set whether descriptions and license texts are written. Omitting them
+	 * usually halves the output size.
+	 *
+	 * @param include True to write descriptions, which is the default.
+	 * @return This writer.
+	 */
+	public SvdJsonWriter setIncludeDescriptions(boolean include) {
+		mIncludeDescriptions = include;
+		return this;
+	}
+
+	/**
+	 * Write a device as a JSON object.
+	 *
+	 * @param device The device to write.
+	 * @throws IOException On write error.
+	 */
+	public void write(SvdDevice device) throws IOException {
+		mFirst = true;
+		beginObject();
+		member("name", device.getName());
+		member("vendor", device.getVendor());
+		member("vendorID", device.getVendorID());
+		member("series", device.getSeries());
+		member("version", device.getVersion());
+		description("description", device.getDescription());
+		description("licenseText", device.getLicenseText());
+		member("addressUnitBits", device.getAddressUnitBits());
+		member("width", device.getWidth());
+		SvdCpu cpu = device.getCpu();
+		if (cpu != null) {
+			name("cpu");
+			beginObject();
+			member("name", cpu.getName());
+			member("revision", cpu.getRevision());
+			member("endian", cpu.getEndian());
+			member("mpuPresent", cpu.isMpuPresent());
+			member("fpuPresent", cpu.isFpuPresent());
+			member("nvicPrioBits", cpu.getNvicPrioBits());
+			member("vendorSystickConfig", cpu.isVendorSystickConfig());
+			endObject();
+		}
+		name("peripherals");
+		beginArray();
+		for (SvdPeripheral p : device.getPeripherals())
+			writePeripheral(p);
+		endArray();
+		endObject();
+		if (mWriter != null)
+			mWriter.flush();
+	}
+
+	private void writePeripheral(SvdPeripheral p) throws IOException {
+		beginObject();
+		member("name", p.getName());
+		member("version", p.getVersion());
+		description("description", p.getDescription());
+		member("groupName", p.getGroupName());
+		member("baseAddress", p.getBaseAddr());
+		member("alternatePeripheral", p.getAlternatePeripheral());
+		name("addressBlocks");
+		beginArray();
+		for (SvdAddressBlock ab : p.getAddressBlocks()) {
+			beginObject();
+			member("offset", ab.getOffset());
+			member("size", ab.getSize());
+			member("usage", ab.getUsage());
+			endObject();
+		}
+		endArray();
+		name("interrupts");
+		beginArray();
+		for (SvdInterrupt irq : p.getInterrupts()) {
+			beginObject();
+			member("name", irq.getName());
+			description("description", irq.getDescription());
+			member("value", irq.getValue());
+			endObject();
+		}
+		endArray();
+		name("registers");
+		beginArray();
+		for (SvdRegister r : p.getRegisters())
+			writeRegister(r);
+		endArray();
+		endObject();
+	}
+
+	private void writeRegister(SvdRegister r) throws IOException {
+		beginObject();
+		member("name", r.getName());
+		description("description", r.getDescription());
+		member("offset", r.getOffset());
+		member("size", r.getSize());
+		member("access", (r.getAccess() != null) ? r.getAccess().getSvdValue() : null);
+		unsigned("resetValue", r.getResetValue());
+		unsigned("resetMask", r.getResetMask());
+		writeSideEffects(r.getModifiedWriteValues(), r.getWriteConstraint(), r.getReadAction());
+		member("alternateGroup", r.getAlternateGroup());
+		member("alternateRegister", r.getAlternateRegister());
+		name("fields");
+		beginArray();
+		if (r.getFields() != null)
+			for (SvdField f : r.getFields())
+				writeField(f);
+		endArray();
+		endObject();
+	}
+
+	private void writeField(SvdField f) throws IOException {
+		beginObject();
+		member("name", f.getName());
+		description("description", f.getDescription());
+		member("bitOffset", f.getBitOffset());
+		member("bitWidth", f.getBitWidth());
+		member("access", (f.getAccess() != null) ? f.getAccess().getSvdValue() : null);
+		writeSideEffects(f.getModifiedWriteValues(), f.getWriteConstraint(), f.getReadAction());
+		List<SvdEnumeratedValues> groups = f.getEnumeratedValues();
+		if (groups != null && !groups.isEmpty()) {
+			name("enumeratedValues");
+			beginArray();
+			for (SvdEnumeratedValues evs : groups) {
+				beginObject();
+				member("name", evs.getName());
+				member("usage", evs.getUsage().getSvdValue());
+				name("values");
+				beginArray();
+				for (SvdEnumeratedValue ev : evs.getValues()) {
+					beginObject();
+					member("name", ev.getName());
+					description("description", ev.getDescription());
+					member("value", ev.getValue());
+					member("isDefault", ev.isDefault());
+					endObject();
+				}
+				endArray();
+				endObject();
+			}
+			endArray();
+		}
+		endObject();
+	}
+
+	private void writeSideEffects(SvdModifiedWriteValues modifiedWriteValues, SvdWriteConstraint writeConstraint,
+			SvdReadAction readAction) throws IOException {
+		member("modifiedWriteValues", (modifiedWriteValues != null) ? modifiedWriteValues.getSvdValue() : null);
+		member("readAction", (readAction != null) ? readAction.getSvdValue() : null);
+		if (writeConstraint != null) {
+			name("writeConstraint");
+			beginObject();
+			member("writeAsRead", writeConstraint.isWriteAsRead());
+			member("useEnumeratedValues", writeConstraint.isUseEnumeratedValues());
+			member("minimum", writeConstraint.getRangeMinimum());
+			member("maximum", writeConstraint.getRangeMaximum());
+			endObject();
+		}
+	}
+
+	private void description(String name, String value) throws IOException {
+		if (mIncludeDescriptions)
+			member(name, value);
+	}
+
+	private void member(String name, String value) throws IOException {
+		if (value == null)
+			return;
+		name(name);
+		string(value);
+		mFirst = false;
+	}
+
+	private void member(String name, Number value) throws IOException {
+		if (value == null)
+			return;
+		name(name);
+		mOut.append(value.toString());
+		mFirst = false;
+	}
+
+	/**
+	 * Write a 64-bit value that the SVD format defines as unsigned.
+	 */
+	private void unsigned(String name, Long value) throws IOException {
+		if (value == null)
+			return;
+		name(name);
+		mOut.append(Long.toUnsignedString(value));
+		mFirst = false;
+	}
+
+	private void member(String name, Boolean value) throws IOException {
+		if (value == null)
+			return;
+		name(name);
+		mOut.append(value.toString());
+		mFirst = false;
+	}
+
+	private void name(String name) throws IOException {
+		separator();
+		string(name);
+		mOut.append(':');
+		mFirst = true;
+	}
+
+	private void beginObject() throws IOException {
+		separator();
+		mOut.append('{');
+		mFirst = true;
+	}
+
+	private void endObject() throws IOException {
+		mOut.append('}');
+		mFirst = false;
+	}
+
+	private void beginArray() throws IOException {
+		separator();
+		mOut.append('[');
+		mFirst = true;
+	}
+
+	private void endArray() throws IOException {
+		mOut.append(']');
+		mFirst = false;
+	}
+
+	private void separator() throws IOException {
+		if (!mFirst)
+			mOut.append(',');
+	}
+
+	private void string(String value) throws IOException {
+		mOut.append('"');
+		int start = 0;
+		int length = value.length();
+		for (int i = 0; i < length; i++) {
+			char c = value.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\')
+				continue;
+			mOut.append(value, start, i);
+			switch (c) {
+			case '"':
+				mOut.append("\\\"");
+				break;
+			case '\\':
+				mOut.append("\\\\");
+				break;
+			case '\n':
+				mOut.append("\\n");
+				break;
+			case '\r':
+				mOut.append("\\r");
+				break;
+			case '\t':
+				mOut.append("\\t");
+				break;
+			default:
+				mOut.append(String.format("\\u%04x", (int) c));
+				break;
+			}
+			start = i + 1;
+		}
+		mOut.append(value, start, length);
+		mOut.append('"');
+	}
+}
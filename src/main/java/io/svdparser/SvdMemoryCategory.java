@@ -0,0 +1,32 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * Enumeration of the categories of a {@link SvdMemoryUsage} breakdown. Lists
+ * and boxed values are accounted to the category of the object holding them.
+ */
+public enum SvdMemoryCategory {
+	/** The device, its CPU and its parse statistics. */
+	DEVICE,
+
+	/** Peripherals, their address blocks, interrupts and array declarations. */
+	PERIPHERALS,
+
+	/** Clusters. */
+	CLUSTERS,
+
+	/** Registers and their array declarations. */
+	REGISTERS,
+
+	/** Fields. */
+	FIELDS,
+
+	/** Enumerated value groups and enumerated values. */
+	ENUMERATED_VALUES,
+
+	/** Character data of every string in the model. */
+	STRINGS;
+}
@@ -0,0 +1,119 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Walks a device model adding up the heap size of every object it reaches.
+ * Objects are tracked by identity, so shared substructures such as the
+ * registers of derived peripherals or strings shared by array elements are
+ * only counted once.
+ *
+ * Sizes follow the layout of a 64-bit JVM with compressed references: 12 byte
+ * object headers, 16 byte array headers, 4 byte references and 8 byte
+ * alignment. Values shared by the whole JVM, such as enum constants, cached
+ * boxed values and empty immutable lists, are not counted.
+ */
+class SvdMemoryEstimator {
+	private static final int OBJECT_HEADER = 12;
+	private static final int ARRAY_HEADER = 16;
+	static final int REFERENCE = 4;
+
+	private static final ClassValue<Long> SHALLOW_SIZES = new ClassValue<Long>() {
+		@Override
+		protected Long computeValue(Class<?> type) {
+			long size = OBJECT_HEADER;
+			for (Class<?> c = type; c != null; c = c.getSuperclass())
+				for (Field f : c.getDeclaredFields())
+					if (!Modifier.isStatic(f.getModifiers()))
+						size += getFieldSize(f.getType());
+			return align(size);
+		}
+	};
+
+	private final Map<Object, Boolean> mVisited = new IdentityHashMap<>();
+	private final long[] mBytes = new long[SvdMemoryCategory.values().length];
+	private long mTotal;
+
+	private static int getFieldSize(Class<?> type) {
+		if (type == long.class || type == double.class)
+			return 8;
+		if (type == int.class || type == float.class)
+			return 4;
+		if (type == short.class || type == char.class)
+			return 2;
+		if (type == byte.class || type == boolean.class)
+			return 1;
+		return REFERENCE;
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+
+	/**
+	 * Account an object if it was not seen before.
+	 *
+	 * @return True if the object was not seen before and its contents must be
+	 *         accounted too.
+	 */
+	boolean add(Object o, SvdMemoryCategory category) {
+		if (o == null || mVisited.put(o, Boolean.TRUE) != null)
+			return false;
+		add(category, SHALLOW_SIZES.get(o.getClass()));
+		return true;
+	}
+
+	void add(SvdMemoryCategory category, long bytes) {
+		mBytes[category.ordinal()] += bytes;
+		mTotal += bytes;
+	}
+
+	void addString(String s) {
+		if (!add(s, SvdMemoryCategory.STRINGS))
+			return;
+		boolean latin1 = true;
+		for (int i = 0; i < s.length() && latin1; i++)
+			latin1 = s.charAt(i) < 0x100;
+		addArray(SvdMemoryCategory.STRINGS, s.length(), latin1 ? 1 : 2);
+	}
+
+	void addBoxed(Object value, SvdMemoryCategory category) {
+		if (value instanceof Boolean)
+			return;
+		if ((value instanceof Integer || value instanceof Long) && ((Number) value).longValue() >= -128
+				&& ((Number) value).longValue() <= 127)
+			return;
+		add(value, category);
+	}
+
+	/**
+	 * Account a list and its backing array. The elements must be accounted by
+	 * the caller.
+	 */
+	void addList(List<?> list, SvdMemoryCategory category) {
+		if (list == null || list == List.of() || !add(list, category))
+			return;
+		if (list.size() > 2)
+			addArray(category, list.size(), REFERENCE);
+	}
+
+	void addArray(SvdMemoryCategory category, int length, int elementSize) {
+		add(category, align(ARRAY_HEADER + (long) length * elementSize));
+	}
+
+	long getTotal() {
+		return mTotal;
+	}
+
+	long getBytes(SvdMemoryCategory category) {
+		return mBytes[category.ordinal()];
+	}
+}
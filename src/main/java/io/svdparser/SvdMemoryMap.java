@@ -0,0 +1,259 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The memory map of a device: a sorted list of non-overlapping regions built
+ * from the address blocks of every peripheral.
+ *
+ * <p>
+ * Address blocks are placed at the peripheral base address and split at every
+ * block boundary. Consecutive pieces covered by the same peripherals with the
+ * same usage are merged back into a single region, so adjacent blocks of a
+ * peripheral form one region and repeated blocks of derived peripherals are
+ * only counted once. Peripherals without address blocks cover the range of
+ * their registers. Ranges claimed by several peripherals are kept as separate
+ * regions listing every owner and flagged with
+ * {@link SvdMemoryRegion#isOverlapping()}, unless the owners are alternate
+ * peripherals.
+ * </p>
+ *
+ * <p>
+ * Region lookup by address is a binary search. Addresses are expressed in
+ * address units as defined by {@link SvdDevice#getAddressUnitBits()}.
+ * </p>
+ */
+public class SvdMemoryMap {
+	private static final String REGISTERS = "registers";
+
+	private final int mAddressUnitBits;
+	private final List<SvdMemoryRegion> mRegions;
+	private final long[] mStarts;
+	private final long[] mEnds;
+
+	private static class Block {
+		final long start;
+		final long end;
+		final SvdPeripheral peripheral;
+		final int order;
+		final String usage;
+
+		Block(long start, long end, SvdPeripheral peripheral, int order, String usage) {
+			this.start = start;
+			this.end = end;
+			this.peripheral = peripheral;
+			this.order = order;
+			this.usage = usage;
+		}
+	}
+
+	/**
+	 * Build the memory map of a device.
+	 *
+	 * @param device The device.
+	 * @return A SvdMemoryMap object.
+	 */
+	static SvdMemoryMap fromDevice(SvdDevice device) {
+		int addressUnitBytes = Utils.getAddressUnitBytes(device);
+		int addressUnitBits = addressUnitBytes * 8;
+		List<SvdPeripheral> periphs = device.getPeripherals();
+		List<Block> blocks = new ArrayList<>();
+		for (int i = 0; i < periphs.size(); i++)
+			addBlocks(periphs.get(i), i, addressUnitBits, blocks);
+		blocks.sort(Comparator.comparingLong(b -> b.start));
+
+		// Every block boundary, sorted and without repetitions
+		long[] points = new long[blocks.size() * 2];
+		for (int i = 0; i < blocks.size(); i++) {
+			points[2 * i] = blocks.get(i).start;
+			points[2 * i + 1] = blocks.get(i).end;
+		}
+		Arrays.sort(points);
+		int count = 0;
+		for (int i = 0; i < points.length; i++)
+			if (count == 0 || points[i] != points[count - 1])
+				points[count++] = points[i];
+
+		// Sweep the boundaries keeping the blocks covering each piece
+		List<SvdMemoryRegion> regions = new ArrayList<>();
+		List<Block> active = new ArrayList<>();
+		int next = 0;
+		for (int i = 0; i + 1 < count; i++) {
+			long start = points[i];
+			long end = points[i + 1];
+			active.removeIf(b -> b.end <= start);
+			while (next < blocks.size() && blocks.get(next).start <= start)
+				active.add(blocks.get(next++));
+			if (active.isEmpty())
+				continue;
+			active.sort(Comparator.comparingInt(b -> b.order));
+			List<SvdPeripheral> owners = new ArrayList<>(active.size());
+			String usage = null;
+			int primary = 0;
+			for (Block b : active) {
+				if (owners.isEmpty() || owners.get(owners.size() - 1) != b.peripheral) {
+					owners.add(b.peripheral);
+					if (b.peripheral.getAlternatePeripheral() == null)
+						primary++;
+				}
+				if (usage == null || getUsageRank(b.usage) < getUsageRank(usage))
+					usage = b.usage;
+			}
+
+			SvdMemoryRegion last = regions.isEmpty() ? null : regions.get(regions.size() - 1);
+			if (last != null && last.getEnd() == start && last.getUsage().equals(usage)
+					&& isSame(last.getPeripherals(), owners))
+				regions.set(regions.size() - 1, last.withEnd(end));
+			else
+				regions.add(new SvdMemoryRegion(start, end, usage, List.copyOf(owners), primary > 1, addressUnitBytes));
+		}
+		return new SvdMemoryMap(addressUnitBits, regions);
+	}
+
+	/**
+	 * Add the address ranges of a peripheral, from its address blocks or, if it
+	 * has none, from its registers.
+	 */
+	private static void addBlocks(SvdPeripheral p, int order, int addressUnitBits, List<Block> blocks) {
+		long base = p.getBaseAddr();
+		if (!p.getAddressBlocks().isEmpty()) {
+			for (SvdAddressBlock ab : p.getAddressBlocks())
+				if (ab.getOffset() != null && ab.getSize() != null && ab.getSize() > 0)
+					blocks.add(new Block(base + ab.getOffset(), base + ab.getOffset() + ab.getSize(), p, order,
+							(ab.getUsage() != null) ? ab.getUsage().trim() : REGISTERS));
+			return;
+		}
+		long start = Long.MAX_VALUE;
+		long end = Long.MIN_VALUE;
+		for (SvdRegister r : p.getRegisters()) {
+			if (r.getSize() == null || r.getSize() <= 0)
+				continue;
+			start = Math.min(start, base + r.getAbsoluteOffset());
+			end = Math.max(end, base + r.getAbsoluteOffset() + (r.getSize() + addressUnitBits - 1) / addressUnitBits);
+		}
+		if (start < end)
+			blocks.add(new Block(start, end, p, order, REGISTERS));
+	}
+
+	private static boolean isSame(List<SvdPeripheral> a, List<SvdPeripheral> b) {
+		if (a.size() != b.size())
+			return false;
+		for (int i = 0; i < a.size(); i++)
+			if (a.get(i) != b.get(i))
+				return false;
+		return true;
+	}
+
+	private static int getUsageRank(String usage) {
+		switch (usage) {
+		case REGISTERS:
+			return 0;
+		case "buffer":
+			return 1;
+		case "reserved":
+			return 2;
+		default:
+			return 3;
+		}
+	}
+
+	private SvdMemoryMap(int addressUnitBits, List<SvdMemoryRegion> regions) {
+		mAddressUnitBits = addressUnitBits;
+		mRegions = List.copyOf(regions);
+		mStarts = new long[regions.size()];
+		mEnds = new long[regions.size()];
+		for (int i = 0; i < regions.size(); i++) {
+			mStarts[i] = regions.get(i).getStart();
+			mEnds[i] = regions.get(i).getEnd();
+		}
+	}
+
+	/**
+	 * Get the size of the address unit the addresses are expressed in.
+	 *
+	 * @return The number of bits per address unit.
+	 */
+	public int getAddressUnitBits() {
+		return mAddressUnitBits;
+	}
+
+	/**
+	 * Get every region of the map, sorted by address.
+	 *
+	 * @return An unmodifiable list of SvdMemoryRegion objects.
+	 */
+	public List<SvdMemoryRegion> getRegions() {
+		return mRegions;
+	}
+
+	/**
+	 * Get the region containing an address.
+	 *
+	 * @param address The address, in address units.
+	 * @return The SvdMemoryRegion object, or null if no peripheral covers the
+	 *         address.
+	 */
+	public SvdMemoryRegion getRegion(long address) {
+		int i = Arrays.binarySearch(mStarts, address);
+		if (i < 0)
+			i = -i - 2;
+		return (i >= 0 && address < mEnds[i]) ? mRegions.get(i) : null;
+	}
+
+	/**
+	 * Get the regions intersecting an address range.
+	 *
+	 * @param start First address of the range, inclusive.
+	 * @param end   Last address of the range, exclusive.
+	 * @return An unmodifiable list of SvdMemoryRegion objects, sorted by address.
+	 */
+	public List<SvdMemoryRegion> getRegions(long start, long end) {
+		int from = Arrays.binarySearch(mStarts, start);
+		if (from < 0)
+			from = Math.max(-from - 2, 0);
+		if (from < mEnds.length && mEnds[from] <= start)
+			from++;
+		int to = from;
+		while (to < mStarts.length && mStarts[to] < end)
+			to++;
+		return mRegions.subList(from, to);
+	}
+
+	/**
+	 * Get the regions claimed by overlapping peripherals.
+	 *
+	 * @return A list of SvdMemoryRegion objects, sorted by address.
+	 */
+	public List<SvdMemoryRegion> getOverlaps() {
+		List<SvdMemoryRegion> overlaps = new ArrayList<>();
+		for (SvdMemoryRegion region : mRegions)
+			if (region.isOverlapping())
+				overlaps.add(region);
+		return overlaps;
+	}
+
+	/**
+	 * Account the memory retained by this object and its regions.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.DEVICE))
+			return;
+		e.addList(mRegions, SvdMemoryCategory.DEVICE);
+		for (SvdMemoryRegion region : mRegions)
+			region.estimateMemory(e);
+		e.addArray(SvdMemoryCategory.DEVICE, mStarts.length, 8);
+		e.addArray(SvdMemoryCategory.DEVICE, mEnds.length, 8);
+	}
+
+	@Override
+	public String toString() {
+		return "SvdMemoryMap{addressUnitBits=" + mAddressUnitBits + ", regions=" + mRegions.size() + "}";
+	}
+}
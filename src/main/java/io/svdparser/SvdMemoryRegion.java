@@ -0,0 +1,153 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.List;
+
+/**
+ * A contiguous range of the device address space covered by the same set of
+ * peripherals with the same usage. Regions are part of a
+ * {@link SvdMemoryMap}.
+ *
+ * <p>
+ * Addresses and sizes are expressed in address units as defined by
+ * {@link SvdDevice#getAddressUnitBits()}. Byte based equivalents are provided
+ * for loaders working on byte addressed memory.
+ * </p>
+ */
+public class SvdMemoryRegion {
+	private final long mStart;
+	private final long mEnd;
+	private final String mUsage;
+	private final List<SvdPeripheral> mPeripherals;
+	private final boolean mOverlapping;
+	private final int mAddressUnitBytes;
+
+	SvdMemoryRegion(long start, long end, String usage, List<SvdPeripheral> peripherals, boolean overlapping,
+			int addressUnitBytes) {
+		mStart = start;
+		mEnd = end;
+		mUsage = usage;
+		mPeripherals = peripherals;
+		mOverlapping = overlapping;
+		mAddressUnitBytes = addressUnitBytes;
+	}
+
+	/**
+	 * Get a copy of this region extended up to a new end address.
+	 */
+	SvdMemoryRegion withEnd(long end) {
+		return new SvdMemoryRegion(mStart, end, mUsage, mPeripherals, mOverlapping, mAddressUnitBytes);
+	}
+
+	/**
+	 * Get the first address of the region.
+	 *
+	 * @return The start address, in address units.
+	 */
+	public long getStart() {
+		return mStart;
+	}
+
+	/**
+	 * Get the address following the last address of the region.
+	 *
+	 * @return The exclusive end address, in address units.
+	 */
+	public long getEnd() {
+		return mEnd;
+	}
+
+	/**
+	 * Get the size of the region.
+	 *
+	 * @return The region size, in address units.
+	 */
+	public long getSize() {
+		return mEnd - mStart;
+	}
+
+	/**
+	 * Get the first address of the region in a byte addressed space.
+	 *
+	 * @return The start address, in bytes.
+	 */
+	public long getByteStart() {
+		return mStart * mAddressUnitBytes;
+	}
+
+	/**
+	 * Get the size of the region in bytes.
+	 *
+	 * @return The region size, in bytes.
+	 */
+	public long getByteSize() {
+		return (mEnd - mStart) * mAddressUnitBytes;
+	}
+
+	/**
+	 * Get the usage of the region, such as "registers", "buffer" or "reserved".
+	 * When blocks with different usages overlap, the most specific one is kept:
+	 * registers, then buffer, then reserved.
+	 *
+	 * @return The region usage.
+	 */
+	public String getUsage() {
+		return mUsage;
+	}
+
+	/**
+	 * Get the peripherals owning the region, in device order.
+	 *
+	 * @return An unmodifiable list of SvdPeripheral objects.
+	 */
+	public List<SvdPeripheral> getPeripherals() {
+		return mPeripherals;
+	}
+
+	/**
+	 * Get whether the region is claimed by more than one peripheral that is not
+	 * declared as an alternate peripheral.
+	 *
+	 * @return True if the peripherals of the region overlap.
+	 */
+	public boolean isOverlapping() {
+		return mOverlapping;
+	}
+
+	/**
+	 * Check whether the region contains an address.
+	 *
+	 * @param address The address, in address units.
+	 * @return True if the address belongs to the region.
+	 */
+	public boolean contains(long address) {
+		return address >= mStart && address < mEnd;
+	}
+
+	/**
+	 * Account the memory retained by this object.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.DEVICE))
+			return;
+		e.addList(mPeripherals, SvdMemoryCategory.DEVICE);
+		e.addString(mUsage);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SvdMemoryRegion{start=0x" + Long.toHexString(mStart) + ", end=0x" + Long.toHexString(mEnd)
+				+ ", usage=\"" + mUsage + "\", peripherals=[");
+		for (int i = 0; i < mPeripherals.size(); i++)
+			sb.append((i > 0) ? ", " : "").append(mPeripherals.get(i).getName());
+		sb.append("]");
+		if (mOverlapping)
+			sb.append(", overlapping");
+		sb.append("}");
+		return sb.toString();
+	}
+}
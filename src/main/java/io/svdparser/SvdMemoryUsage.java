@@ -0,0 +1,96 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * This class holds an estimate of the heap retained by an {@link SvdDevice},
+ * broken down by peripheral and by category.
+ *
+ * <p>
+ * Objects shared between several owners, such as the registers a derived
+ * peripheral inherits from its base or the fields shared by register array
+ * elements, are counted once: they are accounted to the first peripheral that
+ * references them, in device order. The estimate assumes a 64-bit JVM with
+ * compressed references.
+ * </p>
+ *
+ * @see SvdDevice#getMemoryUsage()
+ */
+public class SvdMemoryUsage {
+	private final long mTotalBytes;
+	private final long mDeviceBytes;
+	private final Map<SvdMemoryCategory, Long> mCategoryBytes;
+	private final Map<String, Long> mPeripheralBytes;
+
+	SvdMemoryUsage(SvdMemoryEstimator estimator, long deviceBytes, Map<String, Long> peripheralBytes) {
+		mTotalBytes = estimator.getTotal();
+		mDeviceBytes = deviceBytes;
+		Map<SvdMemoryCategory, Long> categoryBytes = new EnumMap<>(SvdMemoryCategory.class);
+		for (SvdMemoryCategory category : SvdMemoryCategory.values())
+			categoryBytes.put(category, estimator.getBytes(category));
+		mCategoryBytes = Collections.unmodifiableMap(categoryBytes);
+		mPeripheralBytes = Collections.unmodifiableMap(peripheralBytes);
+	}
+
+	/**
+	 * Get the estimated heap retained by the device.
+	 *
+	 * @return The retained size, in bytes.
+	 */
+	public long getTotalBytes() {
+		return mTotalBytes;
+	}
+
+	/**
+	 * Get the estimated heap retained by the device itself, its CPU and its parse
+	 * statistics, excluding its peripherals.
+	 *
+	 * @return The retained size, in bytes.
+	 */
+	public long getDeviceBytes() {
+		return mDeviceBytes;
+	}
+
+	/**
+	 * Get the estimated heap retained by the objects of a category.
+	 *
+	 * @param category The category.
+	 * @return The retained size, in bytes.
+	 */
+	public long getBytes(SvdMemoryCategory category) {
+		return mCategoryBytes.get(category);
+	}
+
+	/**
+	 * Get the breakdown of the retained heap by category. The values add up to
+	 * {@link #getTotalBytes()}.
+	 *
+	 * @return An unmodifiable map from category to size in bytes.
+	 */
+	public Map<SvdMemoryCategory, Long> getCategoryBytes() {
+		return mCategoryBytes;
+	}
+
+	/**
+	 * Get the breakdown of the retained heap by peripheral name, in device order.
+	 * Together with {@link #getDeviceBytes()}, the values add up to
+	 * {@link #getTotalBytes()}.
+	 *
+	 * @return An unmodifiable map from peripheral name to size in bytes.
+	 */
+	public Map<String, Long> getPeripheralBytes() {
+		return mPeripheralBytes;
+	}
+
+	@Override
+	public String toString() {
+		return "SvdMemoryUsage{totalBytes=" + mTotalBytes + ", deviceBytes=" + mDeviceBytes + ", categories="
+				+ mCategoryBytes + ", peripherals=" + mPeripheralBytes.size() + "}";
+	}
+}
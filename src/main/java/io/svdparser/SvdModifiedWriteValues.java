@@ -0,0 +1,69 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * Enumeration of the {@code <modifiedWriteValues>} values defined by the
+ * CMSIS-SVD specification. They describe how a write operation changes the
+ * content of a register or field. When not specified, written values are
+ * stored as they are.
+ */
+public enum SvdModifiedWriteValues {
+	/** Writing 1 clears the bit, writing 0 has no effect. */
+	ONE_TO_CLEAR("oneToClear"),
+
+	/** Writing 1 sets the bit, writing 0 has no effect. */
+	ONE_TO_SET("oneToSet"),
+
+	/** Writing 1 inverts the bit, writing 0 has no effect. */
+	ONE_TO_TOGGLE("oneToToggle"),
+
+	/** Writing 0 clears the bit, writing 1 has no effect. */
+	ZERO_TO_CLEAR("zeroToClear"),
+
+	/** Writing 0 sets the bit, writing 1 has no effect. */
+	ZERO_TO_SET("zeroToSet"),
+
+	/** Writing 0 inverts the bit, writing 1 has no effect. */
+	ZERO_TO_TOGGLE("zeroToToggle"),
+
+	/** Any write clears all bits. */
+	CLEAR("clear"),
+
+	/** Any write sets all bits. */
+	SET("set"),
+
+	/** Written values are stored as they are (default). */
+	MODIFY("modify");
+
+	private final String mSvdValue;
+
+	SvdModifiedWriteValues(String svdValue) {
+		mSvdValue = svdValue;
+	}
+
+	/**
+	 * Get the SVD string representation of this value.
+	 *
+	 * @return The SVD string, e.g. {@code "oneToClear"}.
+	 */
+	public String getSvdValue() {
+		return mSvdValue;
+	}
+
+	/**
+	 * Parse a {@link SvdModifiedWriteValues} from its SVD string representation.
+	 *
+	 * @param value The string as it appears in the SVD XML.
+	 * @return The matching {@link SvdModifiedWriteValues} constant.
+	 * @throws SvdParserException if the value does not match any known value.
+	 */
+	public static SvdModifiedWriteValues fromString(String value) throws SvdParserException {
+		for (SvdModifiedWriteValues v : values())
+			if (v.mSvdValue.equals(value))
+				return v;
+		throw new SvdParserException("Unknown modifiedWriteValues value: \"" + value + "\"");
+	}
+}
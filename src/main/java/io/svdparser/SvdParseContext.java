@@ -0,0 +1,308 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BooleanSupplier;
+
+import org.w3c.dom.Element;
+
+/**
+ * State shared by all the elements of a single parse. When no listener is set,
+ * every instrumentation method returns immediately.
+ *
+ * In lenient mode, format errors are recorded as diagnostics and the offending
+ * element is skipped or defaulted instead of aborting the parse.
+ *
+ * Asynchronous parses report their progress and check for cancellation while
+ * reading the document and between peripherals.
+ *
+ * Subclasses may override how peripheral elements are turned into
+ * {@link SvdPeripheral} objects, for example to reuse previously parsed ones.
+ */
+class SvdParseContext {
+	/**
+	 * Parse of a single element that may be skipped on format errors.
+	 */
+	interface ElementParser<T> {
+		T parse() throws SvdParserException;
+	}
+
+	private final SvdParseListener mListener;
+	private final SvdParseStatistics mStatistics;
+	private final boolean mLenient;
+	private final ConcurrentMap<String, String> mStrings;
+	private final SvdPeripheralFilter mPeripheralFilter;
+	private final List<SvdDiagnostic> mDiagnostics = new ArrayList<>();
+	private SvdProgressListener mProgress;
+	private BooleanSupplier mCancelled;
+	private long mTotalBytes;
+	private long mBytesRead;
+	private SvdParsePhase[] mPhases = new SvdParsePhase[8];
+	private int mDepth;
+	private long mLastNanos;
+
+	SvdParseContext() {
+		this(SvdParseOptions.DEFAULT);
+	}
+
+	SvdParseContext(SvdParseOptions options) {
+		this(options, null);
+	}
+
+	SvdParseContext(SvdParseOptions options, ConcurrentMap<String, String> strings) {
+		mListener = options.getListener();
+		mLenient = options.isLenient();
+		mStrings = strings;
+		mPeripheralFilter = options.getPeripheralFilter();
+		mStatistics = (mListener != null) ? new SvdParseStatistics() : null;
+		mLastNanos = System.nanoTime();
+	}
+
+	SvdPeripheralFilter getPeripheralFilter() {
+		return mPeripheralFilter;
+	}
+
+	/**
+	 * Get the text of an element, shared with previous occurrences of the same
+	 * text when a string pool is set.
+	 */
+	String getText(Element el) {
+		String text = el.getTextContent();
+		if (mStrings == null)
+			return text;
+		String pooled = mStrings.get(text);
+		if (pooled != null)
+			return pooled;
+		// A full pool stops growing, new strings are used as they are
+		if (mStrings.size() < SvdParser.MAX_POOLED_STRINGS) {
+			pooled = mStrings.putIfAbsent(text, text);
+			if (pooled != null)
+				return pooled;
+		}
+		return text;
+	}
+
+	List<SvdPeripheral> parsePeripheral(Element el, int defaultSize, SvdAccess defaultAccess, Long defaultResetValue,
+			Long defaultResetMask, List<SvdPeripheral> otherPeriphs) throws SvdParserException {
+		return SvdPeripheral.fromElement(el, defaultSize, defaultAccess, defaultResetValue, defaultResetMask,
+				otherPeriphs, this);
+	}
+
+	/**
+	 * Parse an element, skipping it on format errors when lenient.
+	 *
+	 * @return The parsed element, or the fallback value if it was skipped.
+	 * @throws SvdParserException on SVD format errors when not lenient.
+	 */
+	<T> T parseElement(Element el, T fallback, ElementParser<T> parser) throws SvdParserException {
+		int depth = mDepth;
+		try {
+			return parser.parse();
+		} catch (NumberFormatException e) {
+			if (!mLenient)
+				throw e;
+			report(el, SvdSeverity.ERROR, "skipped-element", "Invalid number: " + e.getMessage(), depth);
+		} catch (SvdParserException e) {
+			if (!mLenient)
+				throw e;
+			report(el, SvdSeverity.ERROR, "skipped-element", e.getMessage(), depth);
+		}
+		return fallback;
+	}
+
+	/**
+	 * Parse an access element, keeping the inherited value on errors when
+	 * lenient.
+	 *
+	 * @throws SvdParserException on unknown access values when not lenient.
+	 */
+	SvdAccess parseAccess(Element accessElement, SvdAccess fallback) throws SvdParserException {
+		if (accessElement == null)
+			return fallback;
+		try {
+			return SvdAccess.fromString(accessElement.getTextContent());
+		} catch (SvdParserException e) {
+			problem(accessElement, SvdSeverity.WARNING, "invalid-access", e);
+			return fallback;
+		}
+	}
+
+	/**
+	 * Parse a resetValue or resetMask element, keeping the inherited value on
+	 * errors when lenient.
+	 *
+	 * @throws SvdParserException on invalid numbers when not lenient.
+	 */
+	Long parseReset(Element el, Long fallback) throws SvdParserException {
+		if (el == null)
+			return fallback;
+		try {
+			return Utils.decodeUnsigned(el.getTextContent());
+		} catch (NumberFormatException e) {
+			problem(el, SvdSeverity.WARNING, "invalid-reset",
+					new SvdParserException("Invalid " + el.getNodeName() + " " + el.getTextContent().trim() + "!"));
+			return fallback;
+		}
+	}
+
+	/**
+	 * Parse a modifiedWriteValues element, keeping the inherited value on errors
+	 * when lenient.
+	 *
+	 * @throws SvdParserException on unknown values when not lenient.
+	 */
+	SvdModifiedWriteValues parseModifiedWriteValues(Element el, SvdModifiedWriteValues fallback)
+			throws SvdParserException {
+		if (el == null)
+			return fallback;
+		try {
+			return SvdModifiedWriteValues.fromString(el.getTextContent().trim());
+		} catch (SvdParserException e) {
+			problem(el, SvdSeverity.WARNING, "invalid-modified-write-values", e);
+			return fallback;
+		}
+	}
+
+	/**
+	 * Parse a readAction element, keeping the inherited value on errors when
+	 * lenient.
+	 *
+	 * @throws SvdParserException on unknown actions when not lenient.
+	 */
+	SvdReadAction parseReadAction(Element el, SvdReadAction fallback) throws SvdParserException {
+		if (el == null)
+			return fallback;
+		try {
+			return SvdReadAction.fromString(el.getTextContent().trim());
+		} catch (SvdParserException e) {
+			problem(el, SvdSeverity.WARNING, "invalid-read-action", e);
+			return fallback;
+		}
+	}
+
+	/**
+	 * Report a format error that the caller is able to work around.
+	 *
+	 * @throws SvdParserException the provided exception when not lenient.
+	 */
+	void problem(Element el, SvdSeverity severity, String code, SvdParserException e) throws SvdParserException {
+		if (!mLenient)
+			throw e;
+		report(el, severity, code, e.getMessage(), mDepth);
+	}
+
+	private void report(Element el, SvdSeverity severity, String code, String message, int depth) {
+		// Close the phases left open by the failed element
+		while (mDepth > depth)
+			exit();
+		mDiagnostics.add(new SvdDiagnostic(severity, code, Utils.getElementPath(el), message));
+	}
+
+	List<SvdDiagnostic> getDiagnostics() {
+		return List.copyOf(mDiagnostics);
+	}
+
+	SvdParseStatistics getStatistics() {
+		return mStatistics;
+	}
+
+	/**
+	 * Enter a parse phase, pausing the current one.
+	 *
+	 * @return The current time in nanoseconds, or 0 when not instrumented.
+	 */
+	long enter(SvdParsePhase phase) {
+		if (mStatistics == null)
+			return 0;
+		long now = System.nanoTime();
+		if (mDepth > 0)
+			mStatistics.addPhaseNanos(mPhases[mDepth - 1], now - mLastNanos);
+		if (mDepth == mPhases.length)
+			mPhases = Arrays.copyOf(mPhases, mDepth * 2);
+		mPhases[mDepth++] = phase;
+		mLastNanos = now;
+		return now;
+	}
+
+	/**
+	 * Exit the current parse phase, resuming its parent.
+	 */
+	void exit() {
+		if (mStatistics == null)
+			return;
+		long now = System.nanoTime();
+		mStatistics.addPhaseNanos(mPhases[--mDepth], now - mLastNanos);
+		mLastNanos = now;
+	}
+
+	void count(SvdParsePhase phase, int elements) {
+		if (mStatistics != null)
+			mStatistics.addElements(phase, elements);
+	}
+
+	void derivationResolved() {
+		if (mStatistics != null)
+			mStatistics.addDerivation();
+	}
+
+	/**
+	 * Set the receiver of the parse progress and the cancellation check of an
+	 * asynchronous parse. Either of them may be null.
+	 */
+	void setProgress(SvdProgressListener progress, BooleanSupplier cancelled) {
+		mProgress = progress;
+		mCancelled = cancelled;
+	}
+
+	/**
+	 * Stop the parse if it was cancelled.
+	 *
+	 * @throws CancellationException if the parse was cancelled.
+	 */
+	void checkCancelled() {
+		if (mCancelled != null && mCancelled.getAsBoolean())
+			throw new CancellationException("Parse cancelled");
+	}
+
+	/**
+	 * Account bytes read from the document while it is parsed.
+	 *
+	 * @throws CancellationException if the parse was cancelled.
+	 */
+	void bytesConsumed(long bytes) {
+		checkCancelled();
+		mBytesRead += bytes;
+		if (mProgress != null)
+			mProgress.progress(mBytesRead, mTotalBytes, 0, 0);
+	}
+
+	void peripheralsDone(int done, int count) {
+		if (mProgress != null)
+			mProgress.progress(mTotalBytes, mTotalBytes, done, count);
+	}
+
+	void bytesRead(long bytes) {
+		mTotalBytes = bytes;
+		if (mStatistics != null)
+			mStatistics.setBytesRead(bytes);
+	}
+
+	void peripheralParsed(String name, long startNanos) {
+		if (mListener != null)
+			mListener.peripheralParsed(name, System.nanoTime() - startNanos);
+	}
+
+	void finish() {
+		if (mStatistics == null)
+			return;
+		mStatistics.finish();
+		mListener.parseFinished(mStatistics);
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for every SVD file parse. Disabled by default,
+ * enable {@code io.svdparser.Parse} in the recording settings.
+ */
+@Name("io.svdparser.Parse")
+@Label("SVD Parse")
+@Category("SVD Parser")
+@Description("Parse of an SVD file")
+@Enabled(false)
+@StackTrace(false)
+final class SvdParseEvent extends Event {
+	@Label("Path")
+	String path;
+
+	@Label("Size")
+	@DataAmount
+	long size;
+
+	@Label("Peripherals")
+	int peripheralCount;
+
+	@Label("Registers")
+	int registerCount;
+}
@@ -0,0 +1,29 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * Receiver of instrumentation events of an SVD parse. Providing a listener
+ * enables the collection of {@link SvdParseStatistics}; when no listener is
+ * provided the parser does not take any measurement.
+ */
+public interface SvdParseListener {
+	/**
+	 * Called after every {@code <peripheral>} element has been parsed.
+	 *
+	 * @param name  The peripheral name, as found in the SVD file.
+	 * @param nanos The wall time spent parsing the peripheral, in nanoseconds.
+	 */
+	default void peripheralParsed(String name, long nanos) {
+	}
+
+	/**
+	 * Called once the parse has completed successfully.
+	 *
+	 * @param statistics The statistics of the parse.
+	 */
+	default void parseFinished(SvdParseStatistics statistics) {
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * Settings of a parse. Objects of this class are immutable, every setter
+ * returns a modified copy.
+ *
+ * <p>
+ * By default the first format error aborts the parse with a
+ * {@link SvdParserException}. In lenient mode the offending element is skipped,
+ * or its value defaulted, and the problem is recorded as a
+ * {@link SvdDiagnostic} available through {@link SvdDevice#getDiagnostics()}.
+ * Diagnostic paths locate the element by the names of its ancestors, since the
+ * parsed document does not keep line numbers.
+ * </p>
+ */
+public class SvdParseOptions {
+	/**
+	 * Strict parse without instrumentation.
+	 */
+	public static final SvdParseOptions DEFAULT = new SvdParseOptions(false, null, false, 0, null);
+
+	private final boolean mLenient;
+	private final SvdParseListener mListener;
+	private final boolean mStringPool;
+	private final int mCacheSize;
+	private final SvdPeripheralFilter mPeripheralFilter;
+
+	private SvdParseOptions(boolean lenient, SvdParseListener listener, boolean stringPool, int cacheSize,
+			SvdPeripheralFilter peripheralFilter) {
+		mLenient = lenient;
+		mListener = listener;
+		mStringPool = stringPool;
+		mCacheSize = cacheSize;
+		mPeripheralFilter = peripheralFilter;
+	}
+
+	/**
+	 * Get whether format errors are recorded instead of aborting the parse.
+	 *
+	 * @return True in lenient mode.
+	 */
+	public boolean isLenient() {
+		return mLenient;
+	}
+
+	/**
+	 * Get the receiver of the parse instrumentation events.
+	 *
+	 * @return The listener, or null if instrumentation is disabled.
+	 */
+	public SvdParseListener getListener() {
+		return mListener;
+	}
+
+	/**
+	 * Get whether names and descriptions are deduplicated across parses.
+	 *
+	 * @return True if the string pool is enabled.
+	 */
+	public boolean isStringPool() {
+		return mStringPool;
+	}
+
+	/**
+	 * Get the number of parsed files kept by a {@link SvdParser}.
+	 *
+	 * @return The maximum number of cached devices, 0 if caching is disabled.
+	 */
+	public int getCacheSize() {
+		return mCacheSize;
+	}
+
+	/**
+	 * Get the selection of peripherals to build.
+	 *
+	 * @return The filter, or null if every peripheral is built.
+	 */
+	public SvdPeripheralFilter getPeripheralFilter() {
+		return mPeripheralFilter;
+	}
+
+	/**
+	 * Set whether format errors are recorded instead of aborting the parse.
+	 *
+	 * @param lenient True to enable lenient mode.
+	 * @return A SvdParseOptions object with the new setting.
+	 */
+	public SvdParseOptions withLenient(boolean lenient) {
+		return new SvdParseOptions(lenient, mListener, mStringPool, mCacheSize, mPeripheralFilter);
+	}
+
+	/**
+	 * Set the receiver of the parse instrumentation events.
+	 *
+	 * @param listener The listener, or null to disable instrumentation.
+	 * @return A SvdParseOptions object with the new setting.
+	 */
+	public SvdParseOptions withListener(SvdParseListener listener) {
+		return new SvdParseOptions(mLenient, listener, mStringPool, mCacheSize, mPeripheralFilter);
+	}
+
+	/**
+	 * Set whether equal names and descriptions share a single string instance.
+	 * The pool belongs to the {@link SvdParser} and is shared by every device it
+	 * parses, which reduces the heap retained by devices kept in memory together.
+	 *
+	 * @param stringPool True to enable the string pool.
+	 * @return A SvdParseOptions object with the new setting.
+	 */
+	public SvdParseOptions withStringPool(boolean stringPool) {
+		return new SvdParseOptions(mLenient, mListener, stringPool, mCacheSize, mPeripheralFilter);
+	}
+
+	/**
+	 * Set the number of parsed files kept by a {@link SvdParser}. A file is parsed
+	 * again when its length or modification time change. The cache belongs to the
+	 * parser, so it only pays off when the same instance parses every file.
+	 *
+	 * @param cacheSize Maximum number of cached devices, 0 to disable caching.
+	 * @return A SvdParseOptions object with the new setting.
+	 */
+	public SvdParseOptions withCacheSize(int cacheSize) {
+		return new SvdParseOptions(mLenient, mListener, mStringPool, Math.max(0, cacheSize), mPeripheralFilter);
+	}
+
+	/**
+	 * Set the selection of peripherals to build. Only the name, group name and
+	 * base address of the peripherals that are not selected are read, which
+	 * saves most of the parse time when a few peripherals are needed.
+	 *
+	 * @param peripheralFilter The filter, or null to build every peripheral.
+	 * @return A SvdParseOptions object with the new setting.
+	 */
+	public SvdParseOptions withPeripheralFilter(SvdPeripheralFilter peripheralFilter) {
+		return new SvdParseOptions(mLenient, mListener, mStringPool, mCacheSize, peripheralFilter);
+	}
+
+	@Override
+	public String toString() {
+		return "SvdParseOptions{lenient=" + mLenient + ", listener=" + (mListener != null) + ", stringPool="
+				+ mStringPool + ", cacheSize=" + mCacheSize + ", peripheralFilter=" + (mPeripheralFilter != null) + "}";
+	}
+}
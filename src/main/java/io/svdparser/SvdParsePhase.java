@@ -0,0 +1,34 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * The phases of an SVD parse reported by {@link SvdParseStatistics}.
+ */
+public enum SvdParsePhase {
+	/** Reading and tokenizing the XML document into a DOM tree. */
+	XML,
+
+	/** Normalizing the DOM tree. */
+	NORMALIZE,
+
+	/** Device level elements, including the CPU description. */
+	DEVICE,
+
+	/** Peripheral level elements, including address blocks and interrupts. */
+	PERIPHERAL,
+
+	/** Cluster elements. */
+	CLUSTER,
+
+	/** Register elements. */
+	REGISTER,
+
+	/** Field elements. */
+	FIELD,
+
+	/** Enumerated values elements. */
+	ENUMERATED_VALUES;
+}
@@ -0,0 +1,157 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * This class holds the statistics of a single SVD parse. Statistics are only
+ * collected when a {@link SvdParseListener} is provided to the parser.
+ *
+ * <p>
+ * Phase times are exclusive: the time spent in a nested phase (for example the
+ * fields of a register) is not accounted to its parent phase, so the phase
+ * times add up to the total parse time.
+ * </p>
+ */
+public class SvdParseStatistics {
+	private static final SvdParsePhase[] PHASES = SvdParsePhase.values();
+
+	private final long[] mPhaseNanos = new long[PHASES.length];
+	private final int[] mElementCounts = new int[PHASES.length];
+	private int mDerivationCount;
+	private long mBytesRead = -1;
+	private long mTotalNanos;
+	private long mAllocatedBytes = -1;
+	private final long mStartNanos;
+	private final long mStartAllocatedBytes;
+
+	SvdParseStatistics() {
+		mStartAllocatedBytes = getCurrentThreadAllocatedBytes();
+		mStartNanos = System.nanoTime();
+	}
+
+	private static long getCurrentThreadAllocatedBytes() {
+		try {
+			ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+			if (bean instanceof com.sun.management.ThreadMXBean) {
+				com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+				if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled())
+					return sunBean.getCurrentThreadAllocatedBytes();
+			}
+		} catch (LinkageError | UnsupportedOperationException e) {
+			// The running JVM does not provide allocation accounting
+		}
+		return -1;
+	}
+
+	void addPhaseNanos(SvdParsePhase phase, long nanos) {
+		mPhaseNanos[phase.ordinal()] += nanos;
+	}
+
+	void addElements(SvdParsePhase phase, int count) {
+		mElementCounts[phase.ordinal()] += count;
+	}
+
+	void addDerivation() {
+		mDerivationCount++;
+	}
+
+	void setBytesRead(long bytes) {
+		mBytesRead = bytes;
+	}
+
+	void finish() {
+		mTotalNanos = System.nanoTime() - mStartNanos;
+		long allocated = getCurrentThreadAllocatedBytes();
+		if (allocated >= 0 && mStartAllocatedBytes >= 0)
+			mAllocatedBytes = allocated - mStartAllocatedBytes;
+	}
+
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.DEVICE))
+			return;
+		e.addArray(SvdMemoryCategory.DEVICE, mPhaseNanos.length, 8);
+		e.addArray(SvdMemoryCategory.DEVICE, mElementCounts.length, 4);
+	}
+
+	/**
+	 * Get the wall time spent in a phase, excluding nested phases.
+	 *
+	 * @param phase The parse phase.
+	 * @return The time spent in the phase, in nanoseconds.
+	 */
+	public long getPhaseNanos(SvdParsePhase phase) {
+		return mPhaseNanos[phase.ordinal()];
+	}
+
+	/**
+	 * Get the number of model objects created in a phase. Elements expanded from
+	 * {@code dim} arrays are counted once per instance, and the
+	 * {@link SvdParsePhase#ENUMERATED_VALUES} phase counts individual
+	 * {@link SvdEnumeratedValue} objects.
+	 *
+	 * @param phase The parse phase.
+	 * @return The number of created objects.
+	 */
+	public int getElementCount(SvdParsePhase phase) {
+		return mElementCounts[phase.ordinal()];
+	}
+
+	/**
+	 * Get the number of resolved {@code derivedFrom} references.
+	 *
+	 * @return The derivation count.
+	 */
+	public int getDerivationCount() {
+		return mDerivationCount;
+	}
+
+	/**
+	 * Get the size of the parsed input.
+	 *
+	 * @return The number of bytes read, or -1 if unknown.
+	 */
+	public long getBytesRead() {
+		return mBytesRead;
+	}
+
+	/**
+	 * Get the total wall time of the parse.
+	 *
+	 * @return The parse time, in nanoseconds.
+	 */
+	public long getTotalNanos() {
+		return mTotalNanos;
+	}
+
+	/**
+	 * Get the number of bytes allocated by the parsing thread.
+	 *
+	 * @return The allocated bytes, or -1 if the JVM does not support per-thread
+	 *         allocation accounting.
+	 */
+	public long getAllocatedBytes() {
+		return mAllocatedBytes;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SvdParseStatistics{totalNanos=" + mTotalNanos);
+		if (mBytesRead >= 0)
+			sb.append(", bytesRead=" + mBytesRead);
+		if (mAllocatedBytes >= 0)
+			sb.append(", allocatedBytes=" + mAllocatedBytes);
+		sb.append(", derivations=" + mDerivationCount);
+		sb.append(", phases=[");
+		for (SvdParsePhase phase : PHASES)
+			sb.append(phase + "{nanos=" + mPhaseNanos[phase.ordinal()] + ", elements="
+					+ mElementCounts[phase.ordinal()] + "},");
+		sb.append("]}");
+		return sb.toString();
+	}
+}
@@ -0,0 +1,403 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * A reusable SVD parser. Instances are thread-safe and meant to be shared, so
+ * the parse settings, the string pool and the device cache are set up once and
+ * reused by every call.
+ *
+ * <p>
+ * The XML document builder factory is discovered once per class loader and
+ * every thread keeps its own document builder, which is reset after each
+ * document. The static parse methods of {@link SvdDevice} delegate to
+ * {@link #getDefault()}.
+ * </p>
+ *
+ * <p>
+ * When a cache size is set, devices parsed from files are kept and returned
+ * again while the file length and modification time do not change. Cached
+ * devices are shared between callers, which is safe since they are immutable.
+ * </p>
+ *
+ * <p>
+ * Files may also be parsed asynchronously with progress reporting. Cancelling
+ * the returned future stops the parse at the next read of the document or at
+ * the next peripheral, dropping everything parsed so far.
+ * </p>
+ */
+public class SvdParser {
+	/**
+	 * Maximum number of distinct strings kept by a string pool.
+	 */
+	static final int MAX_POOLED_STRINGS = 1 << 16;
+
+	private static final SvdParser DEFAULT = new SvdParser(SvdParseOptions.DEFAULT);
+	private static final ThreadLocal<DocumentBuilder> BUILDERS = new ThreadLocal<>();
+	private static DocumentBuilderFactory sFactory;
+
+	private final SvdParseOptions mOptions;
+	private final ConcurrentMap<String, String> mStrings;
+	private final DeviceCache mCache;
+
+	private static class CacheEntry {
+		final long length;
+		final long lastModified;
+		final SvdDevice device;
+
+		CacheEntry(long length, long lastModified, SvdDevice device) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.device = device;
+		}
+	}
+
+	/**
+	 * Least recently used map of parsed devices, remembering the key it evicted
+	 * on the last insertion.
+	 */
+	private static class DeviceCache extends LinkedHashMap<String, CacheEntry> {
+		private static final long serialVersionUID = 1L;
+		final int capacity;
+		String evicted;
+
+		DeviceCache(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+			if (size() <= capacity)
+				return false;
+			evicted = eldest.getKey();
+			return true;
+		}
+	}
+
+	/**
+	 * A stream that keeps the underlying one open, since the XML parser closes
+	 * its input when done.
+	 */
+	private static class ShieldedInputStream extends FilterInputStream {
+		ShieldedInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	/**
+	 * Create a parser with the default settings.
+	 */
+	public SvdParser() {
+		this(SvdParseOptions.DEFAULT);
+	}
+
+	/**
+	 * Create a parser.
+	 *
+	 * @param options Parse settings.
+	 */
+	public SvdParser(SvdParseOptions options) {
+		mOptions = options;
+		mStrings = options.isStringPool() ? new ConcurrentHashMap<>() : null;
+		int cacheSize = options.getCacheSize();
+		mCache = (cacheSize > 0) ? new DeviceCache(cacheSize) : null;
+	}
+
+	/**
+	 * Get the parser used by the static parse methods of {@link SvdDevice}. It
+	 * uses the default settings, so it does not pool strings nor cache devices.
+	 *
+	 * @return The default SvdParser object.
+	 */
+	public static SvdParser getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Get the parse settings.
+	 *
+	 * @return The SvdParseOptions object.
+	 */
+	public SvdParseOptions getOptions() {
+		return mOptions;
+	}
+
+	/**
+	 * Obtain a SvdDevice object from an SVD file, or from the cache if the file
+	 * did not change since it was last parsed.
+	 *
+	 * @param f File to be read.
+	 * @return SvdDevice object.
+	 * @throws SAXException                 On XML parsing error.
+	 * @throws IOException                  On file operation error.
+	 * @throws ParserConfigurationException On XML parsing error.
+	 * @throws SvdParserException           On a SVD format error, unless lenient.
+	 */
+	public SvdDevice parse(File f) throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		return parse(f, null, null);
+	}
+
+	/**
+	 * Parse an SVD file on an executor, or get it from the cache if the file did
+	 * not change since it was last parsed.
+	 *
+	 * @param f        File to be read.
+	 * @param executor Executor running the parse.
+	 * @return A future completed with the SvdDevice object, or with the parse
+	 *         error. Cancelling it stops the parse.
+	 */
+	public CompletableFuture<SvdDevice> parseAsync(File f, Executor executor) {
+		return parseAsync(f, executor, null);
+	}
+
+	/**
+	 * Parse an SVD file on an executor, or get it from the cache if the file did
+	 * not change since it was last parsed.
+	 *
+	 * @param f        File to be read.
+	 * @param executor Executor running the parse.
+	 * @param progress Receiver of the parse progress, or null.
+	 * @return A future completed with the SvdDevice object, or with the parse
+	 *         error. Cancelling it stops the parse.
+	 */
+	public CompletableFuture<SvdDevice> parseAsync(File f, Executor executor, SvdProgressListener progress) {
+		CompletableFuture<SvdDevice> future = new CompletableFuture<>();
+		try {
+			executor.execute(() -> {
+				if (future.isDone())
+					return;
+				try {
+					future.complete(parse(f, progress, future::isCancelled));
+				} catch (CancellationException e) {
+					// The future is already cancelled
+				} catch (Throwable e) {
+					future.completeExceptionally(e);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.completeExceptionally(e);
+		}
+		return future;
+	}
+
+	private SvdDevice parse(File f, SvdProgressListener progress, BooleanSupplier cancelled)
+			throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		if (mCache == null)
+			return parseFile(f, progress, cancelled);
+
+		SvdCacheEvent event = new SvdCacheEvent();
+		event.begin();
+		String key = f.getAbsolutePath();
+		long length = f.length();
+		long lastModified = f.lastModified();
+		CacheEntry entry;
+		synchronized (mCache) {
+			entry = mCache.get(key);
+		}
+		boolean hit = entry != null && entry.length == length && entry.lastModified == lastModified;
+		SvdDevice device;
+		int cacheSize;
+		String evicted = null;
+		if (hit) {
+			device = entry.device;
+			cacheSize = getCacheSize();
+		} else {
+			// Parsing is done outside the lock, concurrent misses on the same file
+			// may parse it more than once
+			device = parseFile(f, progress, cancelled);
+			synchronized (mCache) {
+				mCache.evicted = null;
+				mCache.put(key, new CacheEntry(length, lastModified, device));
+				evicted = mCache.evicted;
+				cacheSize = mCache.size();
+			}
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.path = f.getPath();
+			event.hit = hit;
+			event.evicted = evicted != null;
+			event.evictedPath = evicted;
+			event.cacheSize = cacheSize;
+			event.commit();
+		}
+		return device;
+	}
+
+	/**
+	 * Obtain a SvdDevice object from a stream holding an SVD document. The
+	 * stream is not closed and the result is not cached.
+	 *
+	 * @param is Stream to be read.
+	 * @return SvdDevice object.
+	 * @throws SAXException                 On XML parsing error.
+	 * @throws IOException                  On stream read error.
+	 * @throws ParserConfigurationException On XML parsing error.
+	 * @throws SvdParserException           On a SVD format error, unless lenient.
+	 */
+	public SvdDevice parse(InputStream is)
+			throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdParseContext ctx = newContext();
+		ctx.enter(SvdParsePhase.XML);
+		DocumentBuilder db = getDocumentBuilder();
+		Document doc;
+		try {
+			doc = db.parse(new ShieldedInputStream(is));
+		} finally {
+			db.reset();
+		}
+		ctx.exit();
+		return SvdDevice.fromDocument(doc, ctx);
+	}
+
+	/**
+	 * Obtain a SvdDevice object from a DOM document. The result is not cached.
+	 *
+	 * @param doc Document object.
+	 * @return SvdDevice object.
+	 * @throws SvdParserException On a SVD format error, unless lenient.
+	 */
+	public SvdDevice parse(Document doc) throws SvdParserException {
+		return SvdDevice.fromDocument(doc, newContext());
+	}
+
+	/**
+	 * Get the number of devices in the cache.
+	 *
+	 * @return The number of cached devices.
+	 */
+	public int getCacheSize() {
+		if (mCache == null)
+			return 0;
+		synchronized (mCache) {
+			return mCache.size();
+		}
+	}
+
+	/**
+	 * Remove every device from the cache.
+	 */
+	public void clearCache() {
+		if (mCache == null)
+			return;
+		synchronized (mCache) {
+			mCache.clear();
+		}
+	}
+
+	private SvdDevice parseFile(File f, SvdProgressListener progress, BooleanSupplier cancelled)
+			throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdParseEvent event = new SvdParseEvent();
+		event.begin();
+		SvdParseContext ctx = newContext();
+		ctx.bytesRead(f.length());
+		ctx.enter(SvdParsePhase.XML);
+		Document doc;
+		if (progress == null && cancelled == null) {
+			doc = parseDocument(f);
+		} else {
+			ctx.setProgress(progress, cancelled);
+			doc = parseDocument(f, ctx);
+		}
+		ctx.exit();
+		SvdDevice device = SvdDevice.fromDocument(doc, ctx);
+		if (event.shouldCommit()) {
+			event.path = f.getPath();
+			event.size = f.length();
+			event.peripheralCount = device.getPeripherals().size();
+			for (SvdPeripheral p : device.getPeripherals())
+				event.registerCount += p.getRegisters().size();
+			event.commit();
+		}
+		return device;
+	}
+
+	private SvdParseContext newContext() {
+		return new SvdParseContext(mOptions, mStrings);
+	}
+
+	/**
+	 * Parse an XML file with the document builder of the calling thread.
+	 */
+	static Document parseDocument(File f) throws SAXException, IOException, ParserConfigurationException {
+		DocumentBuilder db = getDocumentBuilder();
+		try {
+			return db.parse(f);
+		} finally {
+			db.reset();
+		}
+	}
+
+	/**
+	 * Parse an XML file reporting the bytes read to a parse context.
+	 */
+	private static Document parseDocument(File f, SvdParseContext ctx)
+			throws SAXException, IOException, ParserConfigurationException {
+		DocumentBuilder db = getDocumentBuilder();
+		try (InputStream is = new SvdProgressInputStream(new FileInputStream(f), ctx)) {
+			InputSource source = new InputSource(is);
+			source.setSystemId(f.toURI().toString());
+			return db.parse(source);
+		} finally {
+			db.reset();
+		}
+	}
+
+	private static DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+		DocumentBuilder db = BUILDERS.get();
+		if (db == null) {
+			db = newDocumentBuilder();
+			BUILDERS.set(db);
+		}
+		return db;
+	}
+
+	/**
+	 * Factories are not guaranteed to be thread-safe, so builders are created
+	 * under the class lock. This only happens once per thread.
+	 */
+	private static synchronized DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+		if (sFactory == null) {
+			DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+			dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+			sFactory = dbf;
+		}
+		return sFactory.newDocumentBuilder();
+	}
+
+	@Override
+	public String toString() {
+		return "SvdParser{options=" + mOptions + ", cached=" + getCacheSize() + "}";
+	}
+}
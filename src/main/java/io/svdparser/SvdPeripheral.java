@@ -13,14 +13,20 @@ import org.w3c.dom.Element;
  * This class represents a device peripheral.
  */
 public class SvdPeripheral {
-	private String mName;
-	private String mVersion;
-	private String mDescription;
-	private String mGroupName;
-	private Long mBaseAddr;
-	private List<SvdAddressBlock> mAddressBlocks;
-	private List<SvdInterrupt> mInterrupts;
-	private List<SvdRegister> mRegisters;
+	private final String mName;
+	private final String mVersion;
+	private final String mDescription;
+	private final String mGroupName;
+	private final Long mBaseAddr;
+	private final String mAlternatePeripheral;
+	private final SvdPeripheral mDerivedFrom;
+	private final SvdDim mDim;
+	private final int mDimIndex;
+	private final List<SvdAddressBlock> mAddressBlocks;
+	private final List<SvdInterrupt> mInterrupts;
+	private final List<SvdCluster> mClusters;
+	private final List<SvdRegister> mRegisters;
+	private SvdFingerprint mFingerprint;
 
 	/**
 	 * Create an SvdPeripheral from a DOM element.
@@ -34,6 +40,12 @@ public class SvdPeripheral {
 	 */
 	public static ArrayList<SvdPeripheral> fromElement(Element el, int defaultSize, SvdAccess defaultAccess,
 			List<SvdPeripheral> otherPeriphs) throws SvdParserException {
+		return fromElement(el, defaultSize, defaultAccess, null, null, otherPeriphs, new SvdParseContext());
+	}
+
+	static ArrayList<SvdPeripheral> fromElement(Element el, int defaultSize, SvdAccess defaultAccess,
+			Long defaultResetValue, Long defaultResetMask, List<SvdPeripheral> otherPeriphs, SvdParseContext ctx)
+			throws SvdParserException {
 		// Element null check
 		if (el == null)
 			return null;
@@ -42,49 +54,60 @@ public class SvdPeripheral {
 		if (!el.getNodeName().equals("peripheral"))
 			throw new SvdParserException("Cannot build an SvdPeripheral from a " + el.getNodeName() + " node!");
 
+		SvdPeripheralParseEvent event = new SvdPeripheralParseEvent();
+		event.begin();
+		long startNanos = ctx.enter(SvdParsePhase.PERIPHERAL);
+
 		// Get a name. The name is parsed first to be able to provide better error msg
 		// on derivedFrom parsing...
-		Element nameElement = Utils.getSingleFirstOrderChildElementByTagName(el, "name");
-		String name = nameElement.getTextContent();
+		Element nameElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "name");
+		String name = ctx.getText(nameElement);
 
 		// Check if the peripheral derives from any other...
 		SvdPeripheral derivedFrom = null;
 		String derivedFromName = el.getAttribute("derivedFrom");
 		if (derivedFromName != null && !derivedFromName.equals("")) {
 			derivedFrom = Utils.getPeripheralFromName(otherPeriphs, derivedFromName);
-			if (derivedFrom == null)
-				throw new SvdParserException(
-						"Cannot find peripheral " + derivedFromName + " to derive " + name + " from...");
+			if (derivedFrom != null)
+				ctx.derivationResolved();
+			else
+				ctx.problem(el, SvdSeverity.ERROR, "unresolved-derived-from", new SvdParserException(
+						"Cannot find peripheral " + derivedFromName + " to derive " + name + " from..."));
 		}
 
 		// Parse dim elements
-		Element dimElement = Utils.getSingleFirstOrderChildElementByTagName(el, "dim");
-		Integer dim = (dimElement != null) ? Integer.decode(dimElement.getTextContent()) : 1;
-		Element dimIncrementElement = Utils.getSingleFirstOrderChildElementByTagName(el, "dimIncrement");
-		Integer dimIncrement = (dimIncrementElement != null) ? Integer.decode(dimIncrementElement.getTextContent()) : 0;
+		SvdDim dimInfo = SvdDim.fromElement(el, name);
+		int dim = (dimInfo != null) ? dimInfo.getDim() : 1;
+		long dimIncrement = (dimInfo != null) ? dimInfo.getDimIncrement() : 0;
 
 		// Get version
 		String version = null;
 		Element versionElement = Utils.getSingleFirstOrderChildElementByTagName(el, "version");
 		if (versionElement != null)
-			version = versionElement.getTextContent();
+			version = ctx.getText(versionElement);
 
 		// Get description
 		String description = null;
 		Element descriptionElement = Utils.getSingleFirstOrderChildElementByTagName(el, "description");
 		if (descriptionElement != null)
-			description = descriptionElement.getTextContent();
+			description = ctx.getText(descriptionElement);
 
 		// Get group name
 		String groupName = null;
 		Element groupNameElement = Utils.getSingleFirstOrderChildElementByTagName(el, "groupName");
 		if (groupNameElement != null)
-			groupName = groupNameElement.getTextContent();
+			groupName = ctx.getText(groupNameElement);
 
 		// Get the base addr
-		Element baseAddrElement = Utils.getSingleFirstOrderChildElementByTagName(el, "baseAddress");
+		Element baseAddrElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "baseAddress");
 		Long baseAddr = Long.decode(baseAddrElement.getTextContent());
 
+		// Get the peripheral this one is an alternate view of
+		String alternatePeripheral = null;
+		Element alternatePeripheralElement = Utils.getSingleFirstOrderChildElementByTagName(el, "alternatePeripheral");
+		if (alternatePeripheralElement != null)
+			alternatePeripheral = ctx.getText(alternatePeripheralElement);
+
 		// Try to parse a size element
 		Element sizeElement = Utils.getSingleFirstOrderChildElementByTagName(el, "size");
 		if (sizeElement != null)
@@ -92,55 +115,99 @@ public class SvdPeripheral {
 
 		// Peripheral-level access overrides the device default
 		Element accessElement = Utils.getSingleFirstOrderChildElementByTagName(el, "access");
-		if (accessElement != null)
-			defaultAccess = SvdAccess.fromString(accessElement.getTextContent());
+		defaultAccess = ctx.parseAccess(accessElement, defaultAccess);
+
+		// Peripheral-level reset values override the device defaults
+		defaultResetValue = ctx.parseReset(Utils.getSingleFirstOrderChildElementByTagName(el, "resetValue"),
+				defaultResetValue);
+		defaultResetMask = ctx.parseReset(Utils.getSingleFirstOrderChildElementByTagName(el, "resetMask"),
+				defaultResetMask);
 
 		// Parse address blocks
 		List<SvdAddressBlock> addressBlocks = new ArrayList<>();
-		for (Element e : Utils.getFirstOrderChildElementsByTagName(el, "addressBlock"))
-			addressBlocks.add(SvdAddressBlock.fromElement(e));
+		for (Element e : Utils.getFirstOrderChildElementsByTagName(el, "addressBlock")) {
+			SvdAddressBlock addressBlock = ctx.parseElement(e, null, () -> SvdAddressBlock.fromElement(e));
+			if (addressBlock != null)
+				addressBlocks.add(addressBlock);
+		}
 
 		// Parse interrupts
 		List<SvdInterrupt> interrupts = new ArrayList<>();
-		for (Element e : Utils.getFirstOrderChildElementsByTagName(el, "interrupt"))
-			interrupts.add(SvdInterrupt.fromElement(e));
+		for (Element e : Utils.getFirstOrderChildElementsByTagName(el, "interrupt")) {
+			SvdInterrupt interrupt = ctx.parseElement(e, null, () -> SvdInterrupt.fromElement(e));
+			if (interrupt != null)
+				interrupts.add(interrupt);
+		}
 
-		// Parse registers and clusters
+		// Parse the cluster tree and the flat list of registers
 		Element registersElement = Utils.getSingleFirstOrderChildElementByTagName(el, "registers");
-		List<SvdRegister> registers = SvdRegisters.fromElement(registersElement, defaultSize, defaultAccess);
+		List<SvdCluster> clusters = new ArrayList<>();
+		List<SvdRegister> registers = new ArrayList<>();
+		if (registersElement != null) {
+			if (!registersElement.getNodeName().equals("registers"))
+				throw new SvdParserException("Cannot build an SvdRegisters from a "
+						+ registersElement.getNodeName() + " node!");
+			clusters = SvdRegisters.getClusters(registersElement, defaultSize, defaultAccess, defaultResetValue,
+					defaultResetMask, ctx);
+			registers = SvdRegisters.flatten(clusters, SvdRegisters.getRegisters(registersElement, defaultSize,
+					defaultAccess, defaultResetValue, defaultResetMask, ctx));
+		}
 
-		ArrayList<SvdPeripheral> periph = new ArrayList<SvdPeripheral>();
-		for (Integer i = 0; i < dim; i++) {
-			Integer addrIncrement = i * dimIncrement;
-			String periphName = name.formatted(String.valueOf(i));
+		// Derived peripherals inherit what they do not override and extend the lists of
+		// their base. Lists are built once and shared by every array element.
+		if (derivedFrom != null) {
+			version = (version != null) ? version : derivedFrom.getVersion();
+			description = (description != null) ? description : derivedFrom.getDescription();
+			groupName = (groupName != null) ? groupName : derivedFrom.getGroupName();
+			addressBlocks = Utils.concat(derivedFrom.getAddressBlocks(), addressBlocks);
+			interrupts = Utils.concat(derivedFrom.getInterrupts(), interrupts);
+			clusters = Utils.concat(derivedFrom.getClusters(), clusters);
+			registers = Utils.concat(derivedFrom.getRegisters(), registers);
+		} else {
+			addressBlocks = List.copyOf(addressBlocks);
+			interrupts = List.copyOf(interrupts);
+			clusters = List.copyOf(clusters);
+			registers = List.copyOf(registers);
+		}
+
+		ArrayList<SvdPeripheral> periph = new ArrayList<SvdPeripheral>(dim);
+		for (int i = 0; i < dim; i++) {
+			long addrIncrement = i * dimIncrement;
+			String periphName = (dimInfo != null) ? dimInfo.getElementName(i) : name;
 			periph.add(new SvdPeripheral(derivedFrom, periphName, version, description, groupName,
-					baseAddr + addrIncrement, addressBlocks, interrupts, registers));
+					baseAddr + addrIncrement, alternatePeripheral, dimInfo, i, addressBlocks, interrupts, clusters,
+					registers));
+		}
+		ctx.count(SvdParsePhase.PERIPHERAL, dim);
+		ctx.exit();
+		if (startNanos != 0)
+			ctx.peripheralParsed(name, startNanos);
+		event.end();
+		if (event.shouldCommit()) {
+			event.name = name;
+			event.instanceCount = dim;
+			event.registerCount = registers.size();
+			event.commit();
 		}
 		return periph;
 	}
 
 	private SvdPeripheral(SvdPeripheral derivedFrom, String name, String version, String description, String groupName,
-			Long baseAddr, List<SvdAddressBlock> addressBlocks, List<SvdInterrupt> interrupts,
-			List<SvdRegister> registers) {
+			Long baseAddr, String alternatePeripheral, SvdDim dim, int dimIndex, List<SvdAddressBlock> addressBlocks,
+			List<SvdInterrupt> interrupts, List<SvdCluster> clusters, List<SvdRegister> registers) {
 		mName = name;
 		mVersion = version;
 		mDescription = description;
 		mGroupName = groupName;
 		mBaseAddr = baseAddr;
-		mAddressBlocks = new ArrayList<SvdAddressBlock>();
-		mInterrupts = new ArrayList<SvdInterrupt>();
-		mRegisters = new ArrayList<SvdRegister>();
-		if (derivedFrom != null) {
-			mVersion = (mVersion != null) ? mVersion : derivedFrom.getVersion();
-			mDescription = (mDescription != null) ? mDescription : derivedFrom.getDescription();
-			mGroupName = (mGroupName != null) ? mGroupName : derivedFrom.getGroupName();
-			mAddressBlocks.addAll(derivedFrom.getAddressBlocks());
-			mInterrupts.addAll(derivedFrom.getInterrupts());
-			mRegisters.addAll(derivedFrom.getRegisters());
-		}
-		mAddressBlocks.addAll(addressBlocks);
-		mInterrupts.addAll(interrupts);
-		mRegisters.addAll(registers);
+		mAlternatePeripheral = alternatePeripheral;
+		mDerivedFrom = derivedFrom;
+		mDim = dim;
+		mDimIndex = dimIndex;
+		mAddressBlocks = addressBlocks;
+		mInterrupts = interrupts;
+		mClusters = clusters;
+		mRegisters = registers;
 	}
 
 	/**
@@ -188,10 +255,51 @@ public class SvdPeripheral {
 		return mBaseAddr;
 	}
 
+	/**
+	 * Get the name of the peripheral this one is an alternate view of. Alternate
+	 * peripherals share their address range with the named peripheral.
+	 *
+	 * @return The alternate peripheral name, or null if not specified.
+	 */
+	public String getAlternatePeripheral() {
+		return mAlternatePeripheral;
+	}
+
+	/**
+	 * Get the peripheral this one derives from. The address blocks, interrupts,
+	 * clusters and registers of a derived peripheral start with the ones of its
+	 * base.
+	 *
+	 * @return The base SvdPeripheral object, or null if the peripheral is not
+	 *         derived.
+	 */
+	public SvdPeripheral getDerivedFrom() {
+		return mDerivedFrom;
+	}
+
+	/**
+	 * Get the array declaration this peripheral was expanded from.
+	 *
+	 * @return The SvdDim object, or null if the peripheral is not part of an
+	 *         array.
+	 */
+	public SvdDim getDim() {
+		return mDim;
+	}
+
+	/**
+	 * Get the position of this peripheral in its array.
+	 *
+	 * @return The array index, or 0 if the peripheral is not part of an array.
+	 */
+	public int getDimIndex() {
+		return mDimIndex;
+	}
+
 	/**
 	 * Get a list of address blocks that the peripheral contains.
 	 *
-	 * @return A list of SvdAddressBlock objects.
+	 * @return An unmodifiable list of SvdAddressBlock objects.
 	 */
 	public List<SvdAddressBlock> getAddressBlocks() {
 		return mAddressBlocks;
@@ -200,22 +308,131 @@ public class SvdPeripheral {
 	/**
 	 * Get the list of interrupts associated with this peripheral.
 	 *
-	 * @return A list of SvdInterrupt objects, empty if none are defined.
+	 * @return An unmodifiable list of SvdInterrupt objects, empty if none are
+	 *         defined.
 	 */
 	public List<SvdInterrupt> getInterrupts() {
 		return mInterrupts;
 	}
 
 	/**
-	 * Get a list of registers that the peripheral contains.
+	 * Get the clusters placed directly inside the peripheral. Together with
+	 * {@link SvdCluster#getClusters()} and {@link SvdCluster#getRegisters()} they
+	 * form the register tree of the peripheral.
+	 *
+	 * @return An unmodifiable list of SvdCluster objects.
+	 */
+	public List<SvdCluster> getClusters() {
+		return mClusters;
+	}
+
+	/**
+	 * Get a flat list of all the registers that the peripheral contains. The
+	 * registers of every cluster come first, followed by the registers placed
+	 * directly inside the peripheral.
 	 *
-	 * @return A list of SvdRegister objects.
+	 * @return An unmodifiable list of SvdRegister objects.
 	 */
 	public List<SvdRegister> getRegisters() {
 		return mRegisters;
 	}
 
+	/**
+	 * Account the memory retained by this object and everything it references.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.PERIPHERALS))
+			return;
+		if (mDerivedFrom != null)
+			mDerivedFrom.estimateMemory(e);
+		e.addString(mName);
+		e.addString(mVersion);
+		e.addString(mDescription);
+		e.addString(mGroupName);
+		e.addBoxed(mBaseAddr, SvdMemoryCategory.PERIPHERALS);
+		e.addString(mAlternatePeripheral);
+		if (mDim != null)
+			mDim.estimateMemory(e, SvdMemoryCategory.PERIPHERALS);
+		e.addList(mAddressBlocks, SvdMemoryCategory.PERIPHERALS);
+		for (SvdAddressBlock ab : mAddressBlocks)
+			ab.estimateMemory(e);
+		e.addList(mInterrupts, SvdMemoryCategory.PERIPHERALS);
+		for (SvdInterrupt irq : mInterrupts)
+			irq.estimateMemory(e);
+		e.addList(mClusters, SvdMemoryCategory.CLUSTERS);
+		for (SvdCluster c : mClusters)
+			c.estimateMemory(e);
+		e.addList(mRegisters, SvdMemoryCategory.REGISTERS);
+		for (SvdRegister r : mRegisters)
+			r.estimateMemory(e);
+		e.add(mFingerprint, SvdMemoryCategory.PERIPHERALS);
+	}
+
+	/**
+	 * Get the structural fingerprint of the peripheral, covering its address
+	 * blocks, interrupts, clusters and registers. It is computed on first use and
+	 * cached.
+	 *
+	 * @return A SvdFingerprint object.
+	 */
+	public SvdFingerprint getFingerprint() {
+		SvdFingerprint fingerprint = mFingerprint;
+		if (fingerprint == null) {
+			SvdFingerprint.Hasher hasher = new SvdFingerprint.Hasher("peripheral").putString(mName)
+					.putString(mVersion).putString(mDescription).putString(mGroupName).putLong(mBaseAddr)
+					.putString(mAlternatePeripheral);
+			hasher.putInt(mAddressBlocks.size());
+			for (SvdAddressBlock ab : mAddressBlocks)
+				hasher.putFingerprint(ab.getFingerprint());
+			hasher.putInt(mInterrupts.size());
+			for (SvdInterrupt irq : mInterrupts)
+				hasher.putFingerprint(irq.getFingerprint());
+			hasher.putInt(mClusters.size());
+			for (SvdCluster c : mClusters)
+				hasher.putFingerprint(c.getFingerprint());
+			// Registers inside clusters are covered by the cluster fingerprints, so
+			// their position in the flat list does not matter
+			int direct = 0;
+			for (SvdRegister r : mRegisters) {
+				if (r.getParent() == null) {
+					hasher.putFingerprint(r.getFingerprint());
+					direct++;
+				}
+			}
+			hasher.putInt(direct);
+			fingerprint = hasher.finish();
+			mFingerprint = fingerprint;
+		}
+		return fingerprint;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdPeripheral))
+			return false;
+		return getFingerprint().equals(((SvdPeripheral) obj).getFingerprint());
+	}
+
+	@Override
+	public int hashCode() {
+		return getFingerprint().hashCode();
+	}
+
 	public String toString() {
+		return toString(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Get a string representation of the peripheral limited in size. Registers
+	 * are appended until the limit is reached.
+	 *
+	 * @param maxLength Maximum length of the result.
+	 * @return A string of at most maxLength characters, ending in "..." when
+	 *         truncated.
+	 */
+	public String toString(int maxLength) {
 		StringBuilder sb = new StringBuilder();
 		sb.append("SvdPeripheral{");
 		sb.append("name=\"" + mName + "\"");
@@ -233,10 +450,13 @@ public class SvdPeripheral {
 			sb.append("]");
 		}
 		sb.append(", regs=[");
-		for (SvdRegister r : mRegisters)
+		for (SvdRegister r : mRegisters) {
+			if (sb.length() > maxLength)
+				break;
 			sb.append(r.toString() + ",");
+		}
 		sb.append("]");
 		sb.append("}");
-		return sb.toString();
+		return Utils.truncate(sb, maxLength);
 	}
 }
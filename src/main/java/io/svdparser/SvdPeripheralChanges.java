@@ -0,0 +1,89 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The peripherals that changed between two parses of the same file by an
+ * {@link SvdIncrementalParser}.
+ */
+public class SvdPeripheralChanges {
+	private final SvdDevice mDevice;
+	private final List<SvdPeripheral> mAdded;
+	private final List<SvdPeripheral> mRemoved;
+	private final List<SvdPeripheral> mModified;
+
+	SvdPeripheralChanges(SvdDevice device, List<SvdPeripheral> added, List<SvdPeripheral> removed,
+			List<SvdPeripheral> modified) {
+		mDevice = device;
+		mAdded = Collections.unmodifiableList(added);
+		mRemoved = Collections.unmodifiableList(removed);
+		mModified = Collections.unmodifiableList(modified);
+	}
+
+	/**
+	 * Get the device resulting from the latest parse.
+	 *
+	 * @return The SvdDevice object.
+	 */
+	public SvdDevice getDevice() {
+		return mDevice;
+	}
+
+	/**
+	 * Get the peripherals that did not exist in the previous parse.
+	 *
+	 * @return A list of SvdPeripheral objects of the new device.
+	 */
+	public List<SvdPeripheral> getAdded() {
+		return mAdded;
+	}
+
+	/**
+	 * Get the peripherals that no longer exist.
+	 *
+	 * @return A list of SvdPeripheral objects of the previous device.
+	 */
+	public List<SvdPeripheral> getRemoved() {
+		return mRemoved;
+	}
+
+	/**
+	 * Get the peripherals that were rebuilt, either because their definition
+	 * changed or because a peripheral they derive from was rebuilt.
+	 *
+	 * @return A list of SvdPeripheral objects of the new device.
+	 */
+	public List<SvdPeripheral> getModified() {
+		return mModified;
+	}
+
+	/**
+	 * Check whether any peripheral changed.
+	 *
+	 * @return True if no peripheral was added, removed or modified.
+	 */
+	public boolean isEmpty() {
+		return mAdded.isEmpty() && mRemoved.isEmpty() && mModified.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SvdPeripheralChanges{added=[");
+		for (SvdPeripheral p : mAdded)
+			sb.append(p.getName() + ",");
+		sb.append("], removed=[");
+		for (SvdPeripheral p : mRemoved)
+			sb.append(p.getName() + ",");
+		sb.append("], modified=[");
+		for (SvdPeripheral p : mModified)
+			sb.append(p.getName() + ",");
+		sb.append("]}");
+		return sb.toString();
+	}
+}
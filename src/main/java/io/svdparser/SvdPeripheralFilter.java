@@ -0,0 +1,80 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Selection of the peripherals to build in a partial parse. Peripherals that
+ * are not accepted are not built, unless a selected peripheral derives from
+ * them. In that case they are built to resolve the derivation but are not part
+ * of the device peripheral list.
+ *
+ * <p>
+ * The filter is evaluated on every peripheral name, so arrays of peripherals
+ * are tested once per element. Derived peripherals without a group name are
+ * tested with the group name of their base.
+ * </p>
+ *
+ * @see SvdParseOptions#withPeripheralFilter(SvdPeripheralFilter)
+ */
+@FunctionalInterface
+public interface SvdPeripheralFilter {
+	/**
+	 * Decide whether a peripheral is built.
+	 *
+	 * @param name        The peripheral name.
+	 * @param groupName   The peripheral group name, or null if not specified.
+	 * @param baseAddress The peripheral base address.
+	 * @return True to build the peripheral.
+	 */
+	boolean accept(String name, String groupName, long baseAddress);
+
+	/**
+	 * Get a filter accepting the peripherals accepted by this filter or by
+	 * another one.
+	 *
+	 * @param other The other filter.
+	 * @return The combined filter.
+	 */
+	default SvdPeripheralFilter or(SvdPeripheralFilter other) {
+		return (name, groupName, baseAddress) -> accept(name, groupName, baseAddress)
+				|| other.accept(name, groupName, baseAddress);
+	}
+
+	/**
+	 * Get a filter accepting peripherals by name.
+	 *
+	 * @param names The names of the peripherals to build.
+	 * @return The filter.
+	 */
+	static SvdPeripheralFilter names(String... names) {
+		Set<String> set = Set.copyOf(Arrays.asList(names));
+		return (name, groupName, baseAddress) -> set.contains(name);
+	}
+
+	/**
+	 * Get a filter accepting peripherals by group name.
+	 *
+	 * @param groupNames The group names of the peripherals to build.
+	 * @return The filter.
+	 */
+	static SvdPeripheralFilter groupNames(String... groupNames) {
+		Set<String> set = Set.copyOf(Arrays.asList(groupNames));
+		return (name, groupName, baseAddress) -> groupName != null && set.contains(groupName);
+	}
+
+	/**
+	 * Get a filter accepting peripherals whose base address is in a range.
+	 *
+	 * @param start First address of the range, inclusive.
+	 * @param end   Last address of the range, exclusive.
+	 * @return The filter.
+	 */
+	static SvdPeripheralFilter addressRange(long start, long end) {
+		return (name, groupName, baseAddress) -> baseAddress >= start && baseAddress < end;
+	}
+}
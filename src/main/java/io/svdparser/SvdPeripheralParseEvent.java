@@ -0,0 +1,37 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event emitted for every {@code <peripheral>} element whose
+ * parse takes longer than the configured threshold. Disabled by default, enable
+ * {@code io.svdparser.PeripheralParse} in the recording settings.
+ */
+@Name("io.svdparser.PeripheralParse")
+@Label("SVD Peripheral Parse")
+@Category("SVD Parser")
+@Description("Slow parse of an SVD peripheral element")
+@Enabled(false)
+@StackTrace(false)
+@Threshold("10 ms")
+final class SvdPeripheralParseEvent extends Event {
+	@Label("Name")
+	String name;
+
+	@Label("Instances")
+	int instanceCount;
+
+	@Label("Registers")
+	int registerCount;
+}
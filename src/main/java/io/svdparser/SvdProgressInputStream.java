@@ -0,0 +1,46 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A stream reporting the bytes read to a parse context, which may cancel the
+ * parse between reads.
+ */
+class SvdProgressInputStream extends FilterInputStream {
+	private final SvdParseContext mContext;
+
+	SvdProgressInputStream(InputStream in, SvdParseContext ctx) {
+		super(in);
+		mContext = ctx;
+	}
+
+	@Override
+	public int read() throws IOException {
+		int b = super.read();
+		if (b >= 0)
+			mContext.bytesConsumed(1);
+		return b;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		int n = super.read(b, off, len);
+		if (n > 0)
+			mContext.bytesConsumed(n);
+		return n;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		long skipped = super.skip(n);
+		if (skipped > 0)
+			mContext.bytesConsumed(skipped);
+		return skipped;
+	}
+}
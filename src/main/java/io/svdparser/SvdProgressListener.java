@@ -0,0 +1,27 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * Receiver of the progress of an asynchronous parse. It is called from the
+ * thread running the parse, first while the XML document is read and then
+ * after every {@code <peripheral>} element has been turned into peripherals.
+ *
+ * @see SvdParser#parseAsync(java.io.File, java.util.concurrent.Executor,
+ *      SvdProgressListener)
+ */
+@FunctionalInterface
+public interface SvdProgressListener {
+	/**
+	 * Called when the parse advances.
+	 *
+	 * @param bytesRead       Number of bytes of the file read so far.
+	 * @param totalBytes      Length of the file, in bytes.
+	 * @param peripheralsDone Number of peripheral elements parsed so far.
+	 * @param peripheralCount Number of peripheral elements in the file, or 0
+	 *                        while the XML document is being read.
+	 */
+	void progress(long bytesRead, long totalBytes, int peripheralsDone, int peripheralCount);
+}
@@ -0,0 +1,56 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * Enumeration of the {@code <readAction>} values defined by the CMSIS-SVD
+ * specification. They describe the side effects of reading a register or
+ * field. When not specified, reads have no side effects.
+ */
+public enum SvdReadAction {
+	/** The register is cleared after a read. */
+	CLEAR("clear"),
+
+	/** The register is set after a read. */
+	SET("set"),
+
+	/** The register is modified in some way after a read. */
+	MODIFY("modify"),
+
+	/**
+	 * A read has side effects outside of the register, such as popping a FIFO or
+	 * acknowledging an event.
+	 */
+	MODIFY_EXTERNAL("modifyExternal");
+
+	private final String mSvdValue;
+
+	SvdReadAction(String svdValue) {
+		mSvdValue = svdValue;
+	}
+
+	/**
+	 * Get the SVD string representation of this value.
+	 *
+	 * @return The SVD string, e.g. {@code "modifyExternal"}.
+	 */
+	public String getSvdValue() {
+		return mSvdValue;
+	}
+
+	/**
+	 * Parse a {@link SvdReadAction} from its SVD string representation.
+	 *
+	 * @param value The string as it appears in the SVD XML.
+	 * @return The matching {@link SvdReadAction} constant.
+	 * @throws SvdParserException if the value does not match any known action.
+	 */
+	public static SvdReadAction fromString(String value) throws SvdParserException {
+		for (SvdReadAction a : values())
+			if (a.mSvdValue.equals(value))
+				return a;
+		throw new SvdParserException("Unknown readAction value: \"" + value + "\"");
+	}
+}
@@ -13,12 +13,26 @@ import org.w3c.dom.Element;
  * This class represents a register of a device peripheral.
  */
 public class SvdRegister {
-	private String mName;
-	private String mDescription;
-	private Integer mSize;
-	private Integer mOffset;
-	private SvdAccess mAccess;
-	private List<SvdField> mFields;
+	private final SvdCluster mParent;
+	private final String mName;
+	private final String mDescription;
+	private final Integer mSize;
+	private final int mOffset;
+	private final int mAbsoluteOffset;
+	private final SvdAccess mAccess;
+	private final Long mResetValue;
+	private final Long mResetMask;
+	private final SvdModifiedWriteValues mModifiedWriteValues;
+	private final SvdReadAction mReadAction;
+	private final SvdWriteConstraint mWriteConstraint;
+	private final String mAlternateGroup;
+	private final String mAlternateRegister;
+	private final SvdDim mDim;
+	private final int mDimIndex;
+	private final List<SvdField> mFields;
+	private String mFullName;
+	private SvdFingerprint mFingerprint;
+	private SvdAccessMasks mAccessMasks;
 
 	/**
 	 * Create an SvdRegister from a DOM element.
@@ -31,25 +45,11 @@ public class SvdRegister {
 	 */
 	public static List<SvdRegister> fromElement(Element el, Integer defaultSize, SvdAccess defaultAccess)
 			throws SvdParserException {
-		return fromElement(el, defaultSize, defaultAccess, 0, "");
+		return fromElement(el, defaultSize, defaultAccess, null, null, new SvdParseContext());
 	}
 
-	/**
-	 * Create an SvdRegister from a DOM element, adjusting address and name for
-	 * cluster membership.
-	 *
-	 * @param el            DOM element object.
-	 * @param defaultSize   Default register size inherited from the parent.
-	 * @param defaultAccess Default access mode inherited from the parent.
-	 * @param baseOffset    Address offset already accumulated from enclosing
-	 *                      clusters.
-	 * @param namePrefix    Name prefix to prepend (e.g. "CH_" for a cluster named
-	 *                      CH).
-	 * @return A list of SvdRegister objects (more than one when dim > 1).
-	 * @throws SvdParserException on SVD format errors.
-	 */
-	static List<SvdRegister> fromElement(Element el, Integer defaultSize, SvdAccess defaultAccess, int baseOffset,
-			String namePrefix) throws SvdParserException {
+	static List<SvdRegister> fromElement(Element el, Integer defaultSize, SvdAccess defaultAccess,
+			Long defaultResetValue, Long defaultResetMask, SvdParseContext ctx) throws SvdParserException {
 		// Element null check
 		if (el == null)
 			return null;
@@ -58,19 +58,20 @@ public class SvdRegister {
 		if (!el.getNodeName().equals("register"))
 			throw new SvdParserException("Cannot build an SvdRegister from a " + el.getNodeName() + " node!");
 
-		// Parse dim elements
-		Element dimElement = Utils.getSingleFirstOrderChildElementByTagName(el, "dim");
-		Integer dim = (dimElement != null) ? Integer.decode(dimElement.getTextContent()) : 1;
-		Element dimIncrementElement = Utils.getSingleFirstOrderChildElementByTagName(el, "dimIncrement");
-		Integer dimIncrement = (dimIncrementElement != null) ? Integer.decode(dimIncrementElement.getTextContent()) : 0;
+		ctx.enter(SvdParsePhase.REGISTER);
 
 		// Get a name
-		Element nameElement = Utils.getSingleFirstOrderChildElementByTagName(el, "name");
-		String name = nameElement.getTextContent();
+		Element nameElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "name");
+		String name = ctx.getText(nameElement);
+
+		// Parse dim elements
+		SvdDim dimInfo = SvdDim.fromElement(el, name);
+		int dim = (dimInfo != null) ? dimInfo.getDim() : 1;
+		int dimIncrement = (dimInfo != null) ? (int) dimInfo.getDimIncrement() : 0;
 
 		// Get a description
 		Element descriptionElement = Utils.getSingleFirstOrderChildElementByTagName(el, "description");
-		String description = (descriptionElement != null) ? descriptionElement.getTextContent() : null;
+		String description = (descriptionElement != null) ? ctx.getText(descriptionElement) : null;
 
 		// Get the size
 		Element sizeElement = Utils.getSingleFirstOrderChildElementByTagName(el, "size");
@@ -78,53 +79,140 @@ public class SvdRegister {
 			defaultSize = Integer.decode(sizeElement.getTextContent());
 
 		// Get the offset
-		Element offsetElement = Utils.getSingleFirstOrderChildElementByTagName(el, "addressOffset");
+		Element offsetElement = Utils.getRequiredFirstOrderChildElementByTagName(el, "addressOffset");
 		Integer offset = Integer.decode(offsetElement.getTextContent());
 
 		// Parse access (register-level overrides inherited default)
-		SvdAccess access = defaultAccess;
 		Element accessElement = Utils.getSingleFirstOrderChildElementByTagName(el, "access");
-		if (accessElement != null)
-			access = SvdAccess.fromString(accessElement.getTextContent());
+		SvdAccess access = ctx.parseAccess(accessElement, defaultAccess);
+
+		// Parse reset value and mask, inherited from the enclosing elements
+		Long resetValue = ctx.parseReset(Utils.getSingleFirstOrderChildElementByTagName(el, "resetValue"),
+				defaultResetValue);
+		Long resetMask = ctx.parseReset(Utils.getSingleFirstOrderChildElementByTagName(el, "resetMask"),
+				defaultResetMask);
+
+		// Parse write and read side effects, inherited by the fields
+		Element modifiedWriteValuesElement = Utils.getSingleFirstOrderChildElementByTagName(el,
+				"modifiedWriteValues");
+		SvdModifiedWriteValues modifiedWriteValues = ctx.parseModifiedWriteValues(modifiedWriteValuesElement, null);
+		Element readActionElement = Utils.getSingleFirstOrderChildElementByTagName(el, "readAction");
+		SvdReadAction readAction = ctx.parseReadAction(readActionElement, null);
+		Element writeConstraintElement = Utils.getSingleFirstOrderChildElementByTagName(el, "writeConstraint");
+		SvdWriteConstraint writeConstraint = ctx.parseElement(writeConstraintElement, null,
+				() -> SvdWriteConstraint.fromElement(writeConstraintElement));
+
+		// Get the alternate group and register, describing intended overlaps
+		Element alternateGroupElement = Utils.getSingleFirstOrderChildElementByTagName(el, "alternateGroup");
+		String alternateGroup = (alternateGroupElement != null) ? ctx.getText(alternateGroupElement) : null;
+		Element alternateRegisterElement = Utils.getSingleFirstOrderChildElementByTagName(el, "alternateRegister");
+		String alternateRegister = (alternateRegisterElement != null) ? ctx.getText(alternateRegisterElement)
+				: null;
 
 		// Parse fields
 		List<SvdField> fields = new ArrayList<SvdField>();
 		Element fieldsElement = Utils.getSingleFirstOrderChildElementByTagName(el, "fields");
 		if (fieldsElement != null) {
 			for (Element e : Utils.getFirstOrderChildElementsByTagName(fieldsElement, "field")) {
-				fields.add(SvdField.fromElement(e, access));
+				SvdField field = ctx.parseElement(e, null,
+						() -> SvdField.fromElement(e, access, modifiedWriteValues, readAction, ctx));
+				if (field != null)
+					fields.add(field);
 			}
 		}
 
-		ArrayList<SvdRegister> regs = new ArrayList<SvdRegister>();
-		for (Integer i = 0; i < dim; i++) {
-			Integer addrIncrement = i * dimIncrement;
-			String regName = namePrefix + name.formatted(String.valueOf(i));
-			regs.add(new SvdRegister(regName, description, defaultSize, baseOffset + offset + addrIncrement, access,
-					fields));
+		fields = List.copyOf(fields);
+		ArrayList<SvdRegister> regs = new ArrayList<SvdRegister>(dim);
+		for (int i = 0; i < dim; i++) {
+			int addrIncrement = i * dimIncrement;
+			String regName = (dimInfo != null) ? dimInfo.getElementName(i) : name;
+			regs.add(new SvdRegister(null, regName, description, defaultSize, offset + addrIncrement, access,
+					resetValue, resetMask, modifiedWriteValues, readAction, writeConstraint, alternateGroup,
+					alternateRegister, dimInfo, i, fields));
 		}
+		ctx.count(SvdParsePhase.REGISTER, dim);
+		ctx.exit();
 		return regs;
 	}
 
-	private SvdRegister(String name, String description, int size, int offset, SvdAccess access,
+	private SvdRegister(SvdCluster parent, String name, String description, int size, int offset, SvdAccess access,
+			Long resetValue, Long resetMask, SvdModifiedWriteValues modifiedWriteValues, SvdReadAction readAction,
+			SvdWriteConstraint writeConstraint, String alternateGroup, String alternateRegister, SvdDim dim, int dimIndex,
 			List<SvdField> fields) {
+		mParent = parent;
 		mName = name;
 		mDescription = description;
 		mSize = size;
 		mOffset = offset;
+		mAbsoluteOffset = (parent != null) ? parent.getOffset() + offset : offset;
 		mAccess = access;
+		mResetValue = resetValue;
+		mResetMask = resetMask;
+		mModifiedWriteValues = modifiedWriteValues;
+		mReadAction = readAction;
+		mWriteConstraint = writeConstraint;
+		mAlternateGroup = alternateGroup;
+		mAlternateRegister = alternateRegister;
+		mDim = dim;
+		mDimIndex = dimIndex;
 		mFields = fields;
 	}
 
 	/**
-	 * Get the register name.
+	 * Get a copy of this register placed inside a cluster. The copy shares
+	 * everything but the parent.
+	 */
+	SvdRegister withParent(SvdCluster parent) {
+		return new SvdRegister(parent, mName, mDescription, mSize, mOffset, mAccess, mResetValue, mResetMask,
+				mModifiedWriteValues, mReadAction, mWriteConstraint, mAlternateGroup, mAlternateRegister, mDim,
+				mDimIndex, mFields);
+	}
+
+	/**
+	 * Get a copy of this register outside of any cluster, with its flattened name
+	 * and offset moved by a prefix and a base offset.
+	 */
+	SvdRegister withPrefix(String namePrefix, int baseOffset) {
+		return new SvdRegister(null, namePrefix + getName(), mDescription, mSize, baseOffset + mAbsoluteOffset, mAccess,
+				mResetValue, mResetMask, mModifiedWriteValues, mReadAction, mWriteConstraint, mAlternateGroup,
+				mAlternateRegister, mDim, mDimIndex, mFields);
+	}
+
+	/**
+	 * Get the register name, prefixed with the names of its enclosing clusters
+	 * (e.g. a register {@code CONFIG} inside cluster {@code CH} is named
+	 * {@code CH_CONFIG}). The name is built on first use and cached.
 	 * 
 	 * @return A string representing a register name.
 	 */
 	public String getName() {
+		String name = mFullName;
+		if (name == null) {
+			name = (mParent != null) ? mParent.getPrefix() + mName : mName;
+			mFullName = name;
+		}
+		return name;
+	}
+
+	/**
+	 * Get the register name as declared inside its cluster, without any prefix.
+	 *
+	 * @return The local register name.
+	 */
+	public String getLocalName() {
 		return mName;
 	}
 
+	/**
+	 * Get the cluster containing this register.
+	 *
+	 * @return The parent SvdCluster object, or null if the register belongs
+	 *         directly to a peripheral.
+	 */
+	public SvdCluster getParent() {
+		return mParent;
+	}
+
 	/**
 	 * Get the register description.
 	 * 
@@ -144,11 +232,29 @@ public class SvdRegister {
 	}
 
 	/**
-	 * Get the register offset.
+	 * Get the register offset from the peripheral base address, including the
+	 * offsets of its enclosing clusters.
 	 *
 	 * @return The offset of the register.
 	 */
 	public Integer getOffset() {
+		return mAbsoluteOffset;
+	}
+
+	/**
+	 * Get the register offset from the peripheral base address without boxing.
+	 */
+	int getAbsoluteOffset() {
+		return mAbsoluteOffset;
+	}
+
+	/**
+	 * Get the register offset from its parent, either the enclosing cluster or
+	 * the peripheral.
+	 *
+	 * @return The local offset of the register.
+	 */
+	public int getLocalOffset() {
 		return mOffset;
 	}
 
@@ -161,26 +267,203 @@ public class SvdRegister {
 		return mAccess;
 	}
 
+	/**
+	 * Get the value of the register after reset, inherited from the enclosing
+	 * cluster, peripheral or device when not specified by the register.
+	 *
+	 * @return The reset value, or null if not specified at any level.
+	 */
+	public Long getResetValue() {
+		return mResetValue;
+	}
+
+	/**
+	 * Get the bits of the register that have a defined value after reset,
+	 * inherited like the reset value.
+	 *
+	 * @return The reset mask, or null if not specified at any level.
+	 */
+	public Long getResetMask() {
+		return mResetMask;
+	}
+
+	/**
+	 * Get the effect of writes on this register. Fields without their own value
+	 * inherit this one.
+	 *
+	 * @return The {@link SvdModifiedWriteValues} value, or null if not specified.
+	 */
+	public SvdModifiedWriteValues getModifiedWriteValues() {
+		return mModifiedWriteValues;
+	}
+
+	/**
+	 * Get the side effect of reading this register. Fields without their own
+	 * value inherit this one.
+	 *
+	 * @return The {@link SvdReadAction} value, or null if reads have no side
+	 *         effects.
+	 */
+	public SvdReadAction getReadAction() {
+		return mReadAction;
+	}
+
+	/**
+	 * Get the constraint on the values that may be written to this register.
+	 *
+	 * @return The SvdWriteConstraint object, or null if not specified.
+	 */
+	public SvdWriteConstraint getWriteConstraint() {
+		return mWriteConstraint;
+	}
+
+	/**
+	 * Get the bit masks describing the read and write side effects of this
+	 * register and its fields, for safe read-modify-write operations. They are
+	 * computed on first use and cached.
+	 *
+	 * @return A SvdAccessMasks object.
+	 */
+	public SvdAccessMasks getAccessMasks() {
+		SvdAccessMasks masks = mAccessMasks;
+		if (masks == null) {
+			masks = SvdAccessMasks.fromRegister(this);
+			mAccessMasks = masks;
+		}
+		return masks;
+	}
+
+	/**
+	 * Get the alternate group of this register. Registers of an alternate group
+	 * may overlap registers of the default group.
+	 *
+	 * @return The alternate group name, or null if not specified.
+	 */
+	public String getAlternateGroup() {
+		return mAlternateGroup;
+	}
+
+	/**
+	 * Get the name of the register this one is an alternate view of. Alternate
+	 * registers share their address with the named register.
+	 *
+	 * @return The alternate register name, or null if not specified.
+	 */
+	public String getAlternateRegister() {
+		return mAlternateRegister;
+	}
+
+	/**
+	 * Get the array declaration this register was expanded from.
+	 *
+	 * @return The SvdDim object, or null if the register is not part of an array.
+	 */
+	public SvdDim getDim() {
+		return mDim;
+	}
+
+	/**
+	 * Get the position of this register in its array.
+	 *
+	 * @return The array index, or 0 if the register is not part of an array.
+	 */
+	public int getDimIndex() {
+		return mDimIndex;
+	}
+
 	/**
 	 * Get the fields in this register.
 	 *
-	 * @return List of fields.
+	 * @return An unmodifiable list of fields.
 	 */
 	public List<SvdField> getFields() {
 		return mFields;
 	}
 
+	/**
+	 * Account the memory retained by this object and everything it references.
+	 */
+	void estimateMemory(SvdMemoryEstimator e) {
+		if (!e.add(this, SvdMemoryCategory.REGISTERS))
+			return;
+		e.addString(mName);
+		e.addString(mDescription);
+		e.addBoxed(mSize, SvdMemoryCategory.REGISTERS);
+		e.addString(mAlternateGroup);
+		e.addString(mAlternateRegister);
+		e.addBoxed(mResetValue, SvdMemoryCategory.REGISTERS);
+		e.addBoxed(mResetMask, SvdMemoryCategory.REGISTERS);
+		if (mWriteConstraint != null)
+			mWriteConstraint.estimateMemory(e, SvdMemoryCategory.REGISTERS);
+		if (mDim != null)
+			mDim.estimateMemory(e, SvdMemoryCategory.REGISTERS);
+		e.addList(mFields, SvdMemoryCategory.FIELDS);
+		for (SvdField f : mFields)
+			f.estimateMemory(e);
+		e.addString(mFullName);
+		e.add(mFingerprint, SvdMemoryCategory.REGISTERS);
+		if (mAccessMasks != null)
+			mAccessMasks.estimateMemory(e);
+	}
+
+	/**
+	 * Get the structural fingerprint of the register, covering its fields. It is
+	 * computed on first use and cached.
+	 *
+	 * @return A SvdFingerprint object.
+	 */
+	public SvdFingerprint getFingerprint() {
+		SvdFingerprint fingerprint = mFingerprint;
+		if (fingerprint == null) {
+			SvdFingerprint.Hasher hasher = new SvdFingerprint.Hasher("register").putString(getName())
+					.putString(mDescription).putInteger(mSize).putInteger(getOffset()).putEnum(mAccess)
+					.putLong(mResetValue).putLong(mResetMask).putEnum(mModifiedWriteValues).putEnum(mReadAction)
+					.putString(mAlternateGroup).putString(mAlternateRegister);
+			if (mWriteConstraint != null)
+				mWriteConstraint.hash(hasher);
+			hasher.putInt(mFields.size());
+			for (SvdField f : mFields)
+				hasher.putFingerprint(f.getFingerprint());
+			fingerprint = hasher.finish();
+			mFingerprint = fingerprint;
+		}
+		return fingerprint;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdRegister))
+			return false;
+		return getFingerprint().equals(((SvdRegister) obj).getFingerprint());
+	}
+
+	@Override
+	public int hashCode() {
+		return getFingerprint().hashCode();
+	}
+
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
-		sb.append("SvdRegister{name=\"" + mName + "\"");
+		sb.append("SvdRegister{name=\"" + getName() + "\"");
 		if (mDescription != null)
 			sb.append(", description=\"" + mDescription + "\"");
 		if (mSize != null)
 			sb.append(", size=" + mSize);
-		if (mOffset != null)
-			sb.append(", offset=0x" + Integer.toHexString(mOffset));
+		sb.append(", offset=0x" + Integer.toHexString(mAbsoluteOffset));
 		if (mAccess != null)
 			sb.append(", access=\"" + mAccess + "\"");
+		if (mResetValue != null)
+			sb.append(", resetValue=0x" + Long.toHexString(mResetValue));
+		if (mResetMask != null)
+			sb.append(", resetMask=0x" + Long.toHexString(mResetMask));
+		if (mModifiedWriteValues != null)
+			sb.append(", modifiedWriteValues=\"" + mModifiedWriteValues.getSvdValue() + "\"");
+		if (mReadAction != null)
+			sb.append(", readAction=\"" + mReadAction.getSvdValue() + "\"");
+		if (mWriteConstraint != null)
+			sb.append(", writeConstraint=" + mWriteConstraint);
 		if (mFields != null && !mFields.isEmpty()) {
 			sb.append(", fields=[");
 			for (SvdField f : mFields) {
@@ -0,0 +1,71 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * This class is a lazy view of a register inside an {@link SvdSnapshot}. The
+ * register value is read from the snapshot memory every time it is requested.
+ */
+public class SvdRegisterValue {
+	private final SvdSnapshot mSnapshot;
+	private final int mIndex;
+
+	SvdRegisterValue(SvdSnapshot snapshot, int index) {
+		mSnapshot = snapshot;
+		mIndex = index;
+	}
+
+	/**
+	 * Get the peripheral owning the register.
+	 *
+	 * @return The SvdPeripheral object.
+	 */
+	public SvdPeripheral getPeripheral() {
+		return mSnapshot.getPeripheral(mIndex);
+	}
+
+	/**
+	 * Get the register being viewed.
+	 *
+	 * @return The SvdRegister object.
+	 */
+	public SvdRegister getRegister() {
+		return mSnapshot.getRegister(mIndex);
+	}
+
+	/**
+	 * Get the absolute address of the register.
+	 *
+	 * @return The register address, in address units.
+	 */
+	public long getAddress() {
+		return mSnapshot.getAddress(mIndex);
+	}
+
+	/**
+	 * Get the register value.
+	 *
+	 * @return The register value, zero extended to 64 bits.
+	 */
+	public long getValue() {
+		return mSnapshot.getValue(mIndex);
+	}
+
+	/**
+	 * Get the value of one of the register fields.
+	 *
+	 * @param field A field of the register.
+	 * @return The field value, shifted down to bit 0.
+	 */
+	public long getFieldValue(SvdField field) {
+		return field.extractValue(getValue());
+	}
+
+	@Override
+	public String toString() {
+		return "SvdRegisterValue{name=\"" + getPeripheral().getName() + "." + getRegister().getName()
+				+ "\", address=0x" + Long.toHexString(getAddress()) + ", value=0x" + Long.toHexString(getValue()) + "}";
+	}
+}
@@ -24,24 +24,74 @@ public class SvdRegisters {
 	 */
 	public static List<SvdRegister> fromElement(Element el, Integer defaultSize, SvdAccess defaultAccess)
 			throws SvdParserException {
-		List<SvdRegister> registers = new ArrayList<>();
+		return fromElement(el, defaultSize, defaultAccess, new SvdParseContext());
+	}
 
+	static List<SvdRegister> fromElement(Element el, Integer defaultSize, SvdAccess defaultAccess, SvdParseContext ctx)
+			throws SvdParserException {
 		// Element null check
 		if (el == null)
-			return registers;
+			return new ArrayList<>();
 
 		// XML node name check
 		if (!el.getNodeName().equals("registers"))
 			throw new SvdParserException("Cannot build an SvdRegisters from a " + el.getNodeName() + " node!");
 
-		// Process cluster children
-		for (Element c : Utils.getFirstOrderChildElementsByTagName(el, "cluster"))
-			registers.addAll(SvdCluster.fromElement(c, defaultSize, defaultAccess));
+		return flatten(getClusters(el, defaultSize, defaultAccess, null, null, ctx),
+				getRegisters(el, defaultSize, defaultAccess, null, null, ctx));
+	}
 
-		// Process register children
-		for (Element r : Utils.getFirstOrderChildElementsByTagName(el, "register"))
-			registers.addAll(SvdRegister.fromElement(r, defaultSize, defaultAccess));
+	/**
+	 * Parse the clusters placed directly inside a {@code <registers>} or
+	 * {@code <cluster>} element.
+	 */
+	static List<SvdCluster> getClusters(Element el, Integer defaultSize, SvdAccess defaultAccess,
+			Long defaultResetValue, Long defaultResetMask, SvdParseContext ctx) throws SvdParserException {
+		List<SvdCluster> clusters = new ArrayList<>();
+		for (SvdCluster.Template t : getClusterTemplates(el, defaultSize, defaultAccess, defaultResetValue,
+				defaultResetMask, ctx))
+			t.build(null, clusters);
+		return clusters;
+	}
+
+	/**
+	 * Parse the clusters placed directly inside a {@code <registers>} or
+	 * {@code <cluster>} element without building them.
+	 */
+	static List<SvdCluster.Template> getClusterTemplates(Element el, Integer defaultSize, SvdAccess defaultAccess,
+			Long defaultResetValue, Long defaultResetMask, SvdParseContext ctx) throws SvdParserException {
+		List<SvdCluster.Template> templates = new ArrayList<>();
+		for (Element c : Utils.getFirstOrderChildElementsByTagName(el, "cluster")) {
+			SvdCluster.Template t = ctx.parseElement(c, null, () -> SvdCluster.Template.fromElement(c, defaultSize,
+					defaultAccess, defaultResetValue, defaultResetMask, ctx));
+			if (t != null)
+				templates.add(t);
+		}
+		return templates;
+	}
 
+	/**
+	 * Parse the registers placed directly inside a {@code <registers>} or
+	 * {@code <cluster>} element.
+	 */
+	static List<SvdRegister> getRegisters(Element el, Integer defaultSize, SvdAccess defaultAccess,
+			Long defaultResetValue, Long defaultResetMask, SvdParseContext ctx) throws SvdParserException {
+		List<SvdRegister> registers = new ArrayList<>();
+		for (Element r : Utils.getFirstOrderChildElementsByTagName(el, "register"))
+			registers.addAll(ctx.parseElement(r, List.of(), () -> SvdRegister.fromElement(r, defaultSize,
+					defaultAccess, defaultResetValue, defaultResetMask, ctx)));
 		return registers;
 	}
+
+	/**
+	 * Build the flat register list of a cluster tree: the registers of every
+	 * cluster, nested ones first, followed by the direct registers.
+	 */
+	static List<SvdRegister> flatten(List<SvdCluster> clusters, List<SvdRegister> registers) {
+		List<SvdRegister> flat = new ArrayList<>(registers.size());
+		for (SvdCluster c : clusters)
+			c.collectRegisters(flat);
+		flat.addAll(registers);
+		return flat;
+	}
 }
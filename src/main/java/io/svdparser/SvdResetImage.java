@@ -0,0 +1,182 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The memory content of a peripheral after reset, as returned by
+ * {@link SvdDevice#getResetImage(SvdPeripheral)}.
+ *
+ * <p>
+ * The image covers the address blocks of the peripheral, or its registers if
+ * it has no address blocks. It is built once from the reset value of every
+ * register, laid out in the CPU byte order ({@link SvdCpu#getByteOrder()}), so
+ * an emulator can initialize a peripheral with a single bulk copy. A second
+ * image of the same size holds the reset masks, marking the bits that have a
+ * defined value after reset, which allows comparing a memory dump against the
+ * reset state.
+ * </p>
+ *
+ * <p>
+ * Bytes not covered by any register, bits outside of the reset mask and
+ * registers without a reset value are 0. Alternate registers are skipped, so
+ * the value of the default register is kept.
+ * </p>
+ */
+public class SvdResetImage {
+	private final long mBaseAddress;
+	private final ByteOrder mOrder;
+	private final byte[] mValues;
+	private final byte[] mMasks;
+
+	/**
+	 * Build the reset image of a peripheral.
+	 */
+	static SvdResetImage fromPeripheral(SvdDevice device, SvdPeripheral peripheral) {
+		int addressUnitBytes = Utils.getAddressUnitBytes(device);
+		long start = Long.MAX_VALUE;
+		long end = Long.MIN_VALUE;
+		for (SvdAddressBlock ab : peripheral.getAddressBlocks()) {
+			if (ab.getOffset() == null || ab.getSize() == null || ab.getSize() <= 0)
+				continue;
+			start = Math.min(start, ab.getOffset());
+			end = Math.max(end, ab.getOffset() + ab.getSize());
+		}
+		if (start >= end) {
+			for (SvdRegister r : peripheral.getRegisters()) {
+				int bytes = getByteSize(r);
+				if (bytes == 0)
+					continue;
+				start = Math.min(start, r.getAbsoluteOffset());
+				end = Math.max(end, r.getAbsoluteOffset() + (bytes + addressUnitBytes - 1) / addressUnitBytes);
+			}
+		}
+		if (start >= end)
+			start = end = 0;
+		long size = (end - start) * addressUnitBytes;
+		if (size > Integer.MAX_VALUE)
+			throw new IllegalStateException("Peripheral " + peripheral.getName() + " is too large for a reset image!");
+
+		ByteOrder order = Utils.getByteOrder(device);
+		ByteBuffer values = ByteBuffer.allocate((int) size).order(order);
+		ByteBuffer masks = ByteBuffer.allocate((int) size).order(order);
+		for (SvdRegister r : peripheral.getRegisters()) {
+			int bytes = getByteSize(r);
+			if (bytes == 0 || r.getResetValue() == null || r.getAlternateGroup() != null
+					|| r.getAlternateRegister() != null)
+				continue;
+			long position = (r.getAbsoluteOffset() - start) * addressUnitBytes;
+			if (position < 0 || position + bytes > size)
+				continue;
+			long sizeMask = (r.getSize() >= 64) ? -1L : (1L << r.getSize()) - 1;
+			long mask = ((r.getResetMask() != null) ? r.getResetMask() : -1L) & sizeMask;
+			put(values, (int) position, bytes, r.getResetValue() & mask);
+			put(masks, (int) position, bytes, mask);
+		}
+		return new SvdResetImage(peripheral.getBaseAddr() + start, order, values.array(), masks.array());
+	}
+
+	private static int getByteSize(SvdRegister r) {
+		Integer size = r.getSize();
+		return (size == null || size <= 0 || size > 64) ? 0 : (size + 7) / 8;
+	}
+
+	private static void put(ByteBuffer buffer, int index, int bytes, long value) {
+		switch (bytes) {
+		case 1:
+			buffer.put(index, (byte) value);
+			break;
+		case 2:
+			buffer.putShort(index, (short) value);
+			break;
+		case 4:
+			buffer.putInt(index, (int) value);
+			break;
+		case 8:
+			buffer.putLong(index, value);
+			break;
+		default:
+			boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+			for (int i = 0; i < bytes; i++) {
+				int shift = bigEndian ? 8 * (bytes - 1 - i) : 8 * i;
+				buffer.put(index + i, (byte) (value >>> shift));
+			}
+			break;
+		}
+	}
+
+	private SvdResetImage(long baseAddress, ByteOrder order, byte[] values, byte[] masks) {
+		mBaseAddress = baseAddress;
+		mOrder = order;
+		mValues = values;
+		mMasks = masks;
+	}
+
+	/**
+	 * Get the address of the first byte of the image.
+	 *
+	 * @return The image address, in address units.
+	 */
+	public long getBaseAddress() {
+		return mBaseAddress;
+	}
+
+	/**
+	 * Get the size of the image.
+	 *
+	 * @return The image size, in bytes.
+	 */
+	public int getSize() {
+		return mValues.length;
+	}
+
+	/**
+	 * Get a copy of the reset values.
+	 *
+	 * @return A new array holding the image.
+	 */
+	public byte[] toByteArray() {
+		return mValues.clone();
+	}
+
+	/**
+	 * Get a read-only view of the reset values, in the CPU byte order.
+	 *
+	 * @return A ByteBuffer over the image.
+	 */
+	public ByteBuffer asByteBuffer() {
+		return ByteBuffer.wrap(mValues).asReadOnlyBuffer().order(mOrder);
+	}
+
+	/**
+	 * Get a read-only view of the reset masks, in the CPU byte order. Set bits
+	 * have a defined value after reset.
+	 *
+	 * @return A ByteBuffer over the mask image.
+	 */
+	public ByteBuffer asMaskBuffer() {
+		return ByteBuffer.wrap(mMasks).asReadOnlyBuffer().order(mOrder);
+	}
+
+	/**
+	 * Copy the reset values into a buffer at its current position, advancing
+	 * it.
+	 *
+	 * @param dst Destination buffer, for example the emulated memory of the
+	 *            peripheral.
+	 * @throws java.nio.BufferOverflowException if there is not enough room in the
+	 *                                          buffer.
+	 */
+	public void copyTo(ByteBuffer dst) {
+		dst.put(mValues);
+	}
+
+	@Override
+	public String toString() {
+		return "SvdResetImage{baseAddress=0x" + Long.toHexString(mBaseAddress) + ", size=" + mValues.length + "}";
+	}
+}
@@ -0,0 +1,16 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * Enumeration of the severities of a {@link SvdDiagnostic}.
+ */
+public enum SvdSeverity {
+	/** The description is inconsistent and cannot be used as is. */
+	ERROR,
+
+	/** The description is suspicious but may be intended. */
+	WARNING;
+}
@@ -0,0 +1,238 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * This class represents a raw memory image of a device address range, decoded
+ * against the register map of an {@link SvdDevice}.
+ *
+ * <p>
+ * The snapshot does not copy the image. It keeps a view of the provided buffer
+ * and an index of every register that is fully contained in it, built in a
+ * single pass over the device. Register values are only read from the buffer
+ * when requested, either through the primitive accessors or through the lazy
+ * {@link SvdRegisterValue} views returned by {@link #getRegisterValues()}.
+ * </p>
+ *
+ * <p>
+ * Addresses are expressed in address units as defined by
+ * {@link SvdDevice#getAddressUnitBits()} and multi-byte registers are decoded
+ * using the CPU byte order ({@link SvdCpu#getByteOrder()}).
+ * </p>
+ */
+public class SvdSnapshot {
+	private final SvdDevice mDevice;
+	private final ByteBuffer mBuffer;
+	private final long mBaseAddress;
+	private final int mAddressUnitBytes;
+	private final SvdPeripheral[] mPeripherals;
+	private final SvdRegister[] mRegisters;
+	private final int[] mPositions;
+	private final int mCount;
+
+	/**
+	 * Create a snapshot from a buffer holding a memory image.
+	 *
+	 * The image starts at the current position of the buffer and extends up to
+	 * its limit. The buffer contents are not copied, so changes to the underlying
+	 * memory are visible through the snapshot.
+	 *
+	 * @param device      The device describing the register map.
+	 * @param buffer      Buffer holding the memory image.
+	 * @param baseAddress Address of the first byte of the image, in address units.
+	 * @return A SvdSnapshot object.
+	 */
+	public static SvdSnapshot fromBuffer(SvdDevice device, ByteBuffer buffer, long baseAddress) {
+		SvdSnapshotEvent event = new SvdSnapshotEvent();
+		event.begin();
+		ByteBuffer view = buffer.slice().order(Utils.getByteOrder(device));
+		SvdSnapshot snapshot = new SvdSnapshot(device, view, baseAddress);
+		event.end();
+		if (event.shouldCommit()) {
+			event.operation = "index";
+			event.baseAddress = baseAddress;
+			event.size = view.limit();
+			event.registerCount = snapshot.mCount;
+			event.commit();
+		}
+		return snapshot;
+	}
+
+	private SvdSnapshot(SvdDevice device, ByteBuffer buffer, long baseAddress) {
+		mDevice = device;
+		mBuffer = buffer;
+		mBaseAddress = baseAddress;
+		mAddressUnitBytes = Utils.getAddressUnitBytes(device);
+
+		int capacity = 0;
+		for (SvdPeripheral p : device.getPeripherals())
+			capacity += p.getRegisters().size();
+		mPeripherals = new SvdPeripheral[capacity];
+		mRegisters = new SvdRegister[capacity];
+		mPositions = new int[capacity];
+
+		int count = 0;
+		for (SvdPeripheral p : device.getPeripherals()) {
+			for (SvdRegister r : p.getRegisters()) {
+				int position = getPosition(p.getBaseAddr() + r.getAbsoluteOffset(), r.getSize());
+				if (position < 0)
+					continue;
+				mPeripherals[count] = p;
+				mRegisters[count] = r;
+				mPositions[count] = position;
+				count++;
+			}
+		}
+		mCount = count;
+	}
+
+	private int getPosition(long address, Integer size) {
+		if (size == null || size <= 0 || size > 64)
+			return -1;
+		long position = (address - mBaseAddress) * mAddressUnitBytes;
+		if (position < 0 || position + (size + 7) / 8 > mBuffer.limit())
+			return -1;
+		return (int) position;
+	}
+
+	private long read(int position, int size) {
+		long value = Utils.getUnsigned(mBuffer, position, (size + 7) / 8);
+		return (size >= 64) ? value : value & ((1L << size) - 1);
+	}
+
+	/**
+	 * Get the device this snapshot is decoded against.
+	 *
+	 * @return The SvdDevice object.
+	 */
+	public SvdDevice getDevice() {
+		return mDevice;
+	}
+
+	/**
+	 * Get the address of the first byte of the image.
+	 *
+	 * @return The base address, in address units.
+	 */
+	public long getBaseAddress() {
+		return mBaseAddress;
+	}
+
+	/**
+	 * Get the size of the image.
+	 *
+	 * @return The image size, in bytes.
+	 */
+	public int getSize() {
+		return mBuffer.limit();
+	}
+
+	/**
+	 * Get the number of registers that are fully contained in the image.
+	 *
+	 * @return The register count.
+	 */
+	public int getRegisterCount() {
+		return mCount;
+	}
+
+	/**
+	 * Get the peripheral owning the register at the given index.
+	 *
+	 * @param index Register index, between 0 and {@link #getRegisterCount()}.
+	 * @return The SvdPeripheral object.
+	 */
+	public SvdPeripheral getPeripheral(int index) {
+		checkIndex(index);
+		return mPeripherals[index];
+	}
+
+	/**
+	 * Get the register at the given index.
+	 *
+	 * @param index Register index, between 0 and {@link #getRegisterCount()}.
+	 * @return The SvdRegister object.
+	 */
+	public SvdRegister getRegister(int index) {
+		checkIndex(index);
+		return mRegisters[index];
+	}
+
+	/**
+	 * Get the absolute address of the register at the given index.
+	 *
+	 * @param index Register index, between 0 and {@link #getRegisterCount()}.
+	 * @return The register address, in address units.
+	 */
+	public long getAddress(int index) {
+		checkIndex(index);
+		return mPeripherals[index].getBaseAddr() + mRegisters[index].getAbsoluteOffset();
+	}
+
+	/**
+	 * Read the value of the register at the given index.
+	 *
+	 * @param index Register index, between 0 and {@link #getRegisterCount()}.
+	 * @return The register value, zero extended to 64 bits.
+	 */
+	public long getValue(int index) {
+		checkIndex(index);
+		return read(mPositions[index], mRegisters[index].getSize());
+	}
+
+	/**
+	 * Read the value of a register of a peripheral.
+	 *
+	 * @param peripheral The peripheral containing the register.
+	 * @param register   The register to read.
+	 * @return The register value, zero extended to 64 bits.
+	 * @throws IndexOutOfBoundsException if the register is not contained in the
+	 *                                   image.
+	 */
+	public long getValue(SvdPeripheral peripheral, SvdRegister register) {
+		long address = peripheral.getBaseAddr() + register.getAbsoluteOffset();
+		int position = getPosition(address, register.getSize());
+		if (position < 0)
+			throw new IndexOutOfBoundsException(
+					"Register " + peripheral.getName() + "." + register.getName() + " is not in the snapshot!");
+		return read(position, register.getSize());
+	}
+
+	/**
+	 * Get a view of every register contained in the image. The list elements are
+	 * created on access and read the buffer lazily.
+	 *
+	 * @return An unmodifiable list of SvdRegisterValue objects.
+	 */
+	public List<SvdRegisterValue> getRegisterValues() {
+		return new AbstractList<SvdRegisterValue>() {
+			@Override
+			public SvdRegisterValue get(int index) {
+				checkIndex(index);
+				return new SvdRegisterValue(SvdSnapshot.this, index);
+			}
+
+			@Override
+			public int size() {
+				return mCount;
+			}
+		};
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= mCount)
+			throw new IndexOutOfBoundsException("Register index " + index + " out of bounds for " + mCount);
+	}
+
+	@Override
+	public String toString() {
+		return "SvdSnapshot{baseAddress=0x" + Long.toHexString(mBaseAddress) + ", size=" + mBuffer.limit()
+				+ ", registers=" + mCount + "}";
+	}
+}
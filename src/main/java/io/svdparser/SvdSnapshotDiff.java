@@ -0,0 +1,84 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.List;
+
+/**
+ * This class compares two {@link SvdSnapshot} objects taken over the same
+ * address range of the same {@link SvdDevice}.
+ *
+ * <p>
+ * Whole register values are compared first and only the registers that differ
+ * are split into fields. Registers and fields whose access is write-only are
+ * skipped since their read values are meaningless. Changes are streamed to a
+ * {@link SvdSnapshotDiffListener} as primitive values, so a comparison does not
+ * allocate per register or per change.
+ * </p>
+ */
+public class SvdSnapshotDiff {
+	private SvdSnapshotDiff() {
+	}
+
+	/**
+	 * Compare two snapshots and report the changes.
+	 *
+	 * @param oldSnapshot The reference snapshot.
+	 * @param newSnapshot The snapshot to compare against the reference.
+	 * @param listener    The receiver of the changes.
+	 * @return The number of changed registers.
+	 * @throws IllegalArgumentException if the snapshots do not cover the same
+	 *                                  range of the same device.
+	 */
+	public static int compare(SvdSnapshot oldSnapshot, SvdSnapshot newSnapshot, SvdSnapshotDiffListener listener) {
+		if (oldSnapshot.getDevice() != newSnapshot.getDevice()
+				|| oldSnapshot.getBaseAddress() != newSnapshot.getBaseAddress()
+				|| oldSnapshot.getSize() != newSnapshot.getSize())
+			throw new IllegalArgumentException("Cannot compare snapshots of different devices or address ranges!");
+
+		SvdSnapshotEvent event = new SvdSnapshotEvent();
+		event.begin();
+		int changed = 0;
+		int count = oldSnapshot.getRegisterCount();
+		for (int i = 0; i < count; i++) {
+			long oldValue = oldSnapshot.getValue(i);
+			long newValue = newSnapshot.getValue(i);
+			long diff = oldValue ^ newValue;
+			if (diff == 0)
+				continue;
+
+			SvdRegister register = oldSnapshot.getRegister(i);
+			if (isWriteOnly(register.getAccess()))
+				continue;
+
+			changed++;
+			SvdPeripheral peripheral = oldSnapshot.getPeripheral(i);
+			listener.registerChanged(peripheral, register, oldValue, newValue);
+
+			List<SvdField> fields = register.getFields();
+			for (int f = 0; f < fields.size(); f++) {
+				SvdField field = fields.get(f);
+				if ((diff & field.getMask()) == 0 || isWriteOnly(field.getAccess()))
+					continue;
+				listener.fieldChanged(peripheral, register, field, field.extractValue(oldValue),
+						field.extractValue(newValue));
+			}
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.operation = "compare";
+			event.baseAddress = oldSnapshot.getBaseAddress();
+			event.size = oldSnapshot.getSize();
+			event.registerCount = count;
+			event.changedCount = changed;
+			event.commit();
+		}
+		return changed;
+	}
+
+	private static boolean isWriteOnly(SvdAccess access) {
+		return access == SvdAccess.WRITE_ONLY || access == SvdAccess.WRITE_ONCE;
+	}
+}
@@ -0,0 +1,36 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * Receiver of the changes found by {@link SvdSnapshotDiff}. Changes are
+ * reported as they are found, in register index order, and no object is
+ * allocated per change.
+ */
+public interface SvdSnapshotDiffListener {
+	/**
+	 * Called once for every readable register whose value differs between both
+	 * snapshots, before any of its fields is reported.
+	 *
+	 * @param peripheral The peripheral owning the register.
+	 * @param register   The changed register.
+	 * @param oldValue   The register value in the old snapshot.
+	 * @param newValue   The register value in the new snapshot.
+	 */
+	default void registerChanged(SvdPeripheral peripheral, SvdRegister register, long oldValue, long newValue) {
+	}
+
+	/**
+	 * Called for every readable field whose value differs between both snapshots.
+	 * Use {@link SvdField#getEnumeratedValue(long)} to obtain symbolic names.
+	 *
+	 * @param peripheral The peripheral owning the register.
+	 * @param register   The register containing the field.
+	 * @param field      The changed field.
+	 * @param oldValue   The field value in the old snapshot, shifted down to bit 0.
+	 * @param newValue   The field value in the new snapshot, shifted down to bit 0.
+	 */
+	void fieldChanged(SvdPeripheral peripheral, SvdRegister register, SvdField field, long oldValue, long newValue);
+}
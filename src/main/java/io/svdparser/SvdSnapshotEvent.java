@@ -0,0 +1,44 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted when a memory image is indexed into an
+ * {@link SvdSnapshot} or two snapshots are compared. Individual register reads
+ * are not recorded. Disabled by default, enable {@code io.svdparser.Snapshot}
+ * in the recording settings.
+ */
+@Name("io.svdparser.Snapshot")
+@Label("SVD Snapshot")
+@Category("SVD Parser")
+@Description("Indexing or comparison of a device memory image")
+@Enabled(false)
+@StackTrace(false)
+final class SvdSnapshotEvent extends Event {
+	@Label("Operation")
+	String operation;
+
+	@Label("Base Address")
+	long baseAddress;
+
+	@Label("Size")
+	@DataAmount
+	long size;
+
+	@Label("Registers")
+	int registerCount;
+
+	@Label("Changed Registers")
+	int changedCount;
+}
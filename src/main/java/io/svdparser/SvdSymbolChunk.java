@@ -0,0 +1,101 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+/**
+ * A range of consecutive symbols of a {@link SvdSymbolTable}, as returned by
+ * {@link SvdSymbolTable#chunks(int)}.
+ *
+ * <p>
+ * The arrays are reused by the iterator and refilled on every step, so only
+ * the first {@link #getLength()} elements of each array are valid and they
+ * must be consumed before advancing. Name and peripheral indexes refer to the
+ * tables of the symbol table.
+ * </p>
+ */
+public class SvdSymbolChunk {
+	private final long[] mAddresses;
+	private final int[] mSizes;
+	private final int[] mNameIndexes;
+	private final int[] mPeripheralIndexes;
+	private int mStart;
+	private int mLength;
+
+	SvdSymbolChunk(int capacity) {
+		mAddresses = new long[capacity];
+		mSizes = new int[capacity];
+		mNameIndexes = new int[capacity];
+		mPeripheralIndexes = new int[capacity];
+	}
+
+	void fill(SvdSymbolTable table, int start, int length) {
+		table.copy(start, length, mAddresses, mSizes, mNameIndexes, mPeripheralIndexes);
+		mStart = start;
+		mLength = length;
+	}
+
+	int getCapacity() {
+		return mAddresses.length;
+	}
+
+	/**
+	 * Get the position of the first symbol of the chunk in the symbol table.
+	 *
+	 * @return The index of the first symbol.
+	 */
+	public int getStart() {
+		return mStart;
+	}
+
+	/**
+	 * Get the number of symbols in the chunk.
+	 *
+	 * @return The number of valid elements of the arrays.
+	 */
+	public int getLength() {
+		return mLength;
+	}
+
+	/**
+	 * Get the addresses of the symbols in the chunk.
+	 *
+	 * @return The reused array of addresses, in address units.
+	 */
+	public long[] getAddresses() {
+		return mAddresses;
+	}
+
+	/**
+	 * Get the sizes of the symbols in the chunk.
+	 *
+	 * @return The reused array of sizes, in bits.
+	 */
+	public int[] getSizes() {
+		return mSizes;
+	}
+
+	/**
+	 * Get the name table positions of the symbols in the chunk.
+	 *
+	 * @return The reused array of name indexes.
+	 */
+	public int[] getNameIndexes() {
+		return mNameIndexes;
+	}
+
+	/**
+	 * Get the peripheral table positions of the symbols in the chunk.
+	 *
+	 * @return The reused array of peripheral indexes.
+	 */
+	public int[] getPeripheralIndexes() {
+		return mPeripheralIndexes;
+	}
+
+	@Override
+	public String toString() {
+		return "SvdSymbolChunk{start=" + mStart + ", length=" + mLength + "}";
+	}
+}
@@ -0,0 +1,312 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * A flat export of every register of a device as symbols, intended for bulk
+ * import into debuggers and disassemblers.
+ *
+ * <p>
+ * Symbols are stored in primitive arrays sorted by absolute address: the
+ * address, the register size and two indexes, one into a table of distinct
+ * register names and one into the table of peripheral names. The table is
+ * built in a single pass over the device without creating an object per
+ * register, and registers shared by derived peripherals share their name
+ * entry.
+ * </p>
+ *
+ * <p>
+ * The arrays can be copied at once or streamed in fixed size chunks with
+ * {@link #chunks(int)}. Addresses are expressed in address units as defined by
+ * {@link SvdDevice#getAddressUnitBits()}.
+ * </p>
+ */
+public class SvdSymbolTable {
+	private final String[] mPeripheralNames;
+	private final String[] mNames;
+	private final long[] mAddresses;
+	private final int[] mSizes;
+	private final int[] mNameIndexes;
+	private final int[] mPeripheralIndexes;
+
+	/**
+	 * Build the symbol table of a device.
+	 *
+	 * @param device The device.
+	 * @return A SvdSymbolTable object.
+	 */
+	public static SvdSymbolTable fromDevice(SvdDevice device) {
+		List<SvdPeripheral> periphs = device.getPeripherals();
+		int count = 0;
+		for (SvdPeripheral p : periphs)
+			count += p.getRegisters().size();
+
+		String[] peripheralNames = new String[periphs.size()];
+		long[] addresses = new long[count];
+		int[] sizes = new int[count];
+		int[] nameIndexes = new int[count];
+		int[] peripheralIndexes = new int[count];
+		Map<String, Integer> nameTable = new HashMap<>();
+		// Derived peripherals share the register list of their base
+		Map<List<SvdRegister>, Integer> shared = new IdentityHashMap<>();
+		boolean sorted = true;
+		int n = 0;
+		for (int i = 0; i < periphs.size(); i++) {
+			SvdPeripheral p = periphs.get(i);
+			peripheralNames[i] = p.getName();
+			long base = p.getBaseAddr();
+			List<SvdRegister> registers = p.getRegisters();
+			Integer first = shared.putIfAbsent(registers, n);
+			for (int j = 0; j < registers.size(); j++) {
+				SvdRegister r = registers.get(j);
+				addresses[n] = base + r.getAbsoluteOffset();
+				Integer size = r.getSize();
+				sizes[n] = (size != null && size > 0) ? size : 0;
+				if (first != null) {
+					nameIndexes[n] = nameIndexes[first + j];
+				} else {
+					Integer nameIndex = nameTable.putIfAbsent(r.getName(), nameTable.size());
+					nameIndexes[n] = (nameIndex != null) ? nameIndex : nameTable.size() - 1;
+				}
+				peripheralIndexes[n] = i;
+				sorted &= n == 0 || addresses[n - 1] <= addresses[n];
+				n++;
+			}
+		}
+		String[] names = new String[nameTable.size()];
+		for (Map.Entry<String, Integer> e : nameTable.entrySet())
+			names[e.getValue()] = e.getKey();
+
+		if (!sorted) {
+			int[] order = sortByAddress(addresses);
+			addresses = permute(addresses, order);
+			sizes = permute(sizes, order);
+			nameIndexes = permute(nameIndexes, order);
+			peripheralIndexes = permute(peripheralIndexes, order);
+		}
+		return new SvdSymbolTable(peripheralNames, names, addresses, sizes, nameIndexes, peripheralIndexes);
+	}
+
+	/**
+	 * Get the positions of the symbols in address order. Symbols with the same
+	 * address keep their device order.
+	 */
+	private static int[] sortByAddress(long[] addresses) {
+		int[] order = new int[addresses.length];
+		for (int i = 0; i < order.length; i++)
+			order[i] = i;
+		// Bottom-up merge sort of the positions, which is stable and avoids boxing
+		int[] buffer = new int[order.length];
+		for (int width = 1; width < order.length; width *= 2) {
+			for (int lo = 0; lo < order.length; lo += 2 * width) {
+				int mid = Math.min(lo + width, order.length);
+				int hi = Math.min(lo + 2 * width, order.length);
+				int a = lo;
+				int b = mid;
+				for (int k = lo; k < hi; k++)
+					buffer[k] = (b >= hi || (a < mid && addresses[order[a]] <= addresses[order[b]])) ? order[a++]
+							: order[b++];
+			}
+			int[] swap = order;
+			order = buffer;
+			buffer = swap;
+		}
+		return order;
+	}
+
+	private static long[] permute(long[] values, int[] order) {
+		long[] result = new long[values.length];
+		for (int i = 0; i < order.length; i++)
+			result[i] = values[order[i]];
+		return result;
+	}
+
+	private static int[] permute(int[] values, int[] order) {
+		int[] result = new int[values.length];
+		for (int i = 0; i < order.length; i++)
+			result[i] = values[order[i]];
+		return result;
+	}
+
+	private SvdSymbolTable(String[] peripheralNames, String[] names, long[] addresses, int[] sizes,
+			int[] nameIndexes, int[] peripheralIndexes) {
+		mPeripheralNames = peripheralNames;
+		mNames = names;
+		mAddresses = addresses;
+		mSizes = sizes;
+		mNameIndexes = nameIndexes;
+		mPeripheralIndexes = peripheralIndexes;
+	}
+
+	/**
+	 * Get the number of symbols.
+	 *
+	 * @return The symbol count.
+	 */
+	public int getCount() {
+		return mAddresses.length;
+	}
+
+	/**
+	 * Get the absolute address of a symbol.
+	 *
+	 * @param index Symbol index, between 0 and {@link #getCount()}.
+	 * @return The register address, in address units.
+	 */
+	public long getAddress(int index) {
+		return mAddresses[index];
+	}
+
+	/**
+	 * Get the size of a symbol.
+	 *
+	 * @param index Symbol index, between 0 and {@link #getCount()}.
+	 * @return The register size in bits, or 0 if not specified.
+	 */
+	public int getSize(int index) {
+		return mSizes[index];
+	}
+
+	/**
+	 * Get the position of the register name of a symbol in the name table.
+	 *
+	 * @param index Symbol index, between 0 and {@link #getCount()}.
+	 * @return An index into {@link #getNames()}.
+	 */
+	public int getNameIndex(int index) {
+		return mNameIndexes[index];
+	}
+
+	/**
+	 * Get the position of the peripheral of a symbol in the peripheral table.
+	 *
+	 * @param index Symbol index, between 0 and {@link #getCount()}.
+	 * @return An index into {@link #getPeripheralNames()}.
+	 */
+	public int getPeripheralIndex(int index) {
+		return mPeripheralIndexes[index];
+	}
+
+	/**
+	 * Get the name of a symbol qualified with its peripheral name, such as
+	 * {@code TIMER0.CR}. The string is built on every call.
+	 *
+	 * @param index Symbol index, between 0 and {@link #getCount()}.
+	 * @return The qualified register name.
+	 */
+	public String getQualifiedName(int index) {
+		return mPeripheralNames[mPeripheralIndexes[index]] + "." + mNames[mNameIndexes[index]];
+	}
+
+	/**
+	 * Get the table of distinct register names.
+	 *
+	 * @return An unmodifiable list of names.
+	 */
+	public List<String> getNames() {
+		return List.of(mNames);
+	}
+
+	/**
+	 * Get the table of peripheral names, in device order.
+	 *
+	 * @return An unmodifiable list of names.
+	 */
+	public List<String> getPeripheralNames() {
+		return Arrays.asList(mPeripheralNames.clone());
+	}
+
+	/**
+	 * Get a copy of the symbol addresses, sorted ascending.
+	 *
+	 * @return An array of addresses, in address units.
+	 */
+	public long[] getAddresses() {
+		return mAddresses.clone();
+	}
+
+	/**
+	 * Get a copy of the symbol sizes.
+	 *
+	 * @return An array of sizes in bits, parallel to {@link #getAddresses()}.
+	 */
+	public int[] getSizes() {
+		return mSizes.clone();
+	}
+
+	/**
+	 * Get a copy of the name table positions of the symbols.
+	 *
+	 * @return An array of indexes into {@link #getNames()}, parallel to
+	 *         {@link #getAddresses()}.
+	 */
+	public int[] getNameIndexes() {
+		return mNameIndexes.clone();
+	}
+
+	/**
+	 * Get a copy of the peripheral table positions of the symbols.
+	 *
+	 * @return An array of indexes into {@link #getPeripheralNames()}, parallel to
+	 *         {@link #getAddresses()}.
+	 */
+	public int[] getPeripheralIndexes() {
+		return mPeripheralIndexes.clone();
+	}
+
+	/**
+	 * Stream the symbols in chunks of a fixed size. Every call to
+	 * {@link Iterator#next()} fills the same {@link SvdSymbolChunk} object with
+	 * the following symbols, so no memory is allocated per chunk. Chunk contents
+	 * must be consumed before advancing.
+	 *
+	 * @param chunkSize Maximum number of symbols per chunk.
+	 * @return An iterator over the chunks.
+	 */
+	public Iterator<SvdSymbolChunk> chunks(int chunkSize) {
+		if (chunkSize <= 0)
+			throw new IllegalArgumentException("Invalid chunk size " + chunkSize);
+		SvdSymbolChunk chunk = new SvdSymbolChunk(Math.min(chunkSize, Math.max(mAddresses.length, 1)));
+		return new Iterator<SvdSymbolChunk>() {
+			private int mNext;
+
+			@Override
+			public boolean hasNext() {
+				return mNext < mAddresses.length;
+			}
+
+			@Override
+			public SvdSymbolChunk next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+				int length = Math.min(chunk.getCapacity(), mAddresses.length - mNext);
+				chunk.fill(SvdSymbolTable.this, mNext, length);
+				mNext += length;
+				return chunk;
+			}
+		};
+	}
+
+	void copy(int start, int length, long[] addresses, int[] sizes, int[] nameIndexes, int[] peripheralIndexes) {
+		System.arraycopy(mAddresses, start, addresses, 0, length);
+		System.arraycopy(mSizes, start, sizes, 0, length);
+		System.arraycopy(mNameIndexes, start, nameIndexes, 0, length);
+		System.arraycopy(mPeripheralIndexes, start, peripheralIndexes, 0, length);
+	}
+
+	@Override
+	public String toString() {
+		return "SvdSymbolTable{symbols=" + mAddresses.length + ", names=" + mNames.length + ", peripherals="
+				+ mPeripheralNames.length + "}";
+	}
+}
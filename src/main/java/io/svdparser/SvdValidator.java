@@ -0,0 +1,256 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class checks the consistency of a parsed {@link SvdDevice}.
+ *
+ * <p>
+ * The following problems are reported:
+ * </p>
+ * <ul>
+ * <li>{@code register-size}: registers without a valid size.</li>
+ * <li>{@code register-overlap}: registers overlapping inside a peripheral,
+ * unless they are alternates of each other or one is read-only and the other
+ * write-only.</li>
+ * <li>{@code register-outside-address-block}: registers not contained in any
+ * address block of their peripheral.</li>
+ * <li>{@code field-overlap}: fields overlapping inside a register, unless one is
+ * read-only and the other write-only.</li>
+ * <li>{@code field-outside-register}: fields extending past the register
+ * size.</li>
+ * <li>{@code peripheral-overlap}: peripherals whose address ranges overlap,
+ * unless one is declared as an alternate peripheral.</li>
+ * <li>{@code interrupt-duplicate}: interrupts with different names and the same
+ * number.</li>
+ * </ul>
+ *
+ * <p>
+ * Every check sorts the elements once and sweeps them in order, so the cost
+ * grows as n log n with the size of the device. Peripherals are checked in
+ * parallel.
+ * </p>
+ */
+public class SvdValidator {
+	private SvdValidator() {
+	}
+
+	/**
+	 * Check a device.
+	 *
+	 * @param device The device to check.
+	 * @return A list of SvdDiagnostic objects, empty if no problem was found.
+	 *         Peripheral level diagnostics come first, in peripheral order.
+	 */
+	public static List<SvdDiagnostic> validate(SvdDevice device) {
+		int addressUnitBits = (device.getAddressUnitBits() != null && device.getAddressUnitBits() > 0)
+				? device.getAddressUnitBits()
+				: 8;
+		List<SvdDiagnostic> diagnostics = new ArrayList<>();
+		device.getPeripherals().parallelStream().map(p -> validatePeripheral(p, addressUnitBits))
+				.forEachOrdered(diagnostics::addAll);
+		checkPeripheralOverlaps(device.getPeripherals(), addressUnitBits, diagnostics);
+		checkInterrupts(device.getPeripherals(), diagnostics);
+		return diagnostics;
+	}
+
+	private static List<SvdDiagnostic> validatePeripheral(SvdPeripheral p, int addressUnitBits) {
+		List<SvdDiagnostic> diagnostics = new ArrayList<>();
+		List<SvdRegister> regs = p.getRegisters();
+
+		// Register extents, in address units
+		List<Integer> sized = new ArrayList<>(regs.size());
+		long[] starts = new long[regs.size()];
+		long[] ends = new long[regs.size()];
+		for (int i = 0; i < regs.size(); i++) {
+			SvdRegister r = regs.get(i);
+			if (r.getSize() == null || r.getSize() <= 0) {
+				diagnostics.add(new SvdDiagnostic(SvdSeverity.WARNING, "register-size", path(p, r),
+						"Register has no valid size"));
+			} else {
+				starts[i] = r.getAbsoluteOffset();
+				ends[i] = starts[i] + (r.getSize() + addressUnitBits - 1) / addressUnitBits;
+				sized.add(i);
+			}
+			checkFields(p, r, diagnostics);
+		}
+
+		// Register overlaps
+		sized.sort(Comparator.comparingLong(i -> starts[i]));
+		int active = -1;
+		for (int i : sized) {
+			if (active >= 0 && starts[i] < ends[active] && !mayOverlap(regs.get(active), regs.get(i)))
+				diagnostics.add(new SvdDiagnostic(SvdSeverity.ERROR, "register-overlap", path(p, regs.get(i)),
+						"Register at offset 0x" + Long.toHexString(starts[i]) + " overlaps "
+								+ regs.get(active).getName() + " at offset 0x" + Long.toHexString(starts[active])));
+			if (active < 0 || ends[i] > ends[active])
+				active = i;
+		}
+
+		// Registers outside of the address blocks
+		long[][] blocks = mergeAddressBlocks(p.getAddressBlocks());
+		if (blocks[0].length > 0) {
+			for (int i : sized) {
+				int b = Arrays.binarySearch(blocks[0], starts[i]);
+				if (b < 0)
+					b = -b - 2;
+				if (b < 0 || ends[i] > blocks[1][b])
+					diagnostics.add(new SvdDiagnostic(SvdSeverity.WARNING, "register-outside-address-block",
+							path(p, regs.get(i)), "Register at offset 0x" + Long.toHexString(starts[i])
+									+ " is not contained in any address block"));
+			}
+		}
+		return diagnostics;
+	}
+
+	private static void checkFields(SvdPeripheral p, SvdRegister r, List<SvdDiagnostic> diagnostics) {
+		List<SvdField> fields = r.getFields();
+		if (fields == null || fields.isEmpty())
+			return;
+		List<SvdField> sorted = new ArrayList<>(fields.size());
+		for (SvdField f : fields) {
+			if (f.getBitOffset() == null || f.getBitWidth() == null)
+				continue;
+			if (r.getSize() != null && r.getSize() > 0 && f.getBitOffset() + f.getBitWidth() > r.getSize())
+				diagnostics.add(new SvdDiagnostic(SvdSeverity.ERROR, "field-outside-register", path(p, r, f),
+						"Field " + f.getBitRange() + " extends past the register size of " + r.getSize() + " bits"));
+			sorted.add(f);
+		}
+		sorted.sort(Comparator.comparingInt(SvdField::getBitOffset));
+		SvdField active = null;
+		for (SvdField f : sorted) {
+			if (active != null && f.getBitOffset() <= active.getMsb()
+					&& !isReadWritePair(active.getAccess(), f.getAccess()))
+				diagnostics.add(new SvdDiagnostic(SvdSeverity.ERROR, "field-overlap", path(p, r, f),
+						"Field " + f.getBitRange() + " overlaps " + active.getName() + " " + active.getBitRange()));
+			if (active == null || f.getMsb() > active.getMsb())
+				active = f;
+		}
+	}
+
+	private static void checkPeripheralOverlaps(List<SvdPeripheral> periphs, int addressUnitBits,
+			List<SvdDiagnostic> diagnostics) {
+		// Address ranges of every peripheral, from its address blocks or, if it has
+		// none, from its registers
+		List<long[]> ranges = new ArrayList<>();
+		for (int i = 0; i < periphs.size(); i++) {
+			SvdPeripheral p = periphs.get(i);
+			long base = p.getBaseAddr();
+			if (!p.getAddressBlocks().isEmpty()) {
+				for (SvdAddressBlock ab : p.getAddressBlocks())
+					if (ab.getOffset() != null && ab.getSize() != null && ab.getSize() > 0)
+						ranges.add(new long[] { base + ab.getOffset(), base + ab.getOffset() + ab.getSize(), i });
+			} else {
+				long start = Long.MAX_VALUE;
+				long end = Long.MIN_VALUE;
+				for (SvdRegister r : p.getRegisters()) {
+					if (r.getSize() == null || r.getSize() <= 0)
+						continue;
+					start = Math.min(start, base + r.getAbsoluteOffset());
+					end = Math.max(end,
+							base + r.getAbsoluteOffset() + (r.getSize() + addressUnitBits - 1) / addressUnitBits);
+				}
+				if (start < end)
+					ranges.add(new long[] { start, end, i });
+			}
+		}
+
+		ranges.sort(Comparator.comparingLong(range -> range[0]));
+		Set<Long> reported = new HashSet<>();
+		long[] active = null;
+		for (long[] range : ranges) {
+			if (active != null && range[0] < active[1] && range[2] != active[2]) {
+				SvdPeripheral a = periphs.get((int) active[2]);
+				SvdPeripheral b = periphs.get((int) range[2]);
+				if (a.getAlternatePeripheral() == null && b.getAlternatePeripheral() == null
+						&& reported.add((active[2] << 32) | range[2]))
+					diagnostics.add(new SvdDiagnostic(SvdSeverity.ERROR, "peripheral-overlap", b.getName(),
+							"Address range starting at 0x" + Long.toHexString(range[0]) + " overlaps peripheral "
+									+ a.getName()));
+			}
+			if (active == null || range[1] > active[1])
+				active = range;
+		}
+	}
+
+	private static void checkInterrupts(List<SvdPeripheral> periphs, List<SvdDiagnostic> diagnostics) {
+		List<Object[]> interrupts = new ArrayList<>();
+		for (SvdPeripheral p : periphs)
+			for (SvdInterrupt irq : p.getInterrupts())
+				if (irq.getValue() != null)
+					interrupts.add(new Object[] { irq, p });
+
+		// Derived peripherals repeat the interrupts of their base, so each distinct
+		// name is reported once per number, against the first name that used it
+		interrupts.sort(Comparator.comparingInt(e -> ((SvdInterrupt) e[0]).getValue()));
+		SvdInterrupt first = null;
+		Set<String> names = new HashSet<>();
+		for (Object[] e : interrupts) {
+			SvdInterrupt irq = (SvdInterrupt) e[0];
+			SvdPeripheral p = (SvdPeripheral) e[1];
+			if (first == null || !irq.getValue().equals(first.getValue())) {
+				first = irq;
+				names.clear();
+				names.add(irq.getName());
+			} else if (names.add(irq.getName())) {
+				diagnostics.add(new SvdDiagnostic(SvdSeverity.ERROR, "interrupt-duplicate", p.getName(),
+						"Interrupt " + irq.getName() + " uses number " + irq.getValue() + " already used by "
+								+ first.getName()));
+			}
+		}
+	}
+
+	/**
+	 * Sort and merge the address blocks of a peripheral into two arrays holding
+	 * the start and end offsets of disjoint ranges.
+	 */
+	private static long[][] mergeAddressBlocks(List<SvdAddressBlock> addressBlocks) {
+		List<SvdAddressBlock> sorted = new ArrayList<>(addressBlocks.size());
+		for (SvdAddressBlock ab : addressBlocks)
+			if (ab.getOffset() != null && ab.getSize() != null)
+				sorted.add(ab);
+		sorted.sort(Comparator.comparingLong(SvdAddressBlock::getOffset));
+		long[] starts = new long[sorted.size()];
+		long[] ends = new long[sorted.size()];
+		int count = 0;
+		for (SvdAddressBlock ab : sorted) {
+			long start = ab.getOffset();
+			long end = start + ab.getSize();
+			if (count > 0 && start <= ends[count - 1]) {
+				ends[count - 1] = Math.max(ends[count - 1], end);
+			} else {
+				starts[count] = start;
+				ends[count] = end;
+				count++;
+			}
+		}
+		return new long[][] { Arrays.copyOf(starts, count), Arrays.copyOf(ends, count) };
+	}
+
+	private static boolean mayOverlap(SvdRegister a, SvdRegister b) {
+		return a.getAlternateGroup() != null || b.getAlternateGroup() != null || a.getAlternateRegister() != null
+				|| b.getAlternateRegister() != null || isReadWritePair(a.getAccess(), b.getAccess());
+	}
+
+	private static boolean isReadWritePair(SvdAccess a, SvdAccess b) {
+		return (a == SvdAccess.READ_ONLY && (b == SvdAccess.WRITE_ONLY || b == SvdAccess.WRITE_ONCE))
+				|| (b == SvdAccess.READ_ONLY && (a == SvdAccess.WRITE_ONLY || a == SvdAccess.WRITE_ONCE));
+	}
+
+	private static String path(SvdPeripheral p, SvdRegister r) {
+		return p.getName() + "." + r.getName();
+	}
+
+	private static String path(SvdPeripheral p, SvdRegister r, SvdField f) {
+		return p.getName() + "." + r.getName() + "." + f.getName();
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.util.Objects;
+
+import org.w3c.dom.Element;
+
+/**
+ * This class represents the {@code <writeConstraint>} element of a register or
+ * field, which restricts the values software may write. Exactly one of the
+ * constraints is set: values must be written as read, values must be one of the
+ * enumerated values of the field, or values must lie within a range.
+ */
+public class SvdWriteConstraint {
+	private final boolean mWriteAsRead;
+	private final boolean mUseEnumeratedValues;
+	private final Long mMinimum;
+	private final Long mMaximum;
+
+	/**
+	 * Parse a {@code <writeConstraint>} DOM element.
+	 *
+	 * @param el The {@code <writeConstraint>} DOM element.
+	 * @return A SvdWriteConstraint object, or null if the element is null.
+	 * @throws SvdParserException on SVD format errors.
+	 */
+	static SvdWriteConstraint fromElement(Element el) throws SvdParserException {
+		if (el == null)
+			return null;
+		if (!el.getNodeName().equals("writeConstraint"))
+			throw new SvdParserException("Cannot build an SvdWriteConstraint from a " + el.getNodeName() + " node!");
+
+		Element writeAsReadElement = Utils.getSingleFirstOrderChildElementByTagName(el, "writeAsRead");
+		boolean writeAsRead = writeAsReadElement != null
+				&& Boolean.parseBoolean(writeAsReadElement.getTextContent().trim());
+		Element useEnumeratedValuesElement = Utils.getSingleFirstOrderChildElementByTagName(el,
+				"useEnumeratedValues");
+		boolean useEnumeratedValues = useEnumeratedValuesElement != null
+				&& Boolean.parseBoolean(useEnumeratedValuesElement.getTextContent().trim());
+
+		Long minimum = null;
+		Long maximum = null;
+		Element rangeElement = Utils.getSingleFirstOrderChildElementByTagName(el, "range");
+		if (rangeElement != null) {
+			minimum = Long.decode(
+					Utils.getRequiredFirstOrderChildElementByTagName(rangeElement, "minimum").getTextContent().trim());
+			maximum = Long.decode(
+					Utils.getRequiredFirstOrderChildElementByTagName(rangeElement, "maximum").getTextContent().trim());
+			if (maximum < minimum)
+				throw new SvdParserException("Invalid writeConstraint range " + minimum + "-" + maximum + "!");
+		}
+		return new SvdWriteConstraint(writeAsRead, useEnumeratedValues, minimum, maximum);
+	}
+
+	private SvdWriteConstraint(boolean writeAsRead, boolean useEnumeratedValues, Long minimum, Long maximum) {
+		mWriteAsRead = writeAsRead;
+		mUseEnumeratedValues = useEnumeratedValues;
+		mMinimum = minimum;
+		mMaximum = maximum;
+	}
+
+	/**
+	 * Get whether only the last read value may be written back.
+	 *
+	 * @return True if values must be written as read.
+	 */
+	public boolean isWriteAsRead() {
+		return mWriteAsRead;
+	}
+
+	/**
+	 * Get whether only the enumerated values of the field may be written.
+	 *
+	 * @return True if written values must be enumerated values.
+	 */
+	public boolean isUseEnumeratedValues() {
+		return mUseEnumeratedValues;
+	}
+
+	/**
+	 * Get the smallest value that may be written.
+	 *
+	 * @return The range minimum, or null if no range is specified.
+	 */
+	public Long getRangeMinimum() {
+		return mMinimum;
+	}
+
+	/**
+	 * Get the largest value that may be written.
+	 *
+	 * @return The range maximum, or null if no range is specified.
+	 */
+	public Long getRangeMaximum() {
+		return mMaximum;
+	}
+
+	/**
+	 * Check a value against the range of this constraint.
+	 *
+	 * @param value The value to write, shifted down to bit 0.
+	 * @return False if a range is specified and the value is outside of it.
+	 */
+	public boolean isInRange(long value) {
+		return mMinimum == null || (value >= mMinimum && value <= mMaximum);
+	}
+
+	/**
+	 * Account the memory retained by this object in the category of its owner.
+	 */
+	void estimateMemory(SvdMemoryEstimator e, SvdMemoryCategory category) {
+		if (!e.add(this, category))
+			return;
+		e.addBoxed(mMinimum, category);
+		e.addBoxed(mMaximum, category);
+	}
+
+	/**
+	 * Add this constraint to the fingerprint of its owner.
+	 */
+	void hash(SvdFingerprint.Hasher hasher) {
+		hasher.putBoolean(mWriteAsRead).putBoolean(mUseEnumeratedValues).putLong(mMinimum).putLong(mMaximum);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof SvdWriteConstraint))
+			return false;
+		SvdWriteConstraint other = (SvdWriteConstraint) obj;
+		return mWriteAsRead == other.mWriteAsRead && mUseEnumeratedValues == other.mUseEnumeratedValues
+				&& Objects.equals(mMinimum, other.mMinimum)
+				&& Objects.equals(mMaximum, other.mMaximum);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(mWriteAsRead, mUseEnumeratedValues, mMinimum, mMaximum);
+	}
+
+	@Override
+	public String toString() {
+		if (mWriteAsRead)
+			return "SvdWriteConstraint{writeAsRead}";
+		if (mUseEnumeratedValues)
+			return "SvdWriteConstraint{useEnumeratedValues}";
+		if (mMinimum != null)
+			return "SvdWriteConstraint{range=" + mMinimum + "-" + mMaximum + "}";
+		return "SvdWriteConstraint{}";
+	}
+}
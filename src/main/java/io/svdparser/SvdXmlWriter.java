@@ -0,0 +1,404 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * This class writes an {@link SvdDevice} as an SVD document.
+ *
+ * <p>
+ * The document is streamed peripheral by peripheral. Every register is written
+ * with its explicit size and access, inside the cluster tree of its
+ * peripheral. Parsing the output produces a device equal to the written one.
+ * </p>
+ *
+ * <p>
+ * By default, arrays are written back as a single element with {@code <dim>}
+ * and derived peripherals only contain what they add to their base, which keeps
+ * the output compact. Both can be disabled to write the fully expanded form.
+ * </p>
+ */
+public class SvdXmlWriter {
+	private final XMLStreamWriter mWriter;
+	private boolean mFoldDim = true;
+	private boolean mFoldDerived = true;
+	private int mIndent;
+
+	/**
+	 * Create a writer encoding the document as UTF-8 into a stream. The stream is
+	 * not closed.
+	 *
+	 * @param os Destination stream.
+	 * @throws XMLStreamException On XML writer creation error.
+	 */
+	public SvdXmlWriter(OutputStream os) throws XMLStreamException {
+		mWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(os, "UTF-8");
+	}
+
+	/**
+	 * Create a writer into a character stream. The stream is not closed.
+	 *
+	 * @param w Destination writer.
+	 * @throws XMLStreamException On XML writer creation error.
+	 */
+	public SvdXmlWriter(Writer w) throws XMLStreamException {
+		mWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(w);
+	}
+
+	/**
+	 * Set whether expanded arrays are written as a single {@code <dim>} element.
+	 *
+	 * @param fold True to fold arrays, which is the default.
+	 * @return This writer.
+	 */
+	public SvdXmlWriter setFoldDim(boolean fold) {
+		mFoldDim = fold;
+		return this;
+	}
+
+	/**
+	 * Set whether derived peripherals are written with a {@code derivedFrom}
+	 * attribute instead of a full copy of their base.
+	 *
+	 * @param fold True to fold derived peripherals, which is the default.
+	 * @return This writer.
+	 */
+	public SvdXmlWriter setFoldDerived(boolean fold) {
+		mFoldDerived = fold;
+		return this;
+	}
+
+	/**
+	 * Write a device as a complete SVD document.
+	 *
+	 * @param device The device to write.
+	 * @throws XMLStreamException On XML writing error.
+	 */
+	public void write(SvdDevice device) throws XMLStreamException {
+		mIndent = 0;
+		mWriter.writeStartDocument("UTF-8", "1.0");
+		start("device");
+		mWriter.writeAttribute("schemaVersion", "1.3");
+		element("vendor", device.getVendor());
+		element("vendorID", device.getVendorID());
+		element("name", device.getName());
+		element("series", device.getSeries());
+		element("version", device.getVersion());
+		element("description", device.getDescription());
+		element("licenseText", device.getLicenseText());
+		writeCpu(device.getCpu());
+		element("addressUnitBits", device.getAddressUnitBits());
+		element("width", device.getWidth());
+
+		start("peripherals");
+		List<SvdPeripheral> periphs = device.getPeripherals();
+		for (int i = 0; i < periphs.size(); i++)
+			i += writePeripheral(periphs, i);
+		end();
+
+		end();
+		mWriter.writeEndDocument();
+		mWriter.writeCharacters("\n");
+		mWriter.flush();
+	}
+
+	private void writeCpu(SvdCpu cpu) throws XMLStreamException {
+		if (cpu == null || (cpu.getName() == null && cpu.getRevision() == null && cpu.getEndian() == null
+				&& cpu.isMpuPresent() == null && cpu.isFpuPresent() == null && cpu.getNvicPrioBits() == null
+				&& cpu.isVendorSystickConfig() == null))
+			return;
+		start("cpu");
+		element("name", cpu.getName());
+		element("revision", cpu.getRevision());
+		element("endian", cpu.getEndian());
+		element("mpuPresent", cpu.isMpuPresent());
+		element("fpuPresent", cpu.isFpuPresent());
+		element("nvicPrioBits", cpu.getNvicPrioBits());
+		element("vendorSystickConfig", cpu.isVendorSystickConfig());
+		end();
+	}
+
+	/**
+	 * Write the peripheral at the given index and return the number of following
+	 * peripherals that were folded into it.
+	 */
+	private int writePeripheral(List<SvdPeripheral> periphs, int index) throws XMLStreamException {
+		SvdPeripheral p = periphs.get(index);
+		SvdDim dim = mFoldDim ? getFoldableDim(periphs, index, p.getDim(), SvdPeripheral::getDim) : null;
+		SvdPeripheral base = mFoldDerived ? getFoldableBase(p) : null;
+
+		start("peripheral");
+		if (base != null)
+			mWriter.writeAttribute("derivedFrom", base.getName());
+		writeDim(dim);
+		element("name", (dim != null) ? dim.getName() : p.getName());
+		if (base == null || !isInherited(p.getVersion(), base.getVersion()))
+			element("version", p.getVersion());
+		if (base == null || !isInherited(p.getDescription(), base.getDescription()))
+			element("description", p.getDescription());
+		element("alternatePeripheral", p.getAlternatePeripheral());
+		if (base == null || !isInherited(p.getGroupName(), base.getGroupName()))
+			element("groupName", p.getGroupName());
+		element("baseAddress", hex(p.getBaseAddr()));
+
+		List<SvdAddressBlock> addressBlocks = p.getAddressBlocks();
+		List<SvdInterrupt> interrupts = p.getInterrupts();
+		List<SvdCluster> clusters = p.getClusters();
+		// Registers inside clusters are written with their cluster
+		List<SvdRegister> regs = getDirectRegisters(p);
+		if (base != null) {
+			addressBlocks = addressBlocks.subList(base.getAddressBlocks().size(), addressBlocks.size());
+			interrupts = interrupts.subList(base.getInterrupts().size(), interrupts.size());
+			clusters = clusters.subList(base.getClusters().size(), clusters.size());
+			regs = regs.subList(getDirectRegisters(base).size(), regs.size());
+		}
+		for (SvdAddressBlock ab : addressBlocks) {
+			start("addressBlock");
+			element("offset", hex(ab.getOffset()));
+			element("size", hex(ab.getSize()));
+			element("usage", ab.getUsage());
+			end();
+		}
+		for (SvdInterrupt irq : interrupts) {
+			start("interrupt");
+			element("name", irq.getName());
+			element("description", irq.getDescription());
+			element("value", irq.getValue());
+			end();
+		}
+		if (!clusters.isEmpty() || !regs.isEmpty()) {
+			start("registers");
+			writeChildren(clusters, regs);
+			end();
+		}
+		end();
+		return (dim != null) ? dim.getDim() - 1 : 0;
+	}
+
+	/**
+	 * Get the registers of a peripheral that are outside of any cluster. Derived
+	 * peripherals list those of their base first.
+	 */
+	private static List<SvdRegister> getDirectRegisters(SvdPeripheral p) {
+		List<SvdRegister> regs = new ArrayList<>();
+		for (SvdRegister r : p.getRegisters())
+			if (r.getParent() == null)
+				regs.add(r);
+		return regs;
+	}
+
+	private void writeChildren(List<SvdCluster> clusters, List<SvdRegister> regs) throws XMLStreamException {
+		for (int i = 0; i < clusters.size(); i++)
+			i += writeCluster(clusters, i);
+		for (int i = 0; i < regs.size(); i++)
+			i += writeRegister(regs, i);
+	}
+
+	/**
+	 * Write the cluster at the given index and return the number of following
+	 * clusters that were folded into it.
+	 */
+	private int writeCluster(List<SvdCluster> clusters, int index) throws XMLStreamException {
+		SvdCluster c = clusters.get(index);
+		SvdDim dim = mFoldDim ? getFoldableDim(clusters, index, c.getDim(), SvdCluster::getDim) : null;
+
+		start("cluster");
+		writeDim(dim);
+		element("name", (dim != null) ? dim.getName() : c.getName());
+		element("description", c.getDescription());
+		element("addressOffset", hex(c.getLocalOffset()));
+		writeChildren(c.getClusters(), c.getRegisters());
+		end();
+		return (dim != null) ? dim.getDim() - 1 : 0;
+	}
+
+	/**
+	 * Write the register at the given index and return the number of following
+	 * registers that were folded into it.
+	 */
+	private int writeRegister(List<SvdRegister> regs, int index) throws XMLStreamException {
+		SvdRegister r = regs.get(index);
+		SvdDim dim = mFoldDim ? getFoldableDim(regs, index, r.getDim(), SvdRegister::getDim) : null;
+
+		start("register");
+		writeDim(dim);
+		element("name", (dim != null) ? dim.getName() : r.getLocalName());
+		element("description", r.getDescription());
+		element("alternateGroup", r.getAlternateGroup());
+		element("alternateRegister", r.getAlternateRegister());
+		element("addressOffset", hex(r.getLocalOffset()));
+		if (r.getSize() != null && r.getSize() > 0)
+			element("size", r.getSize());
+		if (r.getAccess() != null)
+			element("access", r.getAccess().getSvdValue());
+		if (r.getResetValue() != null)
+			element("resetValue", unsignedHex(r.getResetValue()));
+		if (r.getResetMask() != null)
+			element("resetMask", unsignedHex(r.getResetMask()));
+		writeSideEffects(r.getModifiedWriteValues(), r.getWriteConstraint(), r.getReadAction());
+		List<SvdField> fields = r.getFields();
+		if (fields != null && !fields.isEmpty()) {
+			start("fields");
+			for (SvdField f : fields)
+				writeField(f);
+			end();
+		}
+		end();
+		return (dim != null) ? dim.getDim() - 1 : 0;
+	}
+
+	private void writeField(SvdField f) throws XMLStreamException {
+		start("field");
+		element("name", f.getName());
+		element("description", f.getDescription());
+		element("bitOffset", f.getBitOffset());
+		element("bitWidth", f.getBitWidth());
+		if (f.getAccess() != null)
+			element("access", f.getAccess().getSvdValue());
+		writeSideEffects(f.getModifiedWriteValues(), f.getWriteConstraint(), f.getReadAction());
+		if (f.getEnumeratedValues() != null) {
+			for (SvdEnumeratedValues evs : f.getEnumeratedValues()) {
+				start("enumeratedValues");
+				element("name", evs.getName());
+				element("usage", evs.getUsage().getSvdValue());
+				for (SvdEnumeratedValue ev : evs.getValues()) {
+					start("enumeratedValue");
+					element("name", ev.getName());
+					element("description", ev.getDescription());
+					if (ev.getValue() != null)
+						element("value", hex(ev.getValue()));
+					if (Boolean.TRUE.equals(ev.isDefault()))
+						element("isDefault", "true");
+					end();
+				}
+				end();
+			}
+		}
+		end();
+	}
+
+	private void writeSideEffects(SvdModifiedWriteValues modifiedWriteValues, SvdWriteConstraint writeConstraint,
+			SvdReadAction readAction) throws XMLStreamException {
+		if (modifiedWriteValues != null)
+			element("modifiedWriteValues", modifiedWriteValues.getSvdValue());
+		if (writeConstraint != null) {
+			start("writeConstraint");
+			if (writeConstraint.isWriteAsRead())
+				element("writeAsRead", "true");
+			if (writeConstraint.isUseEnumeratedValues())
+				element("useEnumeratedValues", "true");
+			if (writeConstraint.getRangeMinimum() != null) {
+				start("range");
+				element("minimum", writeConstraint.getRangeMinimum());
+				element("maximum", writeConstraint.getRangeMaximum());
+				end();
+			}
+			end();
+		}
+		if (readAction != null)
+			element("readAction", readAction.getSvdValue());
+	}
+
+	private void writeDim(SvdDim dim) throws XMLStreamException {
+		if (dim == null)
+			return;
+		element("dim", dim.getDim());
+		element("dimIncrement", hex(dim.getDimIncrement()));
+		if (dim.getIndexes() != null)
+			element("dimIndex", String.join(",", dim.getIndexes()));
+		element("dimName", dim.getDimName());
+	}
+
+	/**
+	 * Get the array declaration of an element if the element is the first one of
+	 * a complete, contiguous expansion of it.
+	 */
+	private static <T> SvdDim getFoldableDim(List<T> items, int index, SvdDim dim,
+			Function<T, SvdDim> getDim) {
+		if (dim == null || index + dim.getDim() > items.size())
+			return null;
+		for (int i = 0; i < dim.getDim(); i++)
+			if (getDim.apply(items.get(index + i)) != dim)
+				return null;
+		return dim;
+	}
+
+	/**
+	 * Get the base of a derived peripheral if its lists start with the ones of
+	 * the base.
+	 */
+	private static SvdPeripheral getFoldableBase(SvdPeripheral p) {
+		SvdPeripheral base = p.getDerivedFrom();
+		if (base == null)
+			return null;
+		if (!startsWith(p.getAddressBlocks(), base.getAddressBlocks())
+				|| !startsWith(p.getInterrupts(), base.getInterrupts())
+				|| !startsWith(p.getClusters(), base.getClusters())
+				|| !startsWith(p.getRegisters(), base.getRegisters()))
+			return null;
+		return base;
+	}
+
+	private static boolean startsWith(List<?> list, List<?> prefix) {
+		if (prefix.size() > list.size())
+			return false;
+		for (int i = 0; i < prefix.size(); i++)
+			if (list.get(i) != prefix.get(i))
+				return false;
+		return true;
+	}
+
+	private static boolean isInherited(String value, String baseValue) {
+		return value == null || value.equals(baseValue);
+	}
+
+	private static String hex(Number number) {
+		if (number == null)
+			return null;
+		long value = number.longValue();
+		String digits = Long.toHexString(Math.abs(value)).toUpperCase();
+		return (value < 0) ? "-0x" + digits : "0x" + digits;
+	}
+
+	private static String unsignedHex(long value) {
+		return "0x" + Long.toHexString(value).toUpperCase();
+	}
+
+	private void start(String name) throws XMLStreamException {
+		newLine();
+		mWriter.writeStartElement(name);
+		mIndent++;
+	}
+
+	private void end() throws XMLStreamException {
+		mIndent--;
+		newLine();
+		mWriter.writeEndElement();
+	}
+
+	private void element(String name, Object value) throws XMLStreamException {
+		if (value == null)
+			return;
+		newLine();
+		mWriter.writeStartElement(name);
+		mWriter.writeCharacters(value.toString());
+		mWriter.writeEndElement();
+	}
+
+	private void newLine() throws XMLStreamException {
+		mWriter.writeCharacters("\n");
+		for (int i = 0; i < mIndent; i++)
+			mWriter.writeCharacters("  ");
+	}
+}
@@ -4,6 +4,8 @@
  */
 package io.svdparser;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,6 +33,32 @@ public class Utils {
 		return elements.get(0);
 	}
 
+	static Element getRequiredFirstOrderChildElementByTagName(Element parent, String name)
+			throws SvdParserException {
+		Element element = getSingleFirstOrderChildElementByTagName(parent, name);
+		if (element == null)
+			throw new SvdParserException("Missing " + name + " element in " + parent.getNodeName() + "!");
+		return element;
+	}
+
+	/**
+	 * Get the location of an element in the document as a path of element names,
+	 * such as {@code peripherals/peripheral[TIMER0]/registers/register[CR]}.
+	 * Elements holding a name child are qualified with it.
+	 */
+	static String getElementPath(Element el) {
+		StringBuilder sb = new StringBuilder();
+		for (Node node = el; node instanceof Element && node.getParentNode() instanceof Element; node = node
+				.getParentNode()) {
+			String segment = node.getNodeName();
+			List<Element> names = getFirstOrderChildElementsByTagName((Element) node, "name");
+			if (!names.isEmpty())
+				segment += "[" + names.get(0).getTextContent().trim() + "]";
+			sb.insert(0, (sb.length() > 0) ? segment + "/" : segment);
+		}
+		return sb.toString();
+	}
+
 	static SvdPeripheral getPeripheralFromName(List<SvdPeripheral> periphs, String name) {
 		if (periphs == null)
 			return null;
@@ -39,4 +67,70 @@ public class Utils {
 				return p;
 		return null;
 	}
+
+	static <T> List<T> concat(List<? extends T> first, List<? extends T> second) {
+		if (second.isEmpty())
+			return List.copyOf(first);
+		List<T> list = new ArrayList<>(first.size() + second.size());
+		list.addAll(first);
+		list.addAll(second);
+		return List.copyOf(list);
+	}
+
+	static String truncate(StringBuilder sb, int maxLength) {
+		if (sb.length() <= maxLength)
+			return sb.toString();
+		if (maxLength < 3)
+			return sb.substring(0, Math.max(maxLength, 0));
+		return sb.substring(0, maxLength - 3) + "...";
+	}
+
+	static long getUnsigned(ByteBuffer buffer, int index, int bytes) {
+		switch (bytes) {
+		case 1:
+			return buffer.get(index) & 0xFFL;
+		case 2:
+			return buffer.getShort(index) & 0xFFFFL;
+		case 4:
+			return buffer.getInt(index) & 0xFFFFFFFFL;
+		case 8:
+			return buffer.getLong(index);
+		default:
+			long value = 0;
+			boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+			for (int i = 0; i < bytes; i++) {
+				long b = buffer.get(index + i) & 0xFFL;
+				if (bigEndian)
+					value = (value << 8) | b;
+				else
+					value |= b << (8 * i);
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Decode an unsigned 64-bit number in decimal or in hexadecimal with a
+	 * {@code 0x} prefix. Values above {@link Long#MAX_VALUE} wrap around.
+	 */
+	static long decodeUnsigned(String text) {
+		text = text.trim();
+		if (text.startsWith("0x") || text.startsWith("0X"))
+			return Long.parseUnsignedLong(text.substring(2), 16);
+		return Long.parseUnsignedLong(text);
+	}
+
+	static int getAddressUnitBytes(SvdDevice device) {
+		Integer bits = device.getAddressUnitBits();
+		return (bits == null || bits < 8) ? 1 : bits / 8;
+	}
+
+	/**
+	 * Get the byte order of the device memory. Devices without a CPU
+	 * description, which lenient parses may produce, default to little endian.
+	 */
+	static ByteOrder getByteOrder(SvdDevice device) {
+		SvdCpu cpu = device.getCpu();
+		return (cpu != null) ? cpu.getByteOrder() : ByteOrder.LITTLE_ENDIAN;
+	}
 }
@@ -0,0 +1,124 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SvdAccessMasksTest {
+	private static final String STATUS = "<device><name>RMW</name><peripherals>"
+			+ "<peripheral><name>UART</name><baseAddress>0x4000</baseAddress><size>32</size><registers>"
+			+ "<register><name>SR</name><addressOffset>0x0</addressOffset><modifiedWriteValues>oneToClear"
+			+ "</modifiedWriteValues><fields>"
+			+ "<field><name>RXNE</name><bitRange>[0:0]</bitRange></field>"
+			+ "<field><name>TXE</name><bitRange>[1:1]</bitRange><modifiedWriteValues>zeroToClear"
+			+ "</modifiedWriteValues></field>"
+			+ "<field><name>MODE</name><bitRange>[5:4]</bitRange><modifiedWriteValues>modify</modifiedWriteValues>"
+			+ "<writeConstraint><range><minimum>0</minimum><maximum>2</maximum></range></writeConstraint></field>"
+			+ "<field><name>LEVEL</name><bitRange>[11:8]</bitRange><access>read-only</access>"
+			+ "<readAction>clear</readAction></field>"
+			+ "<field><name>SPEED</name><bitRange>[13:12]</bitRange><modifiedWriteValues>modify"
+			+ "</modifiedWriteValues><writeConstraint><useEnumeratedValues>true</useEnumeratedValues>"
+			+ "</writeConstraint><enumeratedValues>"
+			+ "<enumeratedValue><name>SLOW</name><value>0</value></enumeratedValue>"
+			+ "<enumeratedValue><name>FAST</name><value>3</value></enumeratedValue>"
+			+ "</enumeratedValues></field>"
+			+ "</fields></register></registers></peripheral></peripherals></device>";
+
+	private static SvdDevice parse(String svd, SvdParseOptions options) throws Exception {
+		return new SvdParser(options).parse(new ByteArrayInputStream(svd.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test
+	void testModifiedWriteValues() throws Exception {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/11_modified_write_values.svd"));
+		List<SvdRegister> regs = dev.getPeripherals().get(0).getRegisters();
+		assertEquals(SvdModifiedWriteValues.ONE_TO_SET, regs.get(0).getModifiedWriteValues());
+		assertEquals(SvdModifiedWriteValues.ONE_TO_CLEAR, regs.get(1).getModifiedWriteValues());
+		assertEquals(SvdModifiedWriteValues.ONE_TO_TOGGLE, regs.get(2).getModifiedWriteValues());
+
+		// Writing 1 to a bit of OUTCLR clears it, so nothing else must be written
+		SvdAccessMasks masks = regs.get(1).getAccessMasks();
+		assertSame(masks, regs.get(1).getAccessMasks());
+		assertEquals(0xFFFFFFFFL, masks.getOneToClearMask());
+		assertFalse(masks.isReadRequired(0x4));
+		assertEquals(0x4L, masks.readModifyWrite(0xFFFFFFFFL, 0x4, 0x4));
+	}
+
+	@Test
+	void testReadAction() throws Exception {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/12_read_action.svd"));
+		List<SvdRegister> regs = dev.getPeripherals().get(0).getRegisters();
+		assertEquals(SvdReadAction.CLEAR, regs.get(0).getReadAction());
+		assertEquals(SvdReadAction.MODIFY_EXTERNAL, regs.get(1).getReadAction());
+		assertEquals(SvdReadAction.SET, regs.get(2).getReadAction());
+		assertTrue(regs.get(0).getAccessMasks().hasReadSideEffects());
+		assertEquals(0xFFFFFFFFL, regs.get(0).getAccessMasks().getReadClearMask());
+		assertEquals(0xFFFFFFFFL, regs.get(2).getAccessMasks().getReadSetMask());
+	}
+
+	@Test
+	void testFieldMasks() throws Exception {
+		SvdRegister sr = parse(STATUS, SvdParseOptions.DEFAULT).getPeripherals().get(0).getRegisters().get(0);
+		List<SvdField> fields = sr.getFields();
+
+		// Fields inherit the register value unless they declare their own
+		assertEquals(SvdModifiedWriteValues.ONE_TO_CLEAR, fields.get(0).getModifiedWriteValues());
+		assertEquals(SvdModifiedWriteValues.ZERO_TO_CLEAR, fields.get(1).getModifiedWriteValues());
+		assertEquals(SvdReadAction.CLEAR, fields.get(3).getReadAction());
+		assertNull(fields.get(0).getReadAction());
+		assertEquals(2L, fields.get(2).getWriteConstraint().getRangeMaximum());
+
+		SvdAccessMasks masks = sr.getAccessMasks();
+		assertEquals(0xFFFFC0CDL, masks.getOneToClearMask());
+		assertEquals(0x2L, masks.getZeroToClearMask());
+		assertEquals(0xF00L, masks.getReadClearMask());
+		assertEquals(0xFFFFF0FFL, masks.getWritableMask());
+		assertTrue(masks.hasReadSideEffects());
+
+		// Changing MODE keeps SPEED, writes 0 to w1c bits and 1 to w0c bits
+		assertTrue(masks.isReadRequired(0x30));
+		assertEquals(0x3F22L, masks.readModifyWrite(0xFFFFFFFFL, 0x30, 0x20));
+		// Acknowledging RXNE only touches that bit
+		assertEquals(0x3F33L, masks.readModifyWrite(0xFFFFFFFFL, 0x1, 0x1));
+
+		assertTrue(masks.isLegalWrite(0x3020));
+		assertFalse(masks.isLegalWrite(0x30));
+		assertFalse(masks.isLegalWrite(0x1000));
+	}
+
+	@Test
+	void testInvalidValues() throws Exception {
+		String svd = STATUS.replace("zeroToClear", "zeroToWhatever").replace("<readAction>clear", "<readAction>x");
+		assertThrows(SvdParserException.class, () -> parse(svd, SvdParseOptions.DEFAULT));
+
+		SvdDevice dev = parse(svd, SvdParseOptions.DEFAULT.withLenient(true));
+		List<SvdField> fields = dev.getPeripherals().get(0).getRegisters().get(0).getFields();
+		assertEquals(SvdModifiedWriteValues.ONE_TO_CLEAR, fields.get(1).getModifiedWriteValues());
+		assertNull(fields.get(3).getReadAction());
+		assertEquals(List.of("invalid-modified-write-values", "invalid-read-action"),
+				dev.getDiagnostics().stream().map(SvdDiagnostic::getCode).toList());
+	}
+
+	@Test
+	void testRoundTrip() throws Exception {
+		SvdDevice dev = parse(STATUS, SvdParseOptions.DEFAULT);
+		StringWriter sw = new StringWriter();
+		new SvdXmlWriter(sw).write(dev);
+		assertEquals(dev.getFingerprint(), parse(sw.toString(), SvdParseOptions.DEFAULT).getFingerprint());
+	}
+}
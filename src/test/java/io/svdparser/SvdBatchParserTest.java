@@ -0,0 +1,88 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class SvdBatchParserTest {
+
+	@Test
+	void testBatch() throws InterruptedException {
+		File[] files = new File("src/test/resources/").listFiles((dir, name) -> name.endsWith(".svd"));
+		File missing = new File("src/test/resources/missing.svd");
+
+		List<SvdBatchResult> results = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			// A budget smaller than most files forces them to be parsed one at a time
+			SvdBatchSummary summary = new SvdBatchParser(executor, 1024)
+					.parse(Stream.concat(Stream.of(files), Stream.of(missing)), results::add);
+
+			assertEquals(files.length + 1, summary.getFileCount());
+			assertEquals(1, summary.getFailureCount());
+			assertEquals(files.length + 1, results.size());
+			assertTrue(summary.getLatencyPercentile(50) <= summary.getLatencyPercentile(100));
+		} finally {
+			executor.shutdown();
+		}
+
+		for (SvdBatchResult result : results) {
+			if (result.getFile().equals(missing))
+				assertFalse(result.isSuccess());
+			else
+				assertTrue(result.isSuccess());
+		}
+	}
+
+	@Test
+	void testParseError() throws InterruptedException {
+		File file = new File("src/test/resources/00_sample.svd");
+		SvdParseOptions options = SvdParseOptions.DEFAULT.withListener(new SvdParseListener() {
+			@Override
+			public void peripheralParsed(String name, long nanos) {
+				throw new StackOverflowError();
+			}
+		});
+
+		// Errors are reported as failed results, even on the common pool
+		List<SvdBatchResult> results = new ArrayList<>();
+		SvdBatchSummary summary = new SvdBatchParser(ForkJoinPool.commonPool(), 1 << 20, options)
+				.parse(Stream.of(file, file), results::add);
+		assertEquals(2, summary.getFileCount());
+		assertEquals(2, summary.getFailureCount());
+		assertEquals(2, results.size());
+		assertInstanceOf(StackOverflowError.class, results.get(0).getError());
+	}
+
+	@Test
+	void testConsumerFailure() throws InterruptedException {
+		File file = new File("src/test/resources/00_sample.svd");
+		AtomicInteger delivered = new AtomicInteger();
+		IllegalStateException e = assertThrows(IllegalStateException.class,
+				() -> new SvdBatchParser(ForkJoinPool.commonPool(), 1024).parse(Stream.of(file, file, file), r -> {
+					delivered.incrementAndGet();
+					throw new IllegalStateException("consumer");
+				}));
+		assertEquals("consumer", e.getMessage());
+
+		// The budget only fits one file, so submission stops after the first failure
+		assertEquals(1, delivered.get());
+	}
+}
@@ -5,6 +5,8 @@
 package io.svdparser;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.io.File;
 import java.io.IOException;
@@ -13,6 +15,7 @@ import java.util.List;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
 import org.xml.sax.SAXException;
 
 class SvdClusterTest {
@@ -124,4 +127,83 @@ class SvdClusterTest {
 		assertEquals("OUTER_DATA", regs.get(1).getName());
 		assertEquals(0x100, regs.get(1).getOffset());
 	}
+
+	/**
+	 * The cluster hierarchy is preserved as a tree. Registers keep their local
+	 * name and offset and point to their enclosing cluster.
+	 */
+	@Test
+	void testClusterTree() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/17_cluster_nested.svd"));
+		SvdPeripheral periph = dev.getPeripherals().get(0);
+		assertEquals(1, periph.getClusters().size());
+
+		SvdCluster outer = periph.getClusters().get(0);
+		assertEquals("OUTER", outer.getName());
+		assertNull(outer.getParent());
+		assertEquals(0x100, outer.getOffset());
+		assertEquals(1, outer.getClusters().size());
+		assertEquals(1, outer.getRegisters().size());
+
+		SvdCluster inner = outer.getClusters().get(0);
+		assertSame(outer, inner.getParent());
+		assertEquals(0x20, inner.getLocalOffset());
+		assertEquals(0x120, inner.getOffset());
+
+		SvdRegister reg = inner.getRegisters().get(0);
+		assertSame(reg, periph.getRegisters().get(0));
+		assertSame(inner, reg.getParent());
+		assertEquals("REG", reg.getLocalName());
+		assertEquals(0x0, reg.getLocalOffset());
+		assertEquals("OUTER_INNER_REG", reg.getName());
+		assertEquals(0x120, reg.getOffset());
+	}
+
+	/**
+	 * Every element of a cluster array is a separate tree node, while the
+	 * registers of all of them share their parsed fields.
+	 */
+	@Test
+	void testDimClusterTree() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/16_cluster_dim.svd"));
+		List<SvdCluster> clusters = dev.getPeripherals().get(0).getClusters();
+		assertEquals(2, clusters.size());
+		assertEquals("CH1", clusters.get(1).getName());
+		assertEquals(1, clusters.get(1).getDimIndex());
+		assertSame(clusters.get(0).getDim(), clusters.get(1).getDim());
+		assertEquals("CH%s", clusters.get(0).getDim().getName());
+		assertEquals(0x30, clusters.get(1).getOffset());
+
+		SvdRegister ctrl0 = clusters.get(0).getRegisters().get(0);
+		SvdRegister ctrl1 = clusters.get(1).getRegisters().get(0);
+		assertEquals("CTRL", ctrl1.getLocalName());
+		assertEquals("CH1_CTRL", ctrl1.getName());
+		assertSame(ctrl0.getFields(), ctrl1.getFields());
+	}
+
+	/**
+	 * The element level API still returns the flattened registers, optionally
+	 * moved into an enclosing cluster, while the tree has its own method.
+	 */
+	@Test
+	void testFromElement() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		Element el = (Element) SvdParser.parseDocument(new File("src/test/resources/17_cluster_nested.svd"))
+				.getElementsByTagName("cluster").item(0);
+
+		List<SvdRegister> regs = SvdCluster.fromElement(el, 32, null);
+		assertEquals(2, regs.size());
+		assertEquals("OUTER_INNER_REG", regs.get(0).getName());
+		assertEquals(0x120, regs.get(0).getOffset());
+		assertEquals("OUTER_DATA", regs.get(1).getName());
+
+		List<SvdRegister> moved = SvdCluster.fromElement(el, 32, null, 0x1000, "TOP_");
+		assertEquals("TOP_OUTER_INNER_REG", moved.get(0).getName());
+		assertEquals(0x1120, moved.get(0).getOffset());
+		assertNull(moved.get(0).getParent());
+
+		List<SvdCluster> tree = SvdCluster.treeFromElement(el, 32, null);
+		assertEquals(1, tree.size());
+		assertEquals("OUTER", tree.get(0).getName());
+		assertEquals("INNER", tree.get(0).getClusters().get(0).getName());
+	}
 }
@@ -0,0 +1,164 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdDeviceDiffTest {
+	private static final File SAMPLE = new File("src/test/resources/00_sample.svd");
+
+	private static String replace(String content, String from, String to) {
+		assertTrue(content.contains(from));
+		return content.replace(from, to);
+	}
+
+	@Test
+	void testIdentical() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		assertTrue(SvdDeviceDiff.compare(SvdDevice.fromFile(SAMPLE), SvdDevice.fromFile(SAMPLE)).isEmpty());
+	}
+
+	/**
+	 * TIMER1 and TIMER2 derive from TIMER0, so register level changes are
+	 * reported once per timer.
+	 */
+	@Test
+	void testChanges() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		String content = Files.readString(SAMPLE.toPath(), StandardCharsets.UTF_8);
+		content = replace(content, "<version>1.2</version>", "<version>1.3</version>");
+		content = replace(content, "<name>TIMER2</name>\n      <baseAddress>", "<name>TIMER9</name>\n      <baseAddress>");
+		content = replace(content, "<addressOffset>0x20</addressOffset>", "<addressOffset>0x30</addressOffset>");
+		content = replace(content, "\n          <name>MATCH</name>", "\n          <name>CMP</name>");
+		content = replace(content, "<bitRange>[0:0]</bitRange>\n              <access>read-only</access>",
+				"<bitRange>[0:0]</bitRange>\n              <access>read-write</access>");
+		content = replace(content, "<bitRange>[15:14]</bitRange>", "<bitRange>[15:13]</bitRange>");
+		content = replace(content, "<name>CAP_SRC_div256</name>", "<name>CAP_SRC_div512</name>");
+		File f = File.createTempFile("diff-", ".svd");
+		try {
+			Files.writeString(f.toPath(), content, StandardCharsets.UTF_8);
+			List<SvdChange> changes = SvdDeviceDiff.compare(SvdDevice.fromFile(SAMPLE), SvdDevice.fromFile(f));
+
+			Map<SvdChangeType, Integer> counts = new EnumMap<>(SvdChangeType.class);
+			for (SvdChange c : changes)
+				counts.merge(c.getType(), 1, Integer::sum);
+			Map<SvdChangeType, Integer> expected = new EnumMap<>(SvdChangeType.class);
+			expected.put(SvdChangeType.DEVICE_MODIFIED, 1);
+			expected.put(SvdChangeType.PERIPHERAL_RENAMED, 1);
+			expected.put(SvdChangeType.REGISTER_MOVED, 3);
+			expected.put(SvdChangeType.REGISTER_RENAMED, 3);
+			expected.put(SvdChangeType.FIELD_ACCESS_CHANGED, 3);
+			expected.put(SvdChangeType.FIELD_BIT_RANGE_CHANGED, 3);
+			expected.put(SvdChangeType.FIELD_ENUM_CHANGED, 3);
+			assertEquals(expected, counts);
+
+			SvdChange rename = changes.stream().filter(c -> c.getType() == SvdChangeType.PERIPHERAL_RENAMED)
+					.findFirst().get();
+			assertEquals("TIMER2", rename.getOldPeripheral().getName());
+			assertEquals("TIMER9", rename.getPath());
+
+			SvdChange move = changes.stream().filter(c -> c.getType() == SvdChangeType.REGISTER_MOVED).findFirst()
+					.get();
+			assertEquals("TIMER0.COUNT", move.getPath());
+			assertEquals(0x20, move.getOldRegister().getOffset());
+			assertEquals(0x30, move.getNewRegister().getOffset());
+
+			SvdChange bitRange = changes.stream().filter(c -> c.getType() == SvdChangeType.FIELD_BIT_RANGE_CHANGED)
+					.findFirst().get();
+			assertEquals("TIMER0.SR.RELOAD", bitRange.getPath());
+			assertEquals("[15:13]", bitRange.getNewField().getBitRange());
+		} finally {
+			f.delete();
+		}
+	}
+
+	/**
+	 * 09_interrupt.svd defines TIMER0 and UART0, while 00_sample.svd defines
+	 * TIMER0, TIMER1 and TIMER2.
+	 */
+	@Test
+	void testAddedRemoved() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice sample = SvdDevice.fromFile(SAMPLE);
+		SvdDevice other = SvdDevice.fromFile(new File("src/test/resources/09_interrupt.svd"));
+		Map<SvdChangeType, Integer> counts = new EnumMap<>(SvdChangeType.class);
+		SvdDeviceDiff.compare(other, sample, c -> counts.merge(c.getType(), 1, Integer::sum));
+		assertEquals(2, counts.get(SvdChangeType.PERIPHERAL_ADDED));
+		assertEquals(1, counts.get(SvdChangeType.PERIPHERAL_REMOVED));
+	}
+
+	private static final String ALTERNATES = "<device><name>ALT</name><peripherals>"
+			+ "<peripheral><name>P0</name><baseAddress>0x1000</baseAddress><registers>"
+			+ "<cluster><name>CL</name><description>Channel</description><addressOffset>0x10</addressOffset>"
+			+ "<register><name>CFG</name><addressOffset>0x0</addressOffset><size>32</size></register>"
+			+ "</cluster>"
+			+ "<register><name>R0</name><addressOffset>0x0</addressOffset><size>32</size></register>"
+			+ "<register><name>R1</name><alternateGroup>G0</alternateGroup><addressOffset>0x0</addressOffset>"
+			+ "<size>32</size></register>"
+			+ "<register><name>R2</name><alternateRegister>R0</alternateRegister><addressOffset>0x0</addressOffset>"
+			+ "<size>32</size></register>"
+			+ "</registers></peripheral>"
+			+ "<peripheral><name>P1</name><baseAddress>0x1000</baseAddress>"
+			+ "<alternatePeripheral>P0</alternatePeripheral></peripheral>"
+			+ "</peripherals></device>";
+
+	/**
+	 * Compare the alternates sample against a copy with a single replacement and
+	 * check that the fingerprints differ and exactly one change is reported.
+	 */
+	private static SvdChange compareAlternates(String from, String to) throws Exception {
+		SvdDevice o = SvdParser.getDefault()
+				.parse(new ByteArrayInputStream(ALTERNATES.getBytes(StandardCharsets.UTF_8)));
+		SvdDevice n = SvdParser.getDefault()
+				.parse(new ByteArrayInputStream(replace(ALTERNATES, from, to).getBytes(StandardCharsets.UTF_8)));
+		assertNotEquals(o.getFingerprint(), n.getFingerprint());
+		List<SvdChange> changes = SvdDeviceDiff.compare(o, n);
+		assertEquals(1, changes.size());
+		return changes.get(0);
+	}
+
+	@Test
+	void testAlternatePeripheral() throws Exception {
+		SvdChange c = compareAlternates("<alternatePeripheral>P0</alternatePeripheral>",
+				"<alternatePeripheral>P2</alternatePeripheral>");
+		assertEquals(SvdChangeType.PERIPHERAL_MODIFIED, c.getType());
+		assertEquals("P1", c.getPath());
+	}
+
+	@Test
+	void testClusterDescription() throws Exception {
+		SvdChange c = compareAlternates("<description>Channel</description>", "<description>Chan</description>");
+		assertEquals(SvdChangeType.PERIPHERAL_MODIFIED, c.getType());
+		assertEquals("P0", c.getPath());
+	}
+
+	@Test
+	void testAlternateGroup() throws Exception {
+		SvdChange c = compareAlternates("<alternateGroup>G0</alternateGroup>", "<alternateGroup>G1</alternateGroup>");
+		assertEquals(SvdChangeType.REGISTER_MODIFIED, c.getType());
+		assertEquals("P0.R1", c.getPath());
+	}
+
+	@Test
+	void testAlternateRegister() throws Exception {
+		SvdChange c = compareAlternates("<alternateRegister>R0</alternateRegister>",
+				"<alternateRegister>R1</alternateRegister>");
+		assertEquals(SvdChangeType.REGISTER_MODIFIED, c.getType());
+		assertEquals("P0.R2", c.getPath());
+	}
+}
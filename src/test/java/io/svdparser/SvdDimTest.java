@@ -0,0 +1,65 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+class SvdDimTest {
+
+	@Test
+	void testDimIndex() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/20_dim_index.svd"));
+		List<SvdPeripheral> periphs = dev.getPeripherals();
+		assertEquals(2, periphs.size());
+		assertEquals("UART1", periphs.get(0).getName());
+		assertEquals("UART2", periphs.get(1).getName());
+		assertEquals(0x40001000L, periphs.get(1).getBaseAddr());
+		assertEquals(List.of("1", "2"), periphs.get(1).getDim().getIndexes());
+
+		List<SvdCluster> clusters = periphs.get(0).getClusters();
+		assertEquals(3, clusters.size());
+		assertEquals("CHC", clusters.get(2).getName());
+		assertEquals("CH_TypeDef", clusters.get(2).getDim().getDimName());
+
+		List<SvdRegister> regs = periphs.get(0).getRegisters();
+		assertEquals(List.of("CHA_CFG", "CHB_CFG", "CHC_CFG", "TX_DATA", "RX_DATA", "BUF[0]", "BUF[1]", "BUF[2]",
+				"BUF[3]"), regs.stream().map(SvdRegister::getName).toList());
+		assertEquals(0x60, regs.get(2).getOffset());
+		assertEquals(0x4, regs.get(4).getOffset());
+		assertNull(regs.get(5).getDim().getIndexes());
+	}
+
+	@Test
+	void testDimIndexMismatch() throws ParserConfigurationException {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		Element register = doc.createElement("register");
+		append(doc, register, "dim", "3");
+		append(doc, register, "dimIncrement", "4");
+		append(doc, register, "dimIndex", "A,B");
+		append(doc, register, "name", "REG%s");
+		append(doc, register, "addressOffset", "0");
+		assertThrows(SvdParserException.class, () -> SvdRegister.fromElement(register, 32, null));
+	}
+
+	private static void append(Document doc, Element parent, String name, String text) {
+		Element child = doc.createElement(name);
+		child.setTextContent(text);
+		parent.appendChild(child);
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class SvdEventTest {
+
+	@Test
+	void testEvents() throws Exception {
+		Path dump = Files.createTempFile("svd-events-", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("io.svdparser.Parse");
+			recording.enable("io.svdparser.PeripheralParse").withThreshold(java.time.Duration.ZERO);
+			recording.enable("io.svdparser.Snapshot");
+			recording.enable("io.svdparser.Cache");
+			recording.start();
+
+			SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/06_access.svd"));
+			SvdSnapshot.fromBuffer(dev, ByteBuffer.allocate(16), 0x40000000L);
+			SvdParser parser = new SvdParser(SvdParseOptions.DEFAULT.withCacheSize(4));
+			parser.parse(new File("src/test/resources/06_access.svd"));
+			parser.parse(new File("src/test/resources/06_access.svd"));
+
+			recording.stop();
+			recording.dump(dump);
+
+			List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+			RecordedEvent parse = events.stream().filter(e -> e.getEventType().getName().equals("io.svdparser.Parse"))
+					.findFirst().get();
+			assertEquals(1, parse.getInt("peripheralCount"));
+			assertEquals(3, parse.getInt("registerCount"));
+
+			RecordedEvent peripheral = events.stream()
+					.filter(e -> e.getEventType().getName().equals("io.svdparser.PeripheralParse")).findFirst().get();
+			assertEquals("PERIPH0", peripheral.getString("name"));
+
+			RecordedEvent snapshot = events.stream()
+					.filter(e -> e.getEventType().getName().equals("io.svdparser.Snapshot")).findFirst().get();
+			assertEquals(3, snapshot.getInt("registerCount"));
+
+			List<RecordedEvent> lookups = events.stream()
+					.filter(e -> e.getEventType().getName().equals("io.svdparser.Cache")).toList();
+			assertEquals(2, lookups.size());
+			assertEquals(1, lookups.stream().filter(e -> e.getBoolean("hit")).count());
+		} finally {
+			Files.delete(dump);
+		}
+	}
+
+	@Test
+	void testCacheEviction() throws Exception {
+		Path dump = Files.createTempFile("svd-events-", ".jfr");
+		File first = new File("src/test/resources/06_access.svd");
+		File second = new File("src/test/resources/07_reset_value.svd");
+		try (Recording recording = new Recording()) {
+			recording.enable("io.svdparser.Cache");
+			recording.start();
+
+			// A single entry cache evicts the first file to make room for the second
+			SvdParser parser = new SvdParser(SvdParseOptions.DEFAULT.withCacheSize(1));
+			parser.parse(first);
+			parser.parse(second);
+
+			recording.stop();
+			recording.dump(dump);
+
+			List<RecordedEvent> lookups = RecordingFile.readAllEvents(dump).stream()
+					.filter(e -> e.getEventType().getName().equals("io.svdparser.Cache")).toList();
+			assertEquals(2, lookups.size());
+			assertFalse(lookups.get(0).getBoolean("evicted"));
+			assertNull(lookups.get(0).getString("evictedPath"));
+			assertTrue(lookups.get(1).getBoolean("evicted"));
+			assertEquals(first.getAbsolutePath(), lookups.get(1).getString("evictedPath"));
+			assertEquals(1, lookups.get(1).getInt("cacheSize"));
+		} finally {
+			Files.delete(dump);
+		}
+	}
+}
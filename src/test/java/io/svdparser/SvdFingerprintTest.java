@@ -0,0 +1,72 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdFingerprintTest {
+
+	@Test
+	void testEqualContent() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice a = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		SvdDevice b = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		assertNotSame(a, b);
+		assertEquals(a, b);
+		assertEquals(a.hashCode(), b.hashCode());
+		assertEquals(a.getFingerprint(), b.getFingerprint());
+		assertEquals(32, a.getFingerprint().toString().length());
+
+		// Fingerprints are cached
+		assertSame(a.getFingerprint(), a.getFingerprint());
+
+		// Derived peripherals share registers but not names or base addresses
+		List<SvdPeripheral> periphs = a.getPeripherals();
+		assertEquals(periphs.get(0).getRegisters(), periphs.get(1).getRegisters());
+		assertNotEquals(periphs.get(1), periphs.get(2));
+		assertEquals(periphs.get(2), b.getPeripherals().get(2));
+	}
+
+	/**
+	 * Every test file describes a different device, except 05_dim_hex.svd, which
+	 * is 04_dim.svd with the dim values written in hexadecimal.
+	 */
+	@Test
+	void testDifferentContent() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		Set<SvdFingerprint> fingerprints = new HashSet<>();
+		File[] files = new File("src/test/resources").listFiles((dir, name) -> name.endsWith(".svd"));
+		for (File f : files)
+			fingerprints.add(SvdDevice.fromFile(f).getFingerprint());
+		assertEquals(files.length - 1, fingerprints.size());
+		assertEquals(SvdDevice.fromFile(new File("src/test/resources/04_dim.svd")),
+				SvdDevice.fromFile(new File("src/test/resources/05_dim_hex.svd")));
+	}
+
+	/**
+	 * 04_dim.svd expands a register array, every element has the same fields but
+	 * a different name and offset.
+	 */
+	@Test
+	void testDim() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/04_dim.svd"));
+		List<SvdRegister> regs = dev.getPeripherals().get(0).getRegisters();
+		assertEquals(regs.get(0).getFields(), regs.get(1).getFields());
+		assertNotEquals(regs.get(0), regs.get(1));
+		assertEquals(regs.size(), new HashSet<>(regs).size());
+	}
+}
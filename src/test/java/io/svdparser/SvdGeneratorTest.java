@@ -0,0 +1,76 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdGeneratorTest {
+	private static SvdGenerator createGenerator(long seed) {
+		return new SvdGenerator(seed).setPeripheralCount(20).setRegistersPerPeripheral(8).setFieldsPerRegister(4)
+				.setEnumDensity(0.5, 4).setClusterDepth(2).setDim(0.3, 8).setDerivedRatio(0.25);
+	}
+
+	@Test
+	void testDeterministic() throws XMLStreamException {
+		ByteArrayOutputStream a = new ByteArrayOutputStream();
+		ByteArrayOutputStream b = new ByteArrayOutputStream();
+		createGenerator(42).write(a);
+		createGenerator(42).write(b);
+		assertArrayEquals(a.toByteArray(), b.toByteArray());
+	}
+
+	@Test
+	void testParseGenerated()
+			throws IOException, XMLStreamException, SAXException, ParserConfigurationException, SvdParserException {
+		File f = File.createTempFile("generated-", ".svd");
+		try {
+			createGenerator(7).write(f);
+			SvdDevice dev = SvdDevice.fromFile(f);
+			assertEquals(20, dev.getPeripherals().size());
+			for (SvdPeripheral p : dev.getPeripherals()) {
+				assertTrue(p.getRegisters().size() >= 8 + 2 + 1);
+				assertEquals(4, p.getRegisters().get(0).getFields().size());
+			}
+		} finally {
+			Files.delete(f.toPath());
+		}
+	}
+
+	/**
+	 * Every cluster level is visited once, so deep nesting stays linear in the
+	 * depth.
+	 */
+	@Test
+	void testDeepClusters()
+			throws IOException, XMLStreamException, SAXException, ParserConfigurationException, SvdParserException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		new SvdGenerator(3).setPeripheralCount(2).setRegistersPerPeripheral(4).setFieldsPerRegister(1)
+				.setClusterDepth(64).setDim(0, 0).setDerivedRatio(0).write(os);
+		SvdDevice dev = new SvdParser().parse(new ByteArrayInputStream(os.toByteArray()));
+		SvdPeripheral p = dev.getPeripherals().get(0);
+		SvdCluster cluster = p.getClusters().get(0);
+		int depth = 1;
+		while (!cluster.getClusters().isEmpty()) {
+			cluster = cluster.getClusters().get(0);
+			depth++;
+		}
+		assertEquals(64, depth);
+		assertEquals(4 + 64, p.getRegisters().size());
+	}
+}
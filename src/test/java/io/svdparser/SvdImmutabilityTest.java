@@ -0,0 +1,80 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdImmutabilityTest {
+
+	@Test
+	void testUnmodifiableLists() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		SvdPeripheral periph = dev.getPeripherals().get(0);
+		SvdRegister reg = periph.getRegisters().get(0);
+		assertThrows(UnsupportedOperationException.class, () -> dev.getPeripherals().clear());
+		assertThrows(UnsupportedOperationException.class, () -> periph.getRegisters().remove(0));
+		assertThrows(UnsupportedOperationException.class, () -> periph.getAddressBlocks().clear());
+		assertThrows(UnsupportedOperationException.class, () -> periph.getInterrupts().clear());
+		assertThrows(UnsupportedOperationException.class, () -> reg.getFields().clear());
+
+		SvdField field = SvdDevice.fromFile(new File("src/test/resources/08_enumerated_values.svd")).getPeripherals()
+				.get(0).getRegisters().get(0).getFields().get(0);
+		assertThrows(UnsupportedOperationException.class, () -> field.getEnumeratedValues().clear());
+		assertThrows(UnsupportedOperationException.class,
+				() -> field.getEnumeratedValues().get(0).getValues().clear());
+	}
+
+	/**
+	 * Derived peripherals extend the lists of their base, and array elements
+	 * share a single copy of their lists.
+	 */
+	@Test
+	void testSharedLists() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		SvdPeripheral base = dev.getPeripherals().get(0);
+		SvdPeripheral derived = dev.getPeripherals().get(1);
+		assertSame(base, derived.getDerivedFrom());
+		assertSame(base.getRegisters().get(0), derived.getRegisters().get(0));
+
+		SvdDevice dim = SvdDevice.fromFile(new File("src/test/resources/04_dim.svd"));
+		SvdRegister reg0 = dim.getPeripherals().get(0).getRegisters().get(0);
+		SvdRegister reg1 = dim.getPeripherals().get(0).getRegisters().get(1);
+		assertSame(reg0.getFields(), reg1.getFields());
+	}
+
+	@Test
+	void testConcurrentReads() throws SAXException, IOException, ParserConfigurationException, SvdParserException,
+			InterruptedException, ExecutionException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<SvdFingerprint>> futures = new ArrayList<>();
+			for (int i = 0; i < 64; i++)
+				futures.add(executor.submit(dev::getFingerprint));
+			SvdFingerprint expected = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"))
+					.getFingerprint();
+			for (Future<SvdFingerprint> f : futures)
+				assertEquals(expected, f.get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdIncrementalParserTest {
+	private static List<String> names(List<SvdPeripheral> periphs) {
+		return periphs.stream().map(SvdPeripheral::getName).collect(Collectors.toList());
+	}
+
+	private static void replace(File f, String from, String to) throws IOException {
+		String content = Files.readString(f.toPath(), StandardCharsets.UTF_8);
+		assertTrue(content.contains(from));
+		Files.writeString(f.toPath(), content.replace(from, to), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * 00_sample.svd defines TIMER0 and two peripherals, TIMER1 and TIMER2, derived
+	 * from it.
+	 */
+	@Test
+	void testUpdate() throws IOException, SAXException, ParserConfigurationException, SvdParserException {
+		File f = File.createTempFile("incremental-", ".svd");
+		try {
+			Files.copy(new File("src/test/resources/00_sample.svd").toPath(), f.toPath(),
+					StandardCopyOption.REPLACE_EXISTING);
+			SvdIncrementalParser parser = new SvdIncrementalParser(f);
+
+			SvdPeripheralChanges changes = parser.update();
+			assertEquals(List.of("TIMER0", "TIMER1", "TIMER2"), names(changes.getAdded()));
+			List<SvdPeripheral> first = parser.getDevice().getPeripherals();
+
+			// Nothing changed, every peripheral is reused
+			changes = parser.update();
+			assertTrue(changes.isEmpty());
+			for (int i = 0; i < first.size(); i++)
+				assertSame(first.get(i), parser.getDevice().getPeripherals().get(i));
+
+			// Comments do not affect the model
+			replace(f, "<!-- byte addressable memory -->", "<!-- changed -->");
+			assertTrue(parser.update().isEmpty());
+
+			// Only the edited peripheral is rebuilt
+			replace(f, "<baseAddress>0x40010200</baseAddress>", "<baseAddress>0x40010300</baseAddress>");
+			changes = parser.update();
+			assertEquals(List.of("TIMER2"), names(changes.getModified()));
+			List<SvdPeripheral> periphs = parser.getDevice().getPeripherals();
+			assertSame(first.get(0), periphs.get(0));
+			assertSame(first.get(1), periphs.get(1));
+			assertEquals(0x40010300L, periphs.get(2).getBaseAddr());
+
+			// Changing a base peripheral rebuilds the derived ones
+			replace(f, "<version>1.0</version>", "<version>1.1</version>");
+			changes = parser.update();
+			assertEquals(List.of("TIMER0", "TIMER1", "TIMER2"), names(changes.getModified()));
+			assertEquals("1.1", parser.getDevice().getPeripherals().get(1).getVersion());
+
+			// Removed peripherals are reported with their previous instances
+			String content = Files.readString(f.toPath(), StandardCharsets.UTF_8);
+			int start = content.indexOf("<peripheral derivedFrom=\"TIMER0\">\n      <name>TIMER2</name>");
+			int end = content.indexOf("</peripheral>", start) + "</peripheral>".length();
+			Files.writeString(f.toPath(), content.substring(0, start) + content.substring(end),
+					StandardCharsets.UTF_8);
+			SvdPeripheral timer2 = parser.getDevice().getPeripherals().get(2);
+			changes = parser.update();
+			assertEquals(1, changes.getRemoved().size());
+			assertSame(timer2, changes.getRemoved().get(0));
+			assertTrue(changes.getAdded().isEmpty() && changes.getModified().isEmpty());
+
+			// Device level changes rebuild everything
+			replace(f, "<size>32</size>                                                 <!--",
+					"<size>16</size>                                                 <!--");
+			changes = parser.update();
+			assertEquals(List.of("TIMER0", "TIMER1"), names(changes.getModified()));
+		} finally {
+			f.delete();
+		}
+	}
+
+	/**
+	 * Derived peripherals must not be reused when their base disappears, even if
+	 * their own element did not change.
+	 */
+	@Test
+	void testBaseRemovedOrRenamed() throws IOException, SAXException, ParserConfigurationException,
+			SvdParserException {
+		File f = File.createTempFile("incremental-", ".svd");
+		try {
+			Files.copy(new File("src/test/resources/00_sample.svd").toPath(), f.toPath(),
+					StandardCopyOption.REPLACE_EXISTING);
+			SvdIncrementalParser parser = new SvdIncrementalParser(f);
+			parser.update();
+			SvdDevice device = parser.getDevice();
+
+			// Renaming the base fails like a full parse and keeps the previous device
+			replace(f, "<peripheral>\n      <name>TIMER0</name>", "<peripheral>\n      <name>TIMER9</name>");
+			SvdParserException e = assertThrows(SvdParserException.class, parser::update);
+			assertTrue(e.getMessage().contains("Cannot find peripheral TIMER0"));
+			assertSame(device, parser.getDevice());
+
+			// Once the references follow the rename, the derived peripherals use the
+			// new base
+			replace(f, "derivedFrom=\"TIMER0\"", "derivedFrom=\"TIMER9\"");
+			SvdPeripheralChanges changes = parser.update();
+			assertEquals(List.of("TIMER9"), names(changes.getAdded()));
+			assertEquals(List.of("TIMER0"), names(changes.getRemoved()));
+			assertEquals(List.of("TIMER1", "TIMER2"), names(changes.getModified()));
+			assertEquals("TIMER9", parser.getDevice().getPeripherals().get(1).getDerivedFrom().getName());
+
+			// Removing the base fails as well
+			String content = Files.readString(f.toPath(), StandardCharsets.UTF_8);
+			int start = content.indexOf("<peripheral>\n      <name>TIMER9</name>");
+			int end = content.indexOf("</peripheral>", start) + "</peripheral>".length();
+			Files.writeString(f.toPath(), content.substring(0, start) + content.substring(end),
+					StandardCharsets.UTF_8);
+			e = assertThrows(SvdParserException.class, parser::update);
+			assertTrue(e.getMessage().contains("Cannot find peripheral TIMER9"));
+			assertEquals(3, parser.getDevice().getPeripherals().size());
+		} finally {
+			f.delete();
+		}
+	}
+}
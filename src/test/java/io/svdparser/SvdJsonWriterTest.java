@@ -0,0 +1,100 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdJsonWriterTest {
+
+	@Test
+	void testWithoutDescriptions() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/13_alternate_peripheral.svd"));
+		StringBuilder sb = new StringBuilder();
+		new SvdJsonWriter(sb).setIncludeDescriptions(false).write(dev);
+		String block = "\"addressBlocks\":[{\"offset\":0,\"size\":256,\"usage\":\"registers\"}],\"interrupts\":[]";
+		assertEquals("{\"name\":\"AlternatePeripheralTest\",\"version\":\"1.0\",\"addressUnitBits\":8,\"width\":32,"
+				+ "\"cpu\":{},\"peripherals\":[{\"name\":\"TIMER0\",\"baseAddress\":1073807360," + block
+				+ ",\"registers\":[{\"name\":\"CR\",\"offset\":0,\"size\":32,\"fields\":[]}]},"
+				+ "{\"name\":\"COUNTER0\",\"baseAddress\":1073807360,\"alternatePeripheral\":\"TIMER0\"," + block
+				+ ",\"registers\":[{\"name\":\"CNT\",\"offset\":4,\"size\":32,\"fields\":[]}]}]}", sb.toString());
+	}
+
+	@Test
+	void testOutputStream() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		new SvdJsonWriter(os).write(dev);
+		String json = os.toString(StandardCharsets.UTF_8);
+		assertTrue(json.startsWith("{\"name\":\"ARM_Example\",\"vendor\":\"ARM Ltd.\""));
+		assertTrue(json.contains("\"cpu\":{\"name\":\"CM3\""));
+		assertTrue(json.contains("{\"name\":\"RST\",\"description\":\"Reset Timer\",\"bitOffset\":1,\"bitWidth\":1,"
+				+ "\"access\":\"write-only\",\"enumeratedValues\":[{\"usage\":\"read-write\",\"values\":["));
+
+		// Brackets outside of strings are balanced and no control characters remain
+		int depth = 0;
+		boolean inString = false;
+		for (int i = 0; i < json.length(); i++) {
+			char c = json.charAt(i);
+			assertTrue(c >= 0x20);
+			if (inString) {
+				if (c == '\\')
+					i++;
+				else if (c == '"')
+					inString = false;
+			} else if (c == '"') {
+				inString = true;
+			} else if (c == '{' || c == '[') {
+				depth++;
+			} else if (c == '}' || c == ']') {
+				depth--;
+				assertTrue(depth >= 0);
+			}
+		}
+		assertEquals(0, depth);
+		assertFalse(inString);
+	}
+
+	/**
+	 * Reset values are unsigned, so a 64-bit all-ones mask is not written as -1.
+	 */
+	@Test
+	void testUnsignedReset() throws Exception {
+		String svd = "<device><name>WIDE</name><peripherals><peripheral><name>P0</name><baseAddress>0x0</baseAddress>"
+				+ "<registers><register><name>R0</name><addressOffset>0x0</addressOffset><size>64</size>"
+				+ "<resetValue>0x8000000000000001</resetValue><resetMask>0xFFFFFFFFFFFFFFFF</resetMask>"
+				+ "</register></registers></peripheral></peripherals></device>";
+		SvdDevice dev = SvdParser.getDefault().parse(new ByteArrayInputStream(svd.getBytes(StandardCharsets.UTF_8)));
+		assertEquals(-1L, dev.getPeripherals().get(0).getRegisters().get(0).getResetMask());
+		StringBuilder sb = new StringBuilder();
+		new SvdJsonWriter(sb).write(dev);
+		assertTrue(sb.toString().contains("\"resetValue\":9223372036854775809,\"resetMask\":18446744073709551615"));
+	}
+
+	@Test
+	void testBoundedToString() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		String full = dev.toString();
+		assertEquals(full, dev.toString(full.length()));
+		String bounded = dev.toString(200);
+		assertEquals(200, bounded.length());
+		assertTrue(bounded.endsWith("..."));
+		assertEquals(full.substring(0, 197), bounded.substring(0, 197));
+		SvdPeripheral p = dev.getPeripherals().get(0);
+		assertEquals(50, p.toString(50).length());
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdLenientParseTest {
+	private static final File LENIENT = new File("src/test/resources/invalid/lenient.svd");
+
+	@Test
+	void testStrict() {
+		SvdParserException e = assertThrows(SvdParserException.class, () -> SvdDevice.fromFile(LENIENT));
+		assertTrue(e.getMessage().contains("read-sometimes"));
+	}
+
+	@Test
+	void testLenient() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = new SvdParser(SvdParseOptions.DEFAULT.withLenient(true)).parse(LENIENT);
+		List<SvdPeripheral> periphs = dev.getPeripherals();
+		assertEquals(List.of("TIMER0", "UART1"), periphs.stream().map(SvdPeripheral::getName).toList());
+
+		// The unknown access keeps the inherited one and the bad register is skipped
+		List<SvdRegister> regs = periphs.get(0).getRegisters();
+		assertEquals(List.of("CR", "CNT"), regs.stream().map(SvdRegister::getName).toList());
+		assertEquals(SvdAccess.READ_WRITE, regs.get(0).getAccess());
+		assertEquals(List.of("EN"), regs.get(0).getFields().stream().map(SvdField::getName).toList());
+
+		// The derived peripheral is kept without a base
+		assertNull(periphs.get(1).getDerivedFrom());
+		assertEquals(0x40002000L, periphs.get(1).getBaseAddr());
+
+		List<SvdDiagnostic> diagnostics = dev.getDiagnostics();
+		assertEquals(List.of("invalid-access", "skipped-element", "skipped-element", "skipped-element",
+				"unresolved-derived-from"), diagnostics.stream().map(SvdDiagnostic::getCode).toList());
+		assertEquals(SvdSeverity.WARNING, diagnostics.get(0).getSeverity());
+		assertEquals("peripherals/peripheral[TIMER0]/registers/register[CR]/access", diagnostics.get(0).getPath());
+		assertEquals("peripherals/peripheral[TIMER0]/registers/register[CR]/fields/field[MODE]",
+				diagnostics.get(1).getPath());
+		assertEquals("peripherals/peripheral[TIMER0]/registers/register[SR]", diagnostics.get(2).getPath());
+		assertTrue(diagnostics.get(2).getMessage().contains("addressOffset"));
+		assertEquals("peripherals/peripheral[BROKEN]", diagnostics.get(3).getPath());
+		assertEquals(SvdSeverity.ERROR, diagnostics.get(4).getSeverity());
+	}
+
+	@Test
+	void testLenientInstrumented() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = new SvdParser(SvdParseOptions.DEFAULT.withLenient(true).withListener(new SvdParseListener() {
+		})).parse(LENIENT);
+		assertEquals(2, dev.getPeripherals().size());
+		assertEquals(5, dev.getDiagnostics().size());
+		assertTrue(dev.getParseStatistics().getTotalNanos() >= 0);
+	}
+
+	@Test
+	void testStrictHasNoDiagnostics()
+			throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		assertTrue(dev.getDiagnostics().isEmpty());
+	}
+
+	@Test
+	void testLenientBatch() throws InterruptedException {
+		List<SvdBatchResult> results = new ArrayList<>();
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			SvdBatchSummary summary = new SvdBatchParser(executor, 1 << 20, SvdParseOptions.DEFAULT.withLenient(true))
+					.parse(Stream.of(LENIENT), results::add);
+			assertEquals(0, summary.getFailureCount());
+		} finally {
+			executor.shutdown();
+		}
+		assertEquals(5, results.get(0).getDevice().getDiagnostics().size());
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SvdMemoryMapTest {
+
+	private static List<String> owners(SvdMemoryRegion region) {
+		return region.getPeripherals().stream().map(SvdPeripheral::getName).toList();
+	}
+
+	@Test
+	void testSample() throws Exception {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		SvdMemoryMap map = dev.getMemoryMap();
+		assertSame(map, dev.getMemoryMap());
+
+		// Adjacent peripherals are kept as separate regions
+		List<SvdMemoryRegion> regions = map.getRegions();
+		assertEquals(3, regions.size());
+		assertEquals(0x40010100L, regions.get(1).getStart());
+		assertEquals(0x100L, regions.get(1).getSize());
+		assertEquals("registers", regions.get(1).getUsage());
+
+		assertEquals(List.of("TIMER1"), owners(map.getRegion(0x400101FFL)));
+		assertEquals(List.of("TIMER0"), owners(map.getRegion(0x40010000L)));
+		assertNull(map.getRegion(0x40010300L));
+		assertNull(map.getRegion(0x3FFFFFFFL));
+		assertEquals(3, map.getRegions(0x400100FFL, 0x40010201L).size());
+		assertEquals(1, map.getRegions(0x40010100L, 0x40010200L).size());
+		assertEquals(0, map.getRegions(0x40010300L, 0x40020000L).size());
+		assertTrue(map.getOverlaps().isEmpty());
+	}
+
+	@Test
+	void testOverlaps() throws Exception {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/19_validation.svd"));
+		List<SvdMemoryRegion> regions = dev.getMemoryMap().getRegions();
+		assertEquals(3, regions.size());
+		assertEquals(List.of("PERIPH_A"), owners(regions.get(0)));
+		assertEquals(List.of("PERIPH_A", "PERIPH_B", "PERIPH_C"), owners(regions.get(1)));
+		assertTrue(regions.get(1).isOverlapping());
+
+		// PERIPH_C is an alternate of PERIPH_B
+		assertEquals(List.of("PERIPH_B", "PERIPH_C"), owners(regions.get(2)));
+		assertFalse(regions.get(2).isOverlapping());
+		assertEquals(List.of(regions.get(1)), dev.getMemoryMap().getOverlaps());
+	}
+
+	@Test
+	void testCoalescing() throws Exception {
+		String svd = "<device><name>MAP</name><addressUnitBits>16</addressUnitBits><peripherals>"
+				+ "<peripheral><name>P0</name><baseAddress>0x1000</baseAddress>"
+				+ "<addressBlock><offset>0x0</offset><size>0x10</size><usage>registers</usage></addressBlock>"
+				+ "<addressBlock><offset>0x10</offset><size>0x10</size><usage>registers</usage></addressBlock>"
+				+ "<addressBlock><offset>0x20</offset><size>0x10</size><usage>buffer</usage></addressBlock>"
+				+ "</peripheral>"
+				+ "<peripheral derivedFrom=\"P0\"><name>P1</name><baseAddress>0x2000</baseAddress>"
+				+ "<addressBlock><offset>0x0</offset><size>0x10</size><usage>registers</usage></addressBlock>"
+				+ "</peripheral>"
+				+ "<peripheral><name>P2</name><baseAddress>0x3000</baseAddress><size>32</size><registers>"
+				+ "<register><name>R0</name><addressOffset>0x0</addressOffset></register>"
+				+ "<register><name>R1</name><addressOffset>0x6</addressOffset></register>"
+				+ "</registers></peripheral></peripherals></device>";
+		SvdDevice dev = SvdParser.getDefault().parse(new ByteArrayInputStream(svd.getBytes(StandardCharsets.UTF_8)));
+		SvdMemoryMap map = dev.getMemoryMap();
+		assertEquals(16, map.getAddressUnitBits());
+
+		List<SvdMemoryRegion> regions = map.getRegions();
+		assertEquals(5, regions.size());
+		// Adjacent register blocks are merged, the buffer is not
+		assertEquals(0x1000L, regions.get(0).getStart());
+		assertEquals(0x1020L, regions.get(0).getEnd());
+		assertEquals(0x2000L, regions.get(0).getByteStart());
+		assertEquals(0x40L, regions.get(0).getByteSize());
+		assertEquals("buffer", regions.get(1).getUsage());
+		// The block repeated by the derived peripheral is counted once
+		assertEquals(0x2020L, regions.get(2).getEnd());
+		assertEquals(List.of("P1"), owners(regions.get(2)));
+		assertFalse(regions.get(2).isOverlapping());
+		// Peripherals without address blocks cover their registers, in 16 bit units
+		assertEquals(0x3000L, regions.get(4).getStart());
+		assertEquals(0x3008L, regions.get(4).getEnd());
+	}
+}
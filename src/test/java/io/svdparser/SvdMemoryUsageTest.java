@@ -0,0 +1,76 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdMemoryUsageTest {
+
+	@Test
+	void testBreakdownsAddUp() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		File[] files = new File("src/test/resources").listFiles((dir, name) -> name.endsWith(".svd"));
+		for (File file : files) {
+			SvdDevice dev = SvdDevice.fromFile(file);
+			SvdMemoryUsage usage = dev.getMemoryUsage();
+			assertEquals(usage.getTotalBytes(), dev.getMemoryUsage().getTotalBytes());
+			assertEquals(usage.getTotalBytes(), dev.estimateRetainedBytes());
+
+			long categories = 0;
+			for (long bytes : usage.getCategoryBytes().values())
+				categories += bytes;
+			assertEquals(usage.getTotalBytes(), categories, file.getName());
+
+			long peripherals = usage.getDeviceBytes();
+			for (long bytes : usage.getPeripheralBytes().values())
+				peripherals += bytes;
+			assertEquals(usage.getTotalBytes(), peripherals, file.getName());
+			assertTrue(usage.getBytes(SvdMemoryCategory.STRINGS) > 0);
+		}
+	}
+
+	/**
+	 * A derived peripheral shares the registers of its base, so it retains much
+	 * less memory than the base.
+	 */
+	@Test
+	void testSharedStructures() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		SvdMemoryUsage usage = dev.getMemoryUsage();
+		long base = usage.getPeripheralBytes().get("TIMER0");
+		long derived = usage.getPeripheralBytes().get("TIMER1");
+		assertTrue(derived * 4 < base, derived + " vs " + base);
+
+		// Register arrays share their fields
+		SvdDevice dim = SvdDevice.fromFile(new File("src/test/resources/04_dim.svd"));
+		long fields = dim.getMemoryUsage().getBytes(SvdMemoryCategory.FIELDS);
+		SvdRegister reg = dim.getPeripherals().get(0).getRegisters().get(0);
+		SvdMemoryEstimator e = new SvdMemoryEstimator();
+		reg.estimateMemory(e);
+		assertEquals(fields, e.getBytes(SvdMemoryCategory.FIELDS));
+	}
+
+	/**
+	 * Caches built after a first estimate are counted by the next one.
+	 */
+	@Test
+	void testLazyCaches() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		long initial = dev.estimateRetainedBytes();
+		dev.getMemoryMap();
+		long withMap = dev.estimateRetainedBytes();
+		assertTrue(withMap > initial);
+		SvdResetImage image = dev.getResetImage(dev.getPeripherals().get(0));
+		assertTrue(dev.estimateRetainedBytes() >= withMap + 2 * image.getSize());
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SvdParseAsyncTest {
+	private ExecutorService mExecutor;
+
+	@BeforeEach
+	void setUp() {
+		mExecutor = Executors.newSingleThreadExecutor();
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		awaitTermination();
+	}
+
+	private void awaitTermination() throws InterruptedException {
+		mExecutor.shutdown();
+		assertTrue(mExecutor.awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	private static File generate(Path dir) throws Exception {
+		File f = dir.resolve("large.svd").toFile();
+		new SvdGenerator(1).setPeripheralCount(40).write(f);
+		return f;
+	}
+
+	@Test
+	void testProgress(@TempDir Path dir) throws Exception {
+		File f = generate(dir);
+		AtomicLong bytes = new AtomicLong();
+		AtomicLong peripherals = new AtomicLong();
+		SvdDevice dev = new SvdParser().parseAsync(f, mExecutor, (bytesRead, totalBytes, done, count) -> {
+			assertTrue(bytesRead >= bytes.get());
+			assertEquals(f.length(), totalBytes);
+			bytes.set(bytesRead);
+			if (count > 0)
+				peripherals.set(done * 1000L + count);
+		}).get();
+		assertEquals(f.length(), bytes.get());
+		assertEquals(40 * 1000L + 40, peripherals.get());
+		assertEquals(SvdDevice.fromFile(f), dev);
+	}
+
+	@Test
+	void testCancelWhileReading(@TempDir Path dir) throws Exception {
+		File f = generate(dir);
+		AtomicReference<CompletableFuture<SvdDevice>> future = new AtomicReference<>();
+		AtomicLong calls = new AtomicLong();
+		// Hold the executor until the future is available to the listener
+		CompletableFuture<Void> gate = new CompletableFuture<>();
+		mExecutor.execute(gate::join);
+		future.set(new SvdParser().parseAsync(f, mExecutor, (bytesRead, totalBytes, done, count) -> {
+			calls.incrementAndGet();
+			future.get().cancel(true);
+		}));
+		gate.complete(null);
+		assertThrows(CancellationException.class, () -> future.get().get());
+		awaitTermination();
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	void testCancelBetweenPeripherals(@TempDir Path dir) throws Exception {
+		File f = generate(dir);
+		AtomicReference<CompletableFuture<SvdDevice>> future = new AtomicReference<>();
+		AtomicLong lastDone = new AtomicLong();
+		CompletableFuture<Void> gate = new CompletableFuture<>();
+		mExecutor.execute(gate::join);
+		future.set(new SvdParser().parseAsync(f, mExecutor, (bytesRead, totalBytes, done, count) -> {
+			lastDone.set(done);
+			if (done == 3)
+				future.get().cancel(true);
+		}));
+		gate.complete(null);
+		awaitTermination();
+		assertTrue(future.get().isCancelled());
+		assertEquals(3, lastDone.get());
+	}
+
+	@Test
+	void testError() {
+		CompletableFuture<SvdDevice> future = new SvdParser().parseAsync(new File("missing.svd"), mExecutor);
+		ExecutionException e = assertThrows(ExecutionException.class, future::get);
+		assertInstanceOf(IOException.class, e.getCause());
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdParseStatisticsTest {
+
+	@Test
+	void testDisabledByDefault() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/16_cluster_dim.svd"));
+		assertNull(dev.getParseStatistics());
+	}
+
+	/**
+	 * 16_cluster_dim.svd has one peripheral holding a dim=2 cluster with two
+	 * registers, which expands to two cluster instances and four registers.
+	 */
+	@Test
+	void testStatistics() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		File f = new File("src/test/resources/16_cluster_dim.svd");
+		List<String> peripherals = new ArrayList<>();
+		List<SvdParseStatistics> finished = new ArrayList<>();
+		SvdDevice dev = new SvdParser(SvdParseOptions.DEFAULT.withListener(new SvdParseListener() {
+			@Override
+			public void peripheralParsed(String name, long nanos) {
+				peripherals.add(name);
+			}
+
+			@Override
+			public void parseFinished(SvdParseStatistics statistics) {
+				finished.add(statistics);
+			}
+		})).parse(f);
+
+		SvdParseStatistics stats = dev.getParseStatistics();
+		assertEquals(List.of("PERIPH0"), peripherals);
+		assertEquals(1, finished.size());
+		assertSame(stats, finished.get(0));
+
+		assertEquals(f.length(), stats.getBytesRead());
+		assertEquals(1, stats.getElementCount(SvdParsePhase.DEVICE));
+		assertEquals(1, stats.getElementCount(SvdParsePhase.PERIPHERAL));
+		assertEquals(2, stats.getElementCount(SvdParsePhase.CLUSTER));
+		assertEquals(4, stats.getElementCount(SvdParsePhase.REGISTER));
+		assertEquals(0, stats.getDerivationCount());
+
+		long phases = 0;
+		for (SvdParsePhase phase : SvdParsePhase.values())
+			phases += stats.getPhaseNanos(phase);
+		assertTrue(stats.getPhaseNanos(SvdParsePhase.XML) > 0);
+		assertTrue(phases <= stats.getTotalNanos());
+	}
+}
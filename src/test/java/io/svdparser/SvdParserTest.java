@@ -0,0 +1,105 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SvdParserTest {
+	private static final File SAMPLE = new File("src/test/resources/00_sample.svd");
+
+	@Test
+	void testConcurrentParse() throws Exception {
+		File[] files = new File("src/test/resources").listFiles((dir, name) -> name.endsWith(".svd"));
+		SvdParser parser = new SvdParser();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<SvdDevice>> futures = new ArrayList<>();
+			for (int i = 0; i < 4; i++)
+				for (File f : files)
+					futures.add(executor.submit(() -> parser.parse(f)));
+			for (int i = 0; i < futures.size(); i++)
+				assertEquals(SvdDevice.fromFile(files[i % files.length]), futures.get(i).get());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void testParseStream() throws Exception {
+		try (InputStream is = new FileInputStream(SAMPLE)) {
+			assertEquals(SvdDevice.fromFile(SAMPLE), SvdParser.getDefault().parse(is));
+		}
+	}
+
+	@Test
+	void testStreamLeftOpen() throws Exception {
+		boolean[] closed = new boolean[1];
+		try (InputStream is = new FilterInputStream(new FileInputStream(SAMPLE)) {
+			@Override
+			public void close() throws IOException {
+				closed[0] = true;
+				super.close();
+			}
+		}) {
+			SvdParser.getDefault().parse(is);
+			assertFalse(closed[0]);
+		}
+	}
+
+	@Test
+	void testStringPool() throws Exception {
+		SvdParser parser = new SvdParser(SvdParseOptions.DEFAULT.withStringPool(true));
+		SvdDevice a = parser.parse(SAMPLE);
+		SvdDevice b = parser.parse(SAMPLE);
+		assertNotSame(a, b);
+		assertSame(a.getPeripherals().get(0).getName(), b.getPeripherals().get(0).getName());
+		assertSame(a.getPeripherals().get(0).getRegisters().get(0).getDescription(),
+				b.getPeripherals().get(0).getRegisters().get(0).getDescription());
+		assertEquals(a, b);
+	}
+
+	@Test
+	void testCache(@TempDir Path dir) throws Exception {
+		File f = dir.resolve("sample.svd").toFile();
+		Files.copy(SAMPLE.toPath(), f.toPath());
+		SvdParser parser = new SvdParser(SvdParseOptions.DEFAULT.withCacheSize(1));
+		SvdDevice first = parser.parse(f);
+		assertSame(first, parser.parse(f));
+		assertEquals(1, parser.getCacheSize());
+
+		// A modified file is parsed again
+		f.setLastModified(f.lastModified() - 10000);
+		SvdDevice second = parser.parse(f);
+		assertNotSame(first, second);
+		assertEquals(first, second);
+
+		// The least recently used file is evicted
+		parser.parse(new File("src/test/resources/04_dim.svd"));
+		assertEquals(1, parser.getCacheSize());
+		assertNotSame(second, parser.parse(f));
+
+		parser.clearCache();
+		assertEquals(0, parser.getCacheSize());
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SvdPeripheralFilterTest {
+	private static final File SAMPLE = new File("src/test/resources/00_sample.svd");
+
+	private static SvdDevice parse(File f, SvdPeripheralFilter filter) throws Exception {
+		return new SvdParser(SvdParseOptions.DEFAULT.withPeripheralFilter(filter)).parse(f);
+	}
+
+	private static List<String> names(SvdDevice dev) {
+		return dev.getPeripherals().stream().map(SvdPeripheral::getName).toList();
+	}
+
+	@Test
+	void testNames() throws Exception {
+		SvdDevice full = SvdDevice.fromFile(SAMPLE);
+		SvdDevice dev = parse(SAMPLE, SvdPeripheralFilter.names("TIMER2"));
+		assertEquals(List.of("TIMER2"), names(dev));
+
+		// The base is resolved without being part of the device
+		SvdPeripheral timer2 = dev.getPeripherals().get(0);
+		assertEquals("TIMER0", timer2.getDerivedFrom().getName());
+		assertEquals(full.getPeripherals().get(2), timer2);
+	}
+
+	@Test
+	void testGroupNames() throws Exception {
+		// Derived peripherals inherit the group name of their base
+		SvdDevice dev = parse(SAMPLE, SvdPeripheralFilter.groupNames("TIMER"));
+		assertEquals(List.of("TIMER0", "TIMER1", "TIMER2"), names(dev));
+		assertEquals(List.of(), names(parse(SAMPLE, SvdPeripheralFilter.groupNames("GPIO"))));
+	}
+
+	@Test
+	void testAddressRange() throws Exception {
+		SvdPeripheralFilter filter = SvdPeripheralFilter.addressRange(0x40010100L, 0x40010200L);
+		assertEquals(List.of("TIMER1"), names(parse(SAMPLE, filter)));
+		assertEquals(List.of("TIMER1", "TIMER2"),
+				names(parse(SAMPLE, filter.or(SvdPeripheralFilter.names("TIMER2")))));
+	}
+
+	@Test
+	void testDimElements() throws Exception {
+		SvdDevice dev = parse(new File("src/test/resources/20_dim_index.svd"), SvdPeripheralFilter.names("UART2"));
+		assertEquals(List.of("UART2"), names(dev));
+		assertEquals(0x40001000L, dev.getPeripherals().get(0).getBaseAddr());
+	}
+
+	@Test
+	void testGenerated(@TempDir Path dir) throws Exception {
+		File f = dir.resolve("generated.svd").toFile();
+		new SvdGenerator(7).setPeripheralCount(60).setDerivedRatio(0.5).write(f);
+		SvdDevice full = SvdDevice.fromFile(f);
+		SvdDevice dev = parse(f, SvdPeripheralFilter.groupNames("GROUP3"));
+		List<SvdPeripheral> expected = full.getPeripherals().stream().filter(p -> "GROUP3".equals(p.getGroupName()))
+				.toList();
+		assertEquals(expected, dev.getPeripherals());
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SvdResetImageTest {
+
+	@Test
+	void testDeviceDefaults() throws Exception {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/07_reset_value.svd"));
+		SvdPeripheral periph = dev.getPeripherals().get(0);
+		List<SvdRegister> regs = periph.getRegisters();
+		assertEquals(0xDEADBEEFL, regs.get(0).getResetValue());
+		assertEquals(0xFFFF0000L, regs.get(0).getResetMask());
+		assertEquals(0L, regs.get(1).getResetValue());
+		assertEquals(0xFFFFFFFFL, regs.get(1).getResetMask());
+
+		SvdResetImage image = dev.getResetImage(periph);
+		assertSame(image, dev.getResetImage(periph));
+		assertEquals(0x40000000L, image.getBaseAddress());
+		assertEquals(0x100, image.getSize());
+		ByteBuffer values = image.asByteBuffer();
+		assertEquals(ByteOrder.LITTLE_ENDIAN, values.order());
+		assertEquals(0xDEAD0000, values.getInt(0));
+		assertEquals(0xFFFF0000, image.asMaskBuffer().getInt(0));
+		assertEquals(0xFFFFFFFF, image.asMaskBuffer().getInt(4));
+		assertEquals(0, image.asMaskBuffer().getInt(8));
+
+		ByteBuffer memory = ByteBuffer.allocate(0x200);
+		memory.position(0x100);
+		image.copyTo(memory);
+		assertEquals(0x200, memory.position());
+		assertEquals((byte) 0xAD, memory.get(0x102));
+	}
+
+	@Test
+	void testInheritance() throws Exception {
+		String svd = "<device><name>RST</name><cpu><name>CM0</name><revision>r0p0</revision><endian>big</endian>"
+				+ "</cpu><resetValue>0x11111111</resetValue><peripherals>"
+				+ "<peripheral><name>P0</name><baseAddress>0x1000</baseAddress><size>32</size>"
+				+ "<resetValue>0x22222222</resetValue><registers>"
+				+ "<cluster><name>CL</name><addressOffset>0x4</addressOffset><resetValue>0x3333</resetValue>"
+				+ "<resetMask>0xFF00</resetMask>"
+				+ "<register><name>HALF</name><addressOffset>0x0</addressOffset><size>16</size></register>"
+				+ "</cluster>"
+				+ "<register><name>R0</name><addressOffset>0x0</addressOffset></register>"
+				+ "<register><name>ALT</name><alternateRegister>R0</alternateRegister>"
+				+ "<addressOffset>0x0</addressOffset><resetValue>0x44</resetValue></register>"
+				+ "</registers></peripheral>"
+				+ "<peripheral><name>P1</name><baseAddress>0x2000</baseAddress><registers>"
+				+ "<register><name>R0</name><addressOffset>0x0</addressOffset><size>8</size></register>"
+				+ "</registers></peripheral></peripherals></device>";
+		SvdDevice dev = SvdParser.getDefault().parse(new ByteArrayInputStream(svd.getBytes(StandardCharsets.UTF_8)));
+		SvdPeripheral p0 = dev.getPeripherals().get(0);
+		assertEquals(0x3333L, p0.getRegisters().get(0).getResetValue());
+		assertEquals(0xFF00L, p0.getRegisters().get(0).getResetMask());
+		assertEquals(0x22222222L, p0.getRegisters().get(1).getResetValue());
+		assertNull(p0.getRegisters().get(1).getResetMask());
+
+		// Without address blocks the image covers the registers, the alternate one
+		// is skipped
+		SvdResetImage image = dev.getResetImage(p0);
+		assertEquals(0x1000L, image.getBaseAddress());
+		assertArrayEquals(new byte[] { 0x22, 0x22, 0x22, 0x22, 0x33, 0x00 }, image.toByteArray());
+		assertEquals((short) 0xFF00, image.asMaskBuffer().getShort(4));
+
+		SvdPeripheral p1 = dev.getPeripherals().get(1);
+		assertArrayEquals(new byte[] { 0x11 }, dev.getResetImage(p1).toByteArray());
+	}
+
+	/**
+	 * Each device keeps its own images, and only builds them for its own
+	 * peripherals.
+	 */
+	@Test
+	void testPerDeviceCache() throws Exception {
+		SvdDevice dev0 = SvdDevice.fromFile(new File("src/test/resources/07_reset_value.svd"));
+		SvdDevice dev1 = SvdDevice.fromFile(new File("src/test/resources/07_reset_value.svd"));
+		SvdPeripheral p0 = dev0.getPeripherals().get(0);
+		SvdPeripheral p1 = dev1.getPeripherals().get(0);
+		SvdResetImage image0 = dev0.getResetImage(p0);
+		SvdResetImage image1 = dev1.getResetImage(p1);
+		assertNotSame(image0, image1);
+		assertSame(image0, dev0.getResetImage(p0));
+		assertSame(image1, dev1.getResetImage(p1));
+		assertThrows(IllegalArgumentException.class, () -> dev0.getResetImage(p1));
+
+		// Built images are retained by the peripheral they belong to
+		SvdDevice dev2 = SvdDevice.fromFile(new File("src/test/resources/07_reset_value.svd"));
+		String name = p1.getName();
+		long withImage = dev1.getMemoryUsage().getPeripheralBytes().get(name);
+		long withoutImage = dev2.getMemoryUsage().getPeripheralBytes().get(name);
+		assertTrue(withImage >= withoutImage + 2 * image1.getSize());
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdSnapshotDiffTest {
+
+	/**
+	 * 06_access.svd has REG_RO (0x0) and REG_WO (0x4, write-only), each with an
+	 * 8-bit FIELD0, and REG_RW (0x8) without fields. Changes to REG_WO must be
+	 * ignored and REG_RW must only be reported at register level.
+	 */
+	@Test
+	void testCompare() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/06_access.svd"));
+		ByteBuffer oldImage = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+		ByteBuffer newImage = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+		oldImage.putInt(0, 0x00000001);
+		newImage.putInt(0, 0x00000002);
+		newImage.putInt(4, 0xFFFFFFFF);
+		newImage.putInt(8, 0x00010000);
+
+		SvdSnapshot oldSnapshot = SvdSnapshot.fromBuffer(dev, oldImage, 0x40000000L);
+		SvdSnapshot newSnapshot = SvdSnapshot.fromBuffer(dev, newImage, 0x40000000L);
+
+		List<String> registers = new ArrayList<>();
+		List<String> fields = new ArrayList<>();
+		int changed = SvdSnapshotDiff.compare(oldSnapshot, newSnapshot, new SvdSnapshotDiffListener() {
+			@Override
+			public void registerChanged(SvdPeripheral peripheral, SvdRegister register, long oldValue,
+					long newValue) {
+				registers.add(register.getName());
+			}
+
+			@Override
+			public void fieldChanged(SvdPeripheral peripheral, SvdRegister register, SvdField field, long oldValue,
+					long newValue) {
+				fields.add(register.getName() + "." + field.getName() + ":" + oldValue + "->" + newValue);
+			}
+		});
+
+		assertEquals(2, changed);
+		assertEquals(List.of("REG_RO", "REG_RW"), registers);
+		assertEquals(List.of("REG_RO.FIELD0:1->2"), fields);
+	}
+
+	/**
+	 * Field values reported by a diff are named from the read enumerations of
+	 * the field. In 18_enumerated_values_usage.svd, value 1 is "Enabled" when
+	 * read and "Set" when written.
+	 */
+	@Test
+	void testEnumeratedValueNames() throws SAXException, IOException, ParserConfigurationException,
+			SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/08_enumerated_values.svd"));
+		SvdField mode = dev.getPeripherals().get(0).getRegisters().get(0).getFields().get(0);
+		assertEquals("RUN", mode.getEnumeratedValue(1).getName());
+		assertNull(mode.getEnumeratedValue(4));
+
+		dev = SvdDevice.fromFile(new File("src/test/resources/18_enumerated_values_usage.svd"));
+		SvdField event = dev.getPeripherals().get(0).getRegisters().get(0).getFields().get(0);
+		assertEquals("Enabled", event.getEnumeratedValue(1).getName());
+	}
+}
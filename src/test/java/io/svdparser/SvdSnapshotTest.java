@@ -0,0 +1,86 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdSnapshotTest {
+
+	/**
+	 * 06_access.svd has three 32-bit registers at 0x40000000, 0x40000004 and
+	 * 0x40000008. The image only covers the first two, so only those are indexed.
+	 */
+	@Test
+	void testLittleEndianSnapshot() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/06_access.svd"));
+		ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(0, 0x12345678);
+		buffer.putInt(4, 0xCAFEBABE);
+
+		SvdSnapshot snapshot = SvdSnapshot.fromBuffer(dev, buffer, 0x40000000L);
+		assertEquals(2, snapshot.getRegisterCount());
+
+		SvdRegisterValue ro = snapshot.getRegisterValues().get(0);
+		assertEquals("REG_RO", ro.getRegister().getName());
+		assertEquals(0x40000000L, ro.getAddress());
+		assertEquals(0x12345678L, ro.getValue());
+		assertEquals(0x78L, ro.getFieldValue(ro.getRegister().getFields().get(0)));
+
+		assertEquals(0xCAFEBABEL, snapshot.getValue(1));
+
+		// Views are lazy, later changes to the memory are visible
+		buffer.putInt(0, 0x000000AA);
+		assertEquals(0xAAL, ro.getValue());
+
+		SvdPeripheral periph = dev.getPeripherals().get(0);
+		assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getValue(periph, periph.getRegisters().get(2)));
+	}
+
+	/**
+	 * 04_dim.svd uses 32-bit address units, so register offsets must be scaled
+	 * by four to find their position in the image.
+	 */
+	@Test
+	void testAddressUnitBits() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/04_dim.svd"));
+		ByteBuffer buffer = ByteBuffer.allocate(0x100 * 4).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(0x54 * 4, 0x55AA55AA);
+
+		SvdSnapshot snapshot = SvdSnapshot.fromBuffer(dev, buffer, 0);
+		assertEquals(4, snapshot.getRegisterCount());
+		assertEquals(0x54L, snapshot.getAddress(1));
+		assertEquals(0x55AA55AAL, snapshot.getValue(1));
+		assertEquals(0L, snapshot.getValue(0));
+	}
+
+	/**
+	 * lenient_cpu.svd has a malformed CPU description that a lenient parse skips,
+	 * so the image is read as little endian.
+	 */
+	@Test
+	void testWithoutCpu() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = new SvdParser(SvdParseOptions.DEFAULT.withLenient(true))
+				.parse(new File("src/test/resources/invalid/lenient_cpu.svd"));
+		assertNull(dev.getCpu());
+		ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(0, 0x12345678);
+
+		SvdSnapshot snapshot = SvdSnapshot.fromBuffer(dev, buffer, 0x40000000L);
+		assertEquals(1, snapshot.getRegisterCount());
+		assertEquals(0x12345678L, snapshot.getValue(0));
+	}
+}
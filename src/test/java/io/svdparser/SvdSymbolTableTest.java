@@ -0,0 +1,114 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class SvdSymbolTableTest {
+
+	/**
+	 * 00_sample.svd has three timers with the same eleven registers, so register
+	 * names are shared by every peripheral.
+	 */
+	@Test
+	void testSample() throws Exception {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		SvdSymbolTable table = SvdSymbolTable.fromDevice(dev);
+		assertEquals(33, table.getCount());
+		assertEquals(List.of("TIMER0", "TIMER1", "TIMER2"), table.getPeripheralNames());
+		assertEquals(11, table.getNames().size());
+
+		assertEquals(0x40010000L, table.getAddress(0));
+		assertEquals(32, table.getSize(0));
+		assertEquals("TIMER0.CR", table.getQualifiedName(0));
+		assertEquals(0x40010100L, table.getAddress(11));
+		assertEquals("TIMER1.CR", table.getQualifiedName(11));
+		assertEquals(table.getNameIndex(0), table.getNameIndex(11));
+		assertEquals(1, table.getPeripheralIndex(11));
+	}
+
+	@Test
+	void testSorting() throws Exception {
+		String svd = "<device><name>SYM</name><peripherals>"
+				+ "<peripheral><name>HIGH</name><baseAddress>0x2000</baseAddress><size>16</size><registers>"
+				+ "<register><name>B</name><addressOffset>0x4</addressOffset></register>"
+				+ "<register><name>A</name><addressOffset>0x0</addressOffset></register>"
+				+ "</registers></peripheral>"
+				+ "<peripheral><name>LOW</name><baseAddress>0x1000</baseAddress><registers>"
+				+ "<register><name>A</name><addressOffset>0x8</addressOffset><size>8</size></register>"
+				+ "<register><name>C</name><addressOffset>0x8</addressOffset><size>32</size></register>"
+				+ "</registers></peripheral></peripherals></device>";
+		SvdDevice dev = SvdParser.getDefault().parse(new ByteArrayInputStream(svd.getBytes(StandardCharsets.UTF_8)));
+		SvdSymbolTable table = SvdSymbolTable.fromDevice(dev);
+
+		assertArrayEquals(new long[] { 0x1008L, 0x1008L, 0x2000L, 0x2004L }, table.getAddresses());
+		assertArrayEquals(new int[] { 8, 32, 16, 16 }, table.getSizes());
+		assertArrayEquals(new int[] { 1, 1, 0, 0 }, table.getPeripheralIndexes());
+		// Symbols at the same address keep their device order
+		assertEquals("LOW.A", table.getQualifiedName(0));
+		assertEquals("LOW.C", table.getQualifiedName(1));
+		assertEquals("HIGH.A", table.getQualifiedName(2));
+		assertEquals(List.of("B", "A", "C"), table.getNames());
+
+		// Accessors return copies
+		table.getAddresses()[0] = 0;
+		assertEquals(0x1008L, table.getAddress(0));
+	}
+
+	@Test
+	void testChunks() throws Exception {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		new SvdGenerator(7).setPeripheralCount(12).setRegistersPerPeripheral(9).setClusterDepth(2).write(os);
+		SvdDevice dev = SvdParser.getDefault().parse(new ByteArrayInputStream(os.toByteArray()));
+		SvdSymbolTable table = SvdSymbolTable.fromDevice(dev);
+
+		int count = 0;
+		for (SvdPeripheral p : dev.getPeripherals())
+			count += p.getRegisters().size();
+		assertEquals(count, table.getCount());
+		long[] addresses = table.getAddresses();
+		for (int i = 1; i < addresses.length; i++)
+			assertTrue(addresses[i - 1] <= addresses[i]);
+
+		Iterator<SvdSymbolChunk> chunks = table.chunks(10);
+		SvdSymbolChunk first = null;
+		int start = 0;
+		while (chunks.hasNext()) {
+			SvdSymbolChunk chunk = chunks.next();
+			if (first == null)
+				first = chunk;
+			// The same chunk object is refilled on every step
+			assertSame(first, chunk);
+			assertEquals(start, chunk.getStart());
+			assertEquals(Math.min(10, count - start), chunk.getLength());
+			for (int i = 0; i < chunk.getLength(); i++) {
+				assertEquals(table.getAddress(start + i), chunk.getAddresses()[i]);
+				assertEquals(table.getSize(start + i), chunk.getSizes()[i]);
+				assertEquals(table.getNameIndex(start + i), chunk.getNameIndexes()[i]);
+				assertEquals(table.getPeripheralIndex(start + i), chunk.getPeripheralIndexes()[i]);
+			}
+			start += chunk.getLength();
+		}
+		assertEquals(count, start);
+		assertThrows(NoSuchElementException.class, chunks::next);
+		assertThrows(IllegalArgumentException.class, () -> table.chunks(0));
+		assertFalse(SvdSymbolTable.fromDevice(dev).chunks(1 << 20).next().getLength() < count);
+	}
+}
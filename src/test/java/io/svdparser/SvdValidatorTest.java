@@ -0,0 +1,68 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXException;
+
+class SvdValidatorTest {
+
+	/**
+	 * 19_validation.svd contains one instance of every problem, plus overlaps
+	 * declared as intended with alternateRegister and alternatePeripheral.
+	 */
+	@Test
+	void testProblems() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/19_validation.svd"));
+		List<String> found = SvdValidator.validate(dev).stream()
+				.map(d -> d.getSeverity() + " " + d.getCode() + " " + d.getPath()).collect(Collectors.toList());
+		assertEquals(List.of("ERROR field-outside-register PERIPH_A.R0.F2", "ERROR field-overlap PERIPH_A.R0.F1",
+				"ERROR register-overlap PERIPH_A.R1", "WARNING register-outside-address-block PERIPH_A.R2",
+				"ERROR peripheral-overlap PERIPH_B", "ERROR interrupt-duplicate PERIPH_B"), found);
+	}
+
+	@Test
+	void testValidFiles() throws SAXException, IOException, ParserConfigurationException, SvdParserException {
+		File[] files = new File("src/test/resources")
+				.listFiles((dir, name) -> name.endsWith(".svd") && !name.equals("19_validation.svd"));
+		for (File f : files) {
+			List<SvdDiagnostic> diagnostics = SvdValidator.validate(SvdDevice.fromFile(f));
+			assertTrue(diagnostics.isEmpty(), f.getName() + ": " + diagnostics);
+		}
+	}
+
+	/**
+	 * A derived peripheral declared after a clash repeats the interrupt of its
+	 * base, which must not report the clash a second time.
+	 */
+	@Test
+	void testInterruptDuplicateOrder() throws Exception {
+		String svd = "<device><name>IRQ</name><peripherals>"
+				+ "<peripheral><name>P0</name><baseAddress>0x1000</baseAddress>"
+				+ "<interrupt><name>A</name><value>5</value></interrupt></peripheral>"
+				+ "<peripheral><name>P1</name><baseAddress>0x2000</baseAddress>"
+				+ "<interrupt><name>B</name><value>5</value></interrupt></peripheral>"
+				+ "<peripheral derivedFrom=\"P0\"><name>P2</name><baseAddress>0x3000</baseAddress></peripheral>"
+				+ "</peripherals></device>";
+		SvdDevice dev = SvdParser.getDefault().parse(new ByteArrayInputStream(svd.getBytes(StandardCharsets.UTF_8)));
+		List<SvdDiagnostic> duplicates = SvdValidator.validate(dev).stream()
+				.filter(d -> d.getCode().equals("interrupt-duplicate")).collect(Collectors.toList());
+		assertEquals(1, duplicates.size());
+		assertEquals("P1", duplicates.get(0).getPath());
+		assertTrue(duplicates.get(0).getMessage().endsWith("already used by A"));
+	}
+}
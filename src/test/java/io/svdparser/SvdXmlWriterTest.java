@@ -0,0 +1,97 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ * SPDX-FileCopyrightText: Antonio Vázquez Blanco 2023-2026
+ */
+package io.svdparser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.SAXException;
+
+class SvdXmlWriterTest {
+
+	@TempDir
+	Path mTempDir;
+
+	private String write(SvdDevice dev, boolean fold) throws XMLStreamException {
+		StringWriter sw = new StringWriter();
+		new SvdXmlWriter(sw).setFoldDim(fold).setFoldDerived(fold).write(dev);
+		return sw.toString();
+	}
+
+	private SvdDevice reparse(String xml)
+			throws IOException, SAXException, ParserConfigurationException, SvdParserException {
+		Path f = Files.createTempFile(mTempDir, "roundtrip", ".svd");
+		Files.writeString(f, xml);
+		return SvdDevice.fromFile(f.toFile());
+	}
+
+	/**
+	 * Every test resource must survive a write and parse cycle, both in folded
+	 * and expanded form.
+	 */
+	@Test
+	void testRoundTrip() throws SAXException, IOException, ParserConfigurationException, SvdParserException,
+			XMLStreamException {
+		File[] files = new File("src/test/resources").listFiles((dir, name) -> name.endsWith(".svd"));
+		for (File file : files) {
+			SvdDevice dev = SvdDevice.fromFile(file);
+			assertEquals(dev, reparse(write(dev, true)), file.getName());
+			assertEquals(dev, reparse(write(dev, false)), file.getName());
+		}
+	}
+
+	@Test
+	void testFoldDerived() throws SAXException, IOException, ParserConfigurationException, SvdParserException,
+			XMLStreamException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/00_sample.svd"));
+		String folded = write(dev, true);
+		String expanded = write(dev, false);
+		assertTrue(folded.contains("<peripheral derivedFrom=\"TIMER0\">"));
+		assertFalse(expanded.contains("derivedFrom"));
+		assertTrue(folded.length() < expanded.length());
+	}
+
+	@Test
+	void testFoldDim() throws SAXException, IOException, ParserConfigurationException, SvdParserException,
+			XMLStreamException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/04_dim.svd"));
+		String folded = write(dev, true);
+		assertTrue(folded.contains("<dim>"));
+		assertFalse(write(dev, false).contains("<dim>"));
+
+		// The reparsed device keeps the array declaration
+		SvdRegister reg = reparse(folded).getPeripherals().get(0).getRegisters().get(1);
+		assertEquals(1, reg.getDimIndex());
+		assertEquals(dev.getPeripherals().get(0).getRegisters().get(1).getDim().getName(), reg.getDim().getName());
+	}
+
+	/**
+	 * Expanding a derived peripheral that adds a cluster must keep the direct
+	 * registers of its base, which sit between the two groups of cluster
+	 * registers in its flat register list.
+	 */
+	@Test
+	void testExpandDerivedCluster() throws SAXException, IOException, ParserConfigurationException,
+			SvdParserException, XMLStreamException {
+		SvdDevice dev = SvdDevice.fromFile(new File("src/test/resources/21_derived_cluster.svd"));
+		SvdPeripheral derived = reparse(write(dev, false)).getPeripherals().get(1);
+		assertEquals(List.of("CFG_MODE", "CR", "EXTCR", "EXT_DATA"),
+				derived.getRegisters().stream().map(SvdRegister::getName).sorted().toList());
+		assertEquals(dev.getPeripherals().get(1), derived);
+	}
+}